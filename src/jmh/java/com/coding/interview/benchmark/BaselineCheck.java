@@ -0,0 +1,95 @@
+package com.coding.interview.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares a JMH JSON result file with the checked-in baseline and exits non-zero when a
+ * benchmark got slower, or allocates more per operation, than the tolerance allows.
+ *
+ * <p>Usage: {@code BaselineCheck <baseline.json> <result.json> [tolerance]}, tolerance as a
+ * fraction (default 0.25).
+ */
+public final class BaselineCheck {
+    private static final String ALLOC_METRIC = "gc.alloc.rate.norm";
+    // Allocation noise floor, so a few bytes of TLAB accounting never fail the build
+    private static final double ALLOC_SLACK_BYTES = 16;
+
+    private BaselineCheck() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineCheck <baseline.json> <result.json> [tolerance]");
+            System.exit(2);
+        }
+        double tolerance = args.length > 2 ? Double.parseDouble(args[2]) : 0.25;
+
+        Map<String, JsonNode> baseline = load(Path.of(args[0]));
+        Map<String, JsonNode> results = load(Path.of(args[1]));
+
+        List<String> regressions = new ArrayList<>();
+        results.forEach((key, result) -> {
+            JsonNode base = baseline.get(key);
+            if (base == null) {
+                System.out.printf("  new       %s%n", key);
+                return;
+            }
+
+            double baseScore = base.path("primaryMetric").path("score").asDouble();
+            double score = result.path("primaryMetric").path("score").asDouble();
+            String unit = result.path("primaryMetric").path("scoreUnit").asText();
+            boolean slower = score > baseScore * (1 + tolerance);
+            System.out.printf("  %-9s %s: %.1f -> %.1f %s%n", slower ? "SLOWER" : "ok", key, baseScore, score, unit);
+            if (slower) {
+                regressions.add(key + " time");
+            }
+
+            double baseAlloc = allocation(base);
+            double alloc = allocation(result);
+            if (baseAlloc >= 0 && alloc > baseAlloc * (1 + tolerance) + ALLOC_SLACK_BYTES) {
+                System.out.printf("  ALLOCATES %s: %.0f -> %.0f B/op%n", key, baseAlloc, alloc);
+                regressions.add(key + " allocation");
+            }
+        });
+
+        if (!regressions.isEmpty()) {
+            System.err.println("Benchmark regressions beyond " + Math.round(tolerance * 100) + "%: " + regressions);
+            System.exit(1);
+        }
+        System.out.println("No benchmark regressions beyond " + Math.round(tolerance * 100) + "%");
+    }
+
+    private static Map<String, JsonNode> load(Path file) throws IOException {
+        Map<String, JsonNode> byKey = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file.toFile())) {
+            StringBuilder key = new StringBuilder(run.path("benchmark").asText());
+            Iterator<Map.Entry<String, JsonNode>> params = run.path("params").fields();
+            while (params.hasNext()) {
+                Map.Entry<String, JsonNode> param = params.next();
+                key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText());
+            }
+            byKey.put(key.toString(), run);
+        }
+        return byKey;
+    }
+
+    private static double allocation(JsonNode run) {
+        Iterator<Map.Entry<String, JsonNode>> metrics = run.path("secondaryMetrics").fields();
+        while (metrics.hasNext()) {
+            Map.Entry<String, JsonNode> metric = metrics.next();
+            if (metric.getKey().endsWith(ALLOC_METRIC)) {
+                return metric.getValue().path("score").asDouble();
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,81 @@
+package com.coding.interview.benchmark;
+
+import com.coding.interview.ekyc.model.KYCDecision;
+import com.coding.interview.ekyc.model.VerificationResult;
+import com.coding.interview.ekyc.model.VerificationStatus;
+import com.coding.interview.ekyc.model.VerificationType;
+import com.coding.interview.ekyc.service.DecisionEngineService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link DecisionEngineService#makeDecision} over the result mixes the orchestrator produces.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DecisionEngineBenchmark {
+
+    @Param({"ALL_PASS", "DOCUMENT_EXPIRED", "SANCTIONS_HIT", "MANUAL_REVIEW"})
+    private String mix;
+
+    private final DecisionEngineService decisionEngine = new DecisionEngineService();
+    private List<VerificationResult> results;
+
+    @Setup
+    public void setUp() {
+        results = switch (mix) {
+            case "ALL_PASS" -> List.of(
+                result(VerificationType.SANCTIONS, VerificationStatus.CLEAR, 100),
+                result(VerificationType.ID_DOCUMENT, VerificationStatus.PASS, 95),
+                result(VerificationType.FACE_MATCH, VerificationStatus.PASS, 92),
+                result(VerificationType.ADDRESS, VerificationStatus.PASS, 90));
+            case "DOCUMENT_EXPIRED" -> List.of(
+                result(VerificationType.SANCTIONS, VerificationStatus.CLEAR, 100),
+                result(VerificationType.ID_DOCUMENT, VerificationStatus.FAIL, 0, "Document expired"),
+                result(VerificationType.FACE_MATCH, VerificationStatus.PASS, 92),
+                result(VerificationType.ADDRESS, VerificationStatus.PASS, 90));
+            case "SANCTIONS_HIT" -> List.of(
+                result(VerificationType.SANCTIONS, VerificationStatus.HIT, 100, "OFAC SDN match"));
+            case "MANUAL_REVIEW" -> List.of(
+                result(VerificationType.SANCTIONS, VerificationStatus.CLEAR, 100),
+                result(VerificationType.ID_DOCUMENT, VerificationStatus.PASS, 75),
+                result(VerificationType.FACE_MATCH, VerificationStatus.PASS, 70),
+                result(VerificationType.ADDRESS, VerificationStatus.PASS, 90));
+            default -> throw new IllegalArgumentException("Unknown mix: " + mix);
+        };
+    }
+
+    @Benchmark
+    public KYCDecision makeDecision() {
+        return decisionEngine.makeDecision(results, "bench");
+    }
+
+    private static VerificationResult result(
+            VerificationType type, VerificationStatus status, int confidence, String... reasons) {
+        return VerificationResult.builder()
+            .verificationType(type)
+            .status(status)
+            .confidence(confidence)
+            .similarityScore(type == VerificationType.FACE_MATCH ? confidence : VerificationResult.NO_SIMILARITY_SCORE)
+            .reasons(List.of(reasons))
+            .timestamp(Instant.now())
+            .build();
+    }
+}
@@ -0,0 +1,76 @@
+package com.coding.interview.benchmark;
+
+import com.coding.interview.ekyc.client.dto.DocumentVerificationRequestDto;
+import com.coding.interview.ekyc.client.dto.DocumentVerificationResponseDto;
+import com.coding.interview.ekyc.client.dto.SanctionsRequestDto;
+import com.coding.interview.ekyc.client.dto.SanctionsResponseDto;
+import com.coding.interview.ekyc.config.EKYCConfiguration;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The JSON mapping {@code HttpClientWrapper} does per provider call: the request DTO to a
+ * string and the response body back to a DTO, with the application's {@link ObjectMapper}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoSerializationBenchmark {
+
+    private final ObjectMapper objectMapper = new EKYCConfiguration().objectMapper();
+
+    private final DocumentVerificationRequestDto documentRequest = DocumentVerificationRequestDto.builder()
+        .customerId("CUST-001")
+        .documentType("PASSPORT")
+        .documentNumber("P12345678")
+        .expiryDate("2030-12-31")
+        .documentImageUrl("https://example.com/documents/passport-cust-001.jpg")
+        .build();
+
+    private final SanctionsRequestDto sanctionsRequest = SanctionsRequestDto.builder()
+        .customerId("CUST-001")
+        .fullName("John Doe")
+        .dateOfBirth(LocalDate.of(1990, 1, 15))
+        .nationality("US")
+        .build();
+
+    private final String documentResponse =
+        "{\"status\":\"PASS\",\"confidence\":95,\"reasons\":[\"Document authentic\",\"MRZ valid\"]}";
+
+    private final String sanctionsResponse =
+        "{\"status\":\"CLEAR\",\"matchCount\":0,\"matches\":[]}";
+
+    @Benchmark
+    public String writeDocumentRequest() throws Exception {
+        return objectMapper.writeValueAsString(documentRequest);
+    }
+
+    @Benchmark
+    public String writeSanctionsRequest() throws Exception {
+        return objectMapper.writeValueAsString(sanctionsRequest);
+    }
+
+    @Benchmark
+    public DocumentVerificationResponseDto readDocumentResponse() throws Exception {
+        return objectMapper.readValue(documentResponse, DocumentVerificationResponseDto.class);
+    }
+
+    @Benchmark
+    public SanctionsResponseDto readSanctionsResponse() throws Exception {
+        return objectMapper.readValue(sanctionsResponse, SanctionsResponseDto.class);
+    }
+}
@@ -0,0 +1,48 @@
+package com.coding.interview.benchmark;
+
+import com.coding.interview.ekyc.model.VerificationPriority;
+import com.coding.interview.ekyc.ratelimit.RateLimiter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link RateLimiter#tryAcquire} with several threads hitting the same provider. Once the
+ * window is full every call takes the rejection path, which is what an overloaded
+ * provider sees; acquire-and-release keeps the window open and measures the grant path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class RateLimiterBenchmark {
+    private static final String SERVICE_NAME = "SanctionsScreeningService";
+
+    private final RateLimiter rateLimiter = new RateLimiter();
+
+    @Benchmark
+    public boolean tryAcquireExhausted() {
+        return rateLimiter.tryAcquire(SERVICE_NAME, VerificationPriority.BATCH);
+    }
+
+    @Benchmark
+    public boolean tryAcquireAndRelease() {
+        boolean acquired = rateLimiter.tryAcquire("DocumentVerificationService", VerificationPriority.INTERACTIVE);
+        if (acquired) {
+            rateLimiter.release("DocumentVerificationService", VerificationPriority.INTERACTIVE);
+        }
+        return acquired;
+    }
+}
@@ -0,0 +1,120 @@
+package com.coding.interview.benchmark;
+
+import com.coding.interview.ekyc.client.dto.AddressVerificationResponseDto;
+import com.coding.interview.ekyc.client.dto.BiometricResponseDto;
+import com.coding.interview.ekyc.client.dto.DocumentVerificationResponseDto;
+import com.coding.interview.ekyc.client.dto.SanctionsResponseDto;
+import com.coding.interview.ekyc.config.EKYCConfiguration;
+import com.coding.interview.ekyc.model.KYCDecision;
+import com.coding.interview.ekyc.model.KYCDecisionResult;
+import com.coding.interview.ekyc.model.Reasons;
+import com.coding.interview.ekyc.model.VerificationResult;
+import com.coding.interview.ekyc.model.VerificationStatus;
+import com.coding.interview.ekyc.model.VerificationType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The result-model work of one four-check verification: provider responses read into DTOs,
+ * mapped to {@link VerificationResult}s the way the clients do, assembled into a
+ * {@link KYCDecisionResult} and written out as JSON.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResultModelBenchmark {
+
+    private final ObjectMapper objectMapper = new EKYCConfiguration().objectMapper();
+
+    private final String documentResponse =
+        "{\"status\":\"PASS\",\"confidence\":95,\"reasons\":[\"Document authentic\"]}";
+    private final String biometricResponse =
+        "{\"status\":\"PASS\",\"confidence\":92,\"similarityScore\":92.5}";
+    private final String addressResponse =
+        "{\"status\":\"PASS\",\"confidence\":90,\"reasons\":[\"Address verified\"]}";
+    private final String sanctionsResponse =
+        "{\"status\":\"CLEAR\",\"matchCount\":0,\"matches\":[]}";
+
+    @Benchmark
+    public String verification() throws Exception {
+        SanctionsResponseDto sanctions = objectMapper.readValue(sanctionsResponse, SanctionsResponseDto.class);
+        DocumentVerificationResponseDto document =
+            objectMapper.readValue(documentResponse, DocumentVerificationResponseDto.class);
+        BiometricResponseDto biometric = objectMapper.readValue(biometricResponse, BiometricResponseDto.class);
+        AddressVerificationResponseDto address =
+            objectMapper.readValue(addressResponse, AddressVerificationResponseDto.class);
+
+        List<VerificationResult> results = new ArrayList<>();
+        results.add(VerificationResult.builder()
+            .verificationType(VerificationType.SANCTIONS)
+            .status(VerificationStatus.valueOf(sanctions.getStatus()))
+            .confidence(100)
+            .matchCount(sanctions.getMatchCount() != null
+                ? sanctions.getMatchCount() : VerificationResult.NO_MATCH_COUNT)
+            .reasons(sanctions.getMatches())
+            .timestamp(Instant.now())
+            .build());
+        results.add(VerificationResult.builder()
+            .verificationType(VerificationType.ID_DOCUMENT)
+            .status(VerificationStatus.valueOf(document.getStatus()))
+            .confidence(document.getConfidence() != null
+                ? document.getConfidence() : VerificationResult.NO_CONFIDENCE)
+            .reasons(document.getReasons())
+            .timestamp(Instant.now())
+            .build());
+        results.add(VerificationResult.builder()
+            .verificationType(VerificationType.FACE_MATCH)
+            .status(VerificationStatus.valueOf(biometric.getStatus()))
+            .confidence(biometric.getConfidence() != null
+                ? biometric.getConfidence() : VerificationResult.NO_CONFIDENCE)
+            .similarityScore(biometric.getSimilarityScore() != null
+                ? biometric.getSimilarityScore() : VerificationResult.NO_SIMILARITY_SCORE)
+            .timestamp(Instant.now())
+            .build());
+        results.add(VerificationResult.builder()
+            .verificationType(VerificationType.ADDRESS)
+            .status(VerificationStatus.valueOf(address.getStatus()))
+            .confidence(address.getConfidence() != null
+                ? address.getConfidence() : VerificationResult.NO_CONFIDENCE)
+            .reasons(address.getReasons())
+            .timestamp(Instant.now())
+            .build());
+
+        KYCDecisionResult decision = KYCDecisionResult.builder()
+            .decision(KYCDecision.APPROVED)
+            .verificationResults(results)
+            .timestamp(Instant.now())
+            .requestId("REQ-001")
+            .customerId("CUST-001")
+            .build();
+        return objectMapper.writeValueAsString(decision);
+    }
+
+    @Benchmark
+    public VerificationResult serviceUnavailable() {
+        String message = "HTTP 503: upstream unavailable";
+        return VerificationResult.builder()
+            .verificationType(VerificationType.ID_DOCUMENT)
+            .status(VerificationStatus.FAIL)
+            .confidence(0)
+            .reasons(Reasons.withDetail(Reasons.SERVICE_UNAVAILABLE, message))
+            .timestamp(Instant.now())
+            .build();
+    }
+}
@@ -0,0 +1,44 @@
+package com.coding.interview.benchmark;
+
+import com.coding.interview.ekyc.retry.RetryHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead {@link RetryHandler} adds to a call that succeeds on the first attempt, against
+ * calling the operation directly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RetryHandlerBenchmark {
+
+    private final RetryHandler retryHandler = new RetryHandler();
+    private final String response = "PASS";
+
+    @Benchmark
+    public String direct() {
+        return operation();
+    }
+
+    @Benchmark
+    public String successOnFirstAttempt() throws Exception {
+        return retryHandler.executeWithRetry(this::operation, "DocumentVerificationService", "bench");
+    }
+
+    private String operation() {
+        return response;
+    }
+}
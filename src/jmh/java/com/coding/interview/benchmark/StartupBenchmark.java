@@ -0,0 +1,140 @@
+package com.coding.interview.benchmark;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Starts the packaged service repeatedly in each launch mode and reports the median time to
+ * "Started InterviewApplication" and the resident set size at that point:
+ * <ul>
+ *   <li>{@code jvm} - the plain executable jar</li>
+ *   <li>{@code aot} - the same jar with the Spring AOT-generated context initializers</li>
+ *   <li>{@code aot+cds} - AOT plus the AppCDS archive from the training run</li>
+ *   <li>{@code native} - the GraalVM executable, when one was built</li>
+ * </ul>
+ *
+ * <p>Usage: {@code StartupBenchmark <app-dir> <jar> <cds-archive> [runs] [native-executable]}.
+ * Has no dependencies, so the build launches it as a single source file. RSS is read from
+ * {@code /proc} and reported as n/a elsewhere.
+ */
+public final class StartupBenchmark {
+    private static final Pattern STARTED = Pattern.compile("Started InterviewApplication in ([0-9.]+) seconds");
+    private static final long TIMEOUT_SECONDS = 120;
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3) {
+            System.err.println("Usage: StartupBenchmark <app-dir> <jar> <cds-archive> [runs] [native-executable]");
+            System.exit(2);
+        }
+        Path appDir = Path.of(args[0]);
+        String jar = args[1];
+        String archive = args[2];
+        int runs = args.length > 3 ? Integer.parseInt(args[3]) : 5;
+        Path nativeExecutable = args.length > 4 ? Path.of(args[4]) : null;
+
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        List<Mode> modes = new ArrayList<>();
+        modes.add(new Mode("jvm", List.of(java, "-jar", jar)));
+        modes.add(new Mode("aot", List.of(java, "-Dspring.aot.enabled=true", "-jar", jar)));
+        modes.add(new Mode("aot+cds", List.of(java, "-XX:SharedArchiveFile=" + archive, "-Xlog:cds=off",
+            "-Dspring.aot.enabled=true", "-jar", jar)));
+        if (nativeExecutable != null && Files.isExecutable(nativeExecutable)) {
+            modes.add(new Mode("native", List.of(nativeExecutable.toAbsolutePath().toString())));
+        }
+
+        System.out.printf("Startup benchmark (%d runs per mode, medians):%n", runs);
+        System.out.printf("  %-8s %12s %12s %10s%n", "mode", "started (s)", "ready (ms)", "RSS (MB)");
+        for (Mode mode : modes) {
+            double[] started = new double[runs];
+            long[] readyMillis = new long[runs];
+            long[] rssKb = new long[runs];
+            for (int i = 0; i < runs; i++) {
+                Sample sample = launch(appDir, mode.command());
+                started[i] = sample.startedSeconds();
+                readyMillis[i] = sample.readyMillis();
+                rssKb[i] = sample.rssKb();
+            }
+            long rss = median(rssKb);
+            System.out.printf("  %-8s %12.3f %12d %10s%n", mode.name(), median(started), median(readyMillis),
+                rss < 0 ? "n/a" : String.valueOf(rss / 1024));
+        }
+    }
+
+    private static Sample launch(Path appDir, List<String> command) throws Exception {
+        Path workDir = Files.createTempDirectory("ekyc-startup");
+        List<String> fullCommand = new ArrayList<>(command);
+        // A random port and fresh state directories, so runs never see each other's journal or cache
+        fullCommand.addAll(List.of(
+            "--server.port=0",
+            "--ekyc.journal.dir=" + workDir.resolve("journal"),
+            "--ekyc.blob.dir=" + workDir.resolve("blobs"),
+            "--ekyc.document-cache.dir=" + workDir.resolve("document-cache")));
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(fullCommand)
+            .directory(appDir.toFile())
+            .redirectErrorStream(true)
+            .start();
+        try (BufferedReader output = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = output.readLine()) != null) {
+                Matcher matcher = STARTED.matcher(line);
+                if (matcher.find()) {
+                    long readyMillis = (System.nanoTime() - start) / 1_000_000;
+                    return new Sample(Double.parseDouble(matcher.group(1)), readyMillis, rssKb(process.pid()));
+                }
+            }
+            throw new IllegalStateException("Application exited before it started: " + String.join(" ", command));
+        } finally {
+            process.destroy();
+            if (!process.waitFor(TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static long rssKb(long pid) {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc", String.valueOf(pid), "status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("[^0-9]", ""));
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // Not Linux, or the process is already gone
+        }
+        return -1;
+    }
+
+    private static double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    private record Mode(String name, List<String> command) {
+    }
+
+    private record Sample(double startedSeconds, long readyMillis, long rssKb) {
+    }
+}
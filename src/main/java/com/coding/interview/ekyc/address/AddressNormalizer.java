@@ -0,0 +1,89 @@
+package com.coding.interview.ekyc.address;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Reduces a free-text address to a canonical form, so spelling and formatting variants of the
+ * same address compare equal: accents and case are folded, punctuation and repeated whitespace
+ * dropped, and common street, unit and direction abbreviations expanded.
+ *
+ * <p>"ST" is read as SAINT at the start of a street name (first, or right after the house number,
+ * and followed by a name) and as STREET anywhere else.
+ */
+public final class AddressNormalizer {
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    // Hyphens and slashes only carry meaning inside house and unit numbers such as 12-14 or 4/2
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}/-]+|(?<!\\p{N})[/-]|[/-](?!\\p{N})");
+    private static final Pattern NUMBER = Pattern.compile("\\p{N}[\\p{N}/-]*\\p{L}?");
+
+    private static final Map<String, String> ABBREVIATIONS = Map.ofEntries(
+        Map.entry("AVE", "AVENUE"), Map.entry("AV", "AVENUE"),
+        Map.entry("BLVD", "BOULEVARD"),
+        Map.entry("CL", "CLOSE"),
+        Map.entry("CRES", "CRESCENT"),
+        Map.entry("CT", "COURT"),
+        Map.entry("DR", "DRIVE"),
+        Map.entry("HWY", "HIGHWAY"),
+        Map.entry("LN", "LANE"),
+        Map.entry("PKWY", "PARKWAY"),
+        Map.entry("PL", "PLACE"),
+        Map.entry("RD", "ROAD"),
+        Map.entry("SQ", "SQUARE"),
+        Map.entry("TER", "TERRACE"), Map.entry("TCE", "TERRACE"),
+        Map.entry("APT", "APARTMENT"),
+        Map.entry("BLDG", "BUILDING"),
+        Map.entry("STE", "SUITE"),
+        Map.entry("N", "NORTH"), Map.entry("S", "SOUTH"), Map.entry("E", "EAST"), Map.entry("W", "WEST"),
+        Map.entry("NE", "NORTHEAST"), Map.entry("NW", "NORTHWEST"),
+        Map.entry("SE", "SOUTHEAST"), Map.entry("SW", "SOUTHWEST")
+    );
+
+    private AddressNormalizer() {
+    }
+
+
+    /**
+     * {@code address} with accents, case, punctuation and whitespace normalized, but its words
+     * otherwise as written. This is what providers are sent.
+     */
+    public static String clean(String address) {
+        return String.join(" ", tokens(address));
+    }
+
+
+    /**
+     * The canonical form of {@code address}: {@link #clean(String)} with abbreviations expanded.
+     * Empty when it holds no letters or digits. Only used to compare addresses, since expanding
+     * can misread region codes (CT, NE) that a provider would understand.
+     */
+    public static String canonicalize(String address) {
+        List<String> tokens = tokens(address);
+        List<String> canonical = new ArrayList<>(tokens.size());
+        for (int i = 0; i < tokens.size(); i++) {
+            String token = tokens.get(i);
+            if (token.equals("ST")) {
+                boolean startsName = (i == 0 || NUMBER.matcher(tokens.get(i - 1)).matches())
+                    && i + 1 < tokens.size() && !NUMBER.matcher(tokens.get(i + 1)).matches();
+                canonical.add(startsName ? "SAINT" : "STREET");
+            } else {
+                canonical.add(ABBREVIATIONS.getOrDefault(token, token));
+            }
+        }
+        return String.join(" ", canonical);
+    }
+
+    private static List<String> tokens(String address) {
+        if (address == null) {
+            return List.of();
+        }
+        String folded = DIACRITICS.matcher(Normalizer.normalize(address, Normalizer.Form.NFKD)).replaceAll("")
+            .toUpperCase(Locale.ROOT);
+        String separated = SEPARATORS.matcher(folded).replaceAll(" ").strip();
+        return separated.isEmpty() ? List.of() : List.of(separated.split(" +"));
+    }
+}
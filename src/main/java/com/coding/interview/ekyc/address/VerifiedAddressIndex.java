@@ -0,0 +1,106 @@
+package com.coding.interview.ekyc.address;
+
+import com.coding.interview.ekyc.model.Customer;
+import com.coding.interview.ekyc.model.VerificationResult;
+import com.coding.interview.ekyc.model.VerificationStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Optional;
+
+/**
+ * Addresses the provider recently verified for a customer, by {@link
+ * AddressNormalizer#canonicalize(String) canonical form}, so the customer - or an account linked
+ * to it - resubmitting the address, formatted differently or not, is answered without another
+ * provider call. Other customers at the same address are not, since a hit skips checking their
+ * own proof of address.
+ *
+ * <p>Off unless {@code ekyc.address-index.enabled} is set.
+ *
+ * <p>Heap only and bounded: the least recently used entry is dropped beyond
+ * {@code ekyc.address-index.max-entries}, and entries are served for
+ * {@code ekyc.address-index.ttl-hours} after verification.
+ */
+@Slf4j
+@Component
+public class VerifiedAddressIndex {
+
+    @Value("${ekyc.address-index.enabled:false}")
+    private boolean enabled;
+
+    @Value("${ekyc.address-index.max-entries:10000}")
+    private int maxEntries = 10000;
+
+    @Value("${ekyc.address-index.ttl-hours:720}")
+    private long ttlHours = 720;
+
+    private Clock clock = Clock.systemUTC();
+
+    // customer scope|canonical address -> entry, in access order for LRU eviction
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+
+    public Optional<VerificationResult> get(Customer customer, String canonicalAddress, String correlationId) {
+        Optional<String> key = key(customer, canonicalAddress);
+        if (!enabled || key.isEmpty()) {
+            return Optional.empty();
+        }
+        Instant now = clock.instant();
+
+        synchronized (this) {
+            Entry entry = entries.get(key.get());
+            if (entry == null) {
+                return Optional.empty();
+            }
+            if (!now.isBefore(entry.expiresAt())) {
+                entries.remove(key.get());
+                return Optional.empty();
+            }
+            log.info("[{}] Address verification served from verified address index (valid until {})",
+                correlationId, entry.expiresAt());
+            return Optional.of(entry.result());
+        }
+    }
+
+
+    /** Indexes a PASS result for the customer for the TTL. Anything else is ignored. */
+    public void put(Customer customer, String canonicalAddress, VerificationResult result, String correlationId) {
+        Optional<String> key = key(customer, canonicalAddress);
+        if (!enabled || key.isEmpty() || result.status() != VerificationStatus.PASS) {
+            return;
+        }
+        Entry entry = new Entry(result, clock.instant().plus(Duration.ofHours(ttlHours)));
+        synchronized (this) {
+            entries.put(key.get(), entry);
+            Iterator<String> eldest = entries.keySet().iterator();
+            while (entries.size() > maxEntries && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+            }
+        }
+        log.debug("[{}] Indexed verified address until {}", correlationId, entry.expiresAt());
+    }
+
+
+    public synchronized void invalidateAll() {
+        entries.clear();
+        log.info("Invalidated all verified addresses");
+    }
+
+    private static Optional<String> key(Customer customer, String canonicalAddress) {
+        String scope = customer.verificationScope();
+        if (scope == null || scope.isBlank() || canonicalAddress.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(scope.strip() + '|' + canonicalAddress);
+    }
+
+    private record Entry(VerificationResult result, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,116 @@
+package com.coding.interview.ekyc.admission;
+
+import com.coding.interview.ekyc.client.AddressVerificationClient;
+import com.coding.interview.ekyc.client.BiometricVerificationClient;
+import com.coding.interview.ekyc.client.DocumentVerificationClient;
+import com.coding.interview.ekyc.client.SanctionsScreeningClient;
+import com.coding.interview.ekyc.model.VerificationRequest;
+import com.coding.interview.ekyc.model.VerificationType;
+import com.coding.interview.ekyc.plan.PlanStep;
+import com.coding.interview.ekyc.plan.VerificationPlan;
+import com.coding.interview.ekyc.ratelimit.AdaptiveConcurrencyLimiter;
+import com.coding.interview.ekyc.ratelimit.RateLimiter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Decides at the entry point whether a verification can still finish before its deadline. The
+ * expected time is estimated from the rate limiter backlog and the smoothed provider latency of
+ * each planned check: sanctions first, then the slowest of the checks after it (or the slowest of
+ * all with speculative sanctions). Step-up checks are left out, as most verifications skip them.
+ *
+ * <p>A verification that would not make it is rejected straight away instead of joining the queue
+ * it would only lengthen; an admitted one gets the {@link Deadline} every wait and provider call
+ * is capped by.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AdmissionController {
+    private final RateLimiter rateLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    @Value("${ekyc.admission.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${ekyc.admission.default-timeout-ms:30000}")
+    private long defaultTimeoutMs = 30000;
+
+    // Provider latency assumed until the first call to a provider has completed
+    @Value("${ekyc.admission.assumed-latency-ms:500}")
+    private long assumedLatencyMs = 500;
+
+    @Value("${ekyc.orchestration.speculative-sanctions:false}")
+    private boolean speculativeSanctions;
+
+    private Clock clock = Clock.systemUTC();
+
+
+    /**
+     * Admits the verification and returns its deadline.
+     *
+     * @throws AdmissionRejectedException if the estimated time exceeds what is left until the deadline
+     */
+    public Deadline admit(VerificationPlan plan, VerificationRequest request, String correlationId)
+            throws AdmissionRejectedException {
+        Duration budget = request.getDeadline() != null
+            ? Duration.between(clock.instant(), request.getDeadline())
+            : Duration.ofMillis(defaultTimeoutMs);
+        if (!enabled) {
+            return Deadline.after(budget.isNegative() ? Duration.ZERO : budget);
+        }
+
+        Duration estimate = estimate(plan, request);
+        if (estimate.compareTo(budget) > 0) {
+            log.warn("[{}] Shedding verification - estimated {}ms exceeds the {}ms budget",
+                correlationId, estimate.toMillis(), budget.toMillis());
+            // The backlog has to drain by the overrun before the same budget would be enough
+            Duration overrun = estimate.minus(budget.isNegative() ? Duration.ZERO : budget);
+            throw new AdmissionRejectedException("Verification cannot finish within its deadline", overrun);
+        }
+
+        log.debug("[{}] Verification admitted - estimated {}ms of {}ms budget",
+            correlationId, estimate.toMillis(), budget.toMillis());
+        return Deadline.after(budget);
+    }
+
+
+    private Duration estimate(VerificationPlan plan, VerificationRequest request) {
+        Duration sanctions = Duration.ZERO;
+        Duration others = Duration.ZERO;
+        for (PlanStep step : plan.steps().values()) {
+            if (step.isStepUp()) {
+                continue;
+            }
+            Duration check = estimate(serviceName(step.type()), request);
+            if (step.type() == VerificationType.SANCTIONS && !speculativeSanctions) {
+                sanctions = check;
+            } else if (check.compareTo(others) > 0) {
+                others = check;
+            }
+        }
+        return sanctions.plus(others);
+    }
+
+    private Duration estimate(String serviceName, VerificationRequest request) {
+        Duration latency = concurrencyLimiter.getLatency(serviceName);
+        if (latency.isZero()) {
+            latency = Duration.ofMillis(assumedLatencyMs);
+        }
+        return rateLimiter.estimatedWait(serviceName, request.getPriority()).plus(latency);
+    }
+
+    private static String serviceName(VerificationType type) {
+        return switch (type) {
+            case ID_DOCUMENT -> DocumentVerificationClient.SERVICE_NAME;
+            case FACE_MATCH -> BiometricVerificationClient.SERVICE_NAME;
+            case ADDRESS -> AddressVerificationClient.SERVICE_NAME;
+            case SANCTIONS -> SanctionsScreeningClient.SERVICE_NAME;
+        };
+    }
+}
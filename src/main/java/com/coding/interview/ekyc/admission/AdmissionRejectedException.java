@@ -0,0 +1,20 @@
+package com.coding.interview.ekyc.admission;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a verification is shed at admission because the estimated queueing delay
+ * would not let it finish before its deadline. {@code retryAfter} is how far the estimate
+ * overran the budget, i.e. how long the backlog needs to drain before a retry could fit.
+ */
+@Getter
+public class AdmissionRejectedException extends Exception {
+    private final Duration retryAfter;
+
+    public AdmissionRejectedException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+}
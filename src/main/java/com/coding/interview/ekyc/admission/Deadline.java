@@ -0,0 +1,70 @@
+package com.coding.interview.ekyc.admission;
+
+import java.time.Duration;
+
+/**
+ * Point in time by which a verification has to be finished, on the monotonic clock. Every wait
+ * and provider timeout on the way is capped by what is left of it.
+ */
+public final class Deadline {
+    private static final Deadline NONE = new Deadline(0, false);
+
+    private final long expiresAtNanos;
+    private final boolean bounded;
+
+    private Deadline(long expiresAtNanos, boolean bounded) {
+        this.expiresAtNanos = expiresAtNanos;
+        this.bounded = bounded;
+    }
+
+    public static Deadline after(Duration budget) {
+        return new Deadline(System.nanoTime() + budget.toNanos(), true);
+    }
+
+    /** No deadline: waits and timeouts keep their own limits. */
+    public static Deadline none() {
+        return NONE;
+    }
+
+
+    /** Nanoseconds left, never negative; {@link Long#MAX_VALUE} without a deadline. */
+    public long remainingNanos() {
+        return bounded ? Math.max(0, expiresAtNanos - System.nanoTime()) : Long.MAX_VALUE;
+    }
+
+    public boolean isExpired() {
+        return remainingNanos() == 0;
+    }
+
+
+    /**
+     * The given timeout, shortened to what is left of the deadline.
+     *
+     * @throws DeadlineExceededException if the deadline has already passed
+     */
+    public Duration cap(Duration timeout) throws DeadlineExceededException {
+        long remaining = remainingNanos();
+        if (remaining == 0) {
+            throw new DeadlineExceededException("Deadline exceeded");
+        }
+        return remaining < timeout.toNanos() ? Duration.ofNanos(remaining) : timeout;
+    }
+
+    /**
+     * Whether {@code error} or one of its causes is a {@link DeadlineExceededException}; the
+     * retry and hedging layers wrap it.
+     */
+    public static boolean isExceeded(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DeadlineExceededException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return bounded ? "Deadline[" + Duration.ofNanos(remainingNanos()).toMillis() + "ms left]" : "Deadline[none]";
+    }
+}
@@ -0,0 +1,12 @@
+package com.coding.interview.ekyc.admission;
+
+/**
+ * Thrown when a wait or provider call cannot start, or has to stop, because the
+ * verification's deadline has passed.
+ */
+public class DeadlineExceededException extends Exception {
+
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+}
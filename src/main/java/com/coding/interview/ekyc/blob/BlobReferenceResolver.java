@@ -0,0 +1,91 @@
+package com.coding.interview.ekyc.blob;
+
+import com.coding.interview.ekyc.admission.Deadline;
+import com.coding.interview.ekyc.client.HttpClientWrapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Turns {@code blob:sha256:} references in verification requests into URLs a provider can
+ * fetch. The blob is pushed once to the provider's content-addressed media endpoint
+ * ({@code ekyc.blob.media-url.<service>}, PUT {@code <media-url>/<sha256>}) and the resulting
+ * URL is passed on; later requests with the same image reuse the upload. Plain URLs pass
+ * through untouched.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BlobReferenceResolver {
+    private static final Duration UPLOAD_TIMEOUT = Duration.ofSeconds(30);
+    private static final String CONTENT_TYPE = "application/octet-stream";
+    private static final int MAX_TRACKED_UPLOADS = 10_000;
+
+    private final BlobStore blobStore;
+    private final HttpClientWrapper httpClient;
+    private final Environment environment;
+
+    // service -> hashes already uploaded to that provider
+    private final Map<String, Set<String>> uploaded = new ConcurrentHashMap<>();
+
+
+    /**
+     * Fails the way {@link #resolve} would on configuration or a missing blob, without
+     * uploading anything - so the caller can give up before taking a permit or retrying.
+     */
+    public void check(String serviceName, String imageUrl) {
+        if (BlobStore.isReference(imageUrl)) {
+            mediaUrl(serviceName, imageUrl);
+            blobStore.resolve(imageUrl)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown or evicted blob: " + imageUrl));
+        }
+    }
+
+
+    public String resolve(String serviceName, String imageUrl, Deadline deadline, String correlationId) throws Exception {
+        if (!BlobStore.isReference(imageUrl)) {
+            return imageUrl;
+        }
+
+        String mediaUrl = mediaUrl(serviceName, imageUrl);
+        String hash = imageUrl.substring(BlobStore.REFERENCE_PREFIX.length());
+        String providerUrl = mediaUrl.endsWith("/") ? mediaUrl + hash : mediaUrl + "/" + hash;
+
+        Set<String> uploadedHashes = uploaded.computeIfAbsent(serviceName, k -> ConcurrentHashMap.newKeySet());
+        if (uploadedHashes.contains(hash)) {
+            log.debug("[{}] Blob {} already uploaded to {}, reusing", correlationId, hash, serviceName);
+            return providerUrl;
+        }
+
+        Path file = blobStore.resolve(imageUrl)
+            .orElseThrow(() -> new IllegalArgumentException("Unknown or evicted blob: " + imageUrl));
+
+        httpClient.putFile(serviceName, URI.create(providerUrl), file, CONTENT_TYPE,
+            deadline.cap(UPLOAD_TIMEOUT), correlationId);
+        if (uploadedHashes.size() >= MAX_TRACKED_UPLOADS) {
+            // Forgetting only costs a re-upload, which the provider treats as idempotent
+            uploadedHashes.clear();
+        }
+        uploadedHashes.add(hash);
+        log.info("[{}] Uploaded blob {} to {}", correlationId, hash, serviceName);
+
+        return providerUrl;
+    }
+
+    private String mediaUrl(String serviceName, String imageUrl) {
+        String mediaUrl = environment.getProperty("ekyc.blob.media-url." + serviceName);
+        if (mediaUrl == null) {
+            throw new IllegalStateException("No media endpoint configured for " + serviceName
+                + " - cannot pass local blob " + imageUrl);
+        }
+        return mediaUrl;
+    }
+}
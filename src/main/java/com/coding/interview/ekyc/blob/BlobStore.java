@@ -0,0 +1,213 @@
+package com.coding.interview.ekyc.blob;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Local content-addressed store for document, selfie and proof images. Blobs are keyed by
+ * the SHA-256 of their content, so resubmitting the same image stores it once. Requests refer
+ * to a stored blob as {@code blob:sha256:<hex>} in place of an image URL.
+ *
+ * <p>Total size is bounded: once over {@code ekyc.blob.max-bytes} the least recently used blobs
+ * are deleted from disk.
+ */
+@Slf4j
+@Component
+public class BlobStore {
+    public static final String REFERENCE_PREFIX = "blob:sha256:";
+
+    @Value("${ekyc.blob.dir:${java.io.tmpdir}/ekyc-blobs}")
+    private Path root;
+
+    @Value("${ekyc.blob.max-bytes:536870912}")
+    private long maxBytes;
+
+    // sha256 -> size, in access order for LRU eviction
+    private final LinkedHashMap<String, Long> index = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+
+    @PostConstruct
+    void loadIndex() throws IOException {
+        Files.createDirectories(root);
+        try (Stream<Path> files = Files.walk(root)) {
+            files.filter(Files::isRegularFile)
+                .filter(file -> isHash(file.getFileName().toString()))
+                .sorted((a, b) -> lastAccess(a).compareTo(lastAccess(b)))
+                .forEach(file -> add(file.getFileName().toString(), size(file)));
+        }
+        log.info("Blob store at {} holds {} blobs ({} bytes, max {})", root, index.size(), totalBytes, maxBytes);
+    }
+
+
+    public static boolean isReference(String url) {
+        return url != null && url.startsWith(REFERENCE_PREFIX);
+    }
+
+
+    public static String reference(String sha256) {
+        return REFERENCE_PREFIX + sha256;
+    }
+
+
+    /**
+     * Stores the stream's content and returns its reference. Content already present is
+     * not written twice.
+     */
+    public String put(InputStream content) throws IOException {
+        Path temp = Files.createTempFile(root, "upload-", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            try (OutputStream out = new DigestOutputStream(Files.newOutputStream(temp), digest)) {
+                content.transferTo(out);
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path target = pathFor(hash);
+
+            synchronized (this) {
+                if (index.containsKey(hash) && Files.exists(target)) {
+                    log.debug("Blob {} already stored, deduplicated", hash);
+                    index.get(hash);   // touch for LRU
+                    return reference(hash);
+                }
+                Files.createDirectories(target.getParent());
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                add(hash, size(target));
+                evictIfNeeded();
+            }
+            log.debug("Stored blob {} ({} bytes)", hash, size(target));
+            return reference(hash);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+
+    public String put(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return put(in);
+        }
+    }
+
+
+    /**
+     * Returns the file holding the referenced blob, for streaming it without loading it into heap.
+     */
+    public Optional<Path> resolve(String reference) {
+        String hash = hashOf(reference);
+        synchronized (this) {
+            if (index.get(hash) == null) {
+                return Optional.empty();
+            }
+        }
+        Path file = pathFor(hash);
+        return Files.exists(file) ? Optional.of(file) : Optional.empty();
+    }
+
+
+    /**
+     * Maps the referenced blob read-only into memory, for local inspection without copying it onto the heap.
+     */
+    public Optional<MappedByteBuffer> map(String reference) throws IOException {
+        Optional<Path> file = resolve(reference);
+        if (file.isEmpty()) {
+            return Optional.empty();
+        }
+        try (FileChannel channel = FileChannel.open(file.get(), StandardOpenOption.READ)) {
+            return Optional.of(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    private void add(String hash, long size) {
+        Long previous = index.put(hash, size);
+        totalBytes += size - (previous != null ? previous : 0);
+    }
+
+    private void evictIfNeeded() {
+        Iterator<Map.Entry<String, Long>> eldest = index.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, Long> entry = eldest.next();
+            try {
+                Files.deleteIfExists(pathFor(entry.getKey()));
+            } catch (IOException e) {
+                log.warn("Could not evict blob {} - Error: {}", entry.getKey(), e.getMessage());
+                continue;
+            }
+            totalBytes -= entry.getValue();
+            eldest.remove();
+            log.debug("Evicted blob {} ({} bytes)", entry.getKey(), entry.getValue());
+        }
+    }
+
+    private Path pathFor(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    private static String hashOf(String reference) {
+        if (!isReference(reference)) {
+            throw new IllegalArgumentException("Not a blob reference: " + reference);
+        }
+        String hash = reference.substring(REFERENCE_PREFIX.length());
+        if (!isHash(hash)) {
+            throw new IllegalArgumentException("Malformed blob reference: " + reference);
+        }
+        return hash;
+    }
+
+    private static boolean isHash(String name) {
+        return name.length() == 64 && name.chars().allMatch(c -> (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f'));
+    }
+
+    private static long size(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static FileTime lastAccess(Path file) {
+        try {
+            return Files.readAttributes(file, BasicFileAttributes.class).lastAccessTime();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.coding.interview.ekyc.bulkhead;
+
+import com.coding.interview.ekyc.model.VerificationPriority;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caps how many callers can be working against one provider at a time, with a bounded
+ * number of callers allowed to wait for a slot. A slow provider therefore fills its own
+ * bulkhead and starts rejecting, instead of holding threads other providers need.
+ * Background callers may only use half of the wait queue, so a batch burst cannot
+ * crowd interactive traffic out of it.
+ */
+@Slf4j
+public class Bulkhead {
+    @Getter
+    private final String name;
+    @Getter
+    private final int maxConcurrent;
+    @Getter
+    private final int maxQueued;
+    private final Duration maxWait;
+
+    private final Semaphore permits;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public Bulkhead(String name, int maxConcurrent, int maxQueued, Duration maxWait) {
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueued = maxQueued;
+        this.maxWait = maxWait;
+        this.permits = new Semaphore(maxConcurrent, true);
+    }
+
+
+    /**
+     * Takes a slot, waiting up to the configured time if all are busy. Every successful
+     * call must be paired with {@link #exit()}.
+     */
+    public void enter() throws InterruptedException, BulkheadFullException {
+        enter(VerificationPriority.INTERACTIVE);
+    }
+
+
+    public void enter(VerificationPriority priority) throws InterruptedException, BulkheadFullException {
+        if (permits.tryAcquire()) {
+            accepted.increment();
+            return;
+        }
+
+        int queueLimit = priority == null || priority == VerificationPriority.INTERACTIVE ? maxQueued : maxQueued / 2;
+        if (queued.incrementAndGet() > queueLimit) {
+            queued.decrementAndGet();
+            reject("queue full");
+        }
+
+        try {
+            if (!permits.tryAcquire(maxWait.toMillis(), TimeUnit.MILLISECONDS)) {
+                reject("timed out after " + maxWait.toMillis() + "ms");
+            }
+            accepted.increment();
+        } finally {
+            queued.decrementAndGet();
+        }
+    }
+
+
+    public void exit() {
+        permits.release();
+    }
+
+
+    public int getActiveCount() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+
+    public int getQueuedCount() {
+        return queued.get();
+    }
+
+
+    public long getAcceptedCount() {
+        return accepted.sum();
+    }
+
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    private void reject(String reason) throws BulkheadFullException {
+        rejected.increment();
+        log.warn("Bulkhead full for service: {} - {} (active: {}/{}, queued: {}, rejected so far: {})",
+            name, reason, getActiveCount(), maxConcurrent, queued.get(), rejected.sum());
+        throw new BulkheadFullException("Bulkhead full for " + name + ": " + reason);
+    }
+}
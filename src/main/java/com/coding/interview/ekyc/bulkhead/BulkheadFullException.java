@@ -0,0 +1,12 @@
+package com.coding.interview.ekyc.bulkhead;
+
+/**
+ * Thrown when a provider's bulkhead has no free slot and its wait queue is full,
+ * or the caller waited longer than the bulkhead allows.
+ */
+public class BulkheadFullException extends Exception {
+
+    public BulkheadFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,51 @@
+package com.coding.interview.ekyc.bulkhead;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hands out one {@link Bulkhead} per provider. Sizes come from
+ * {@code ekyc.bulkhead.<service>.*}, falling back to {@code ekyc.bulkhead.default.*}.
+ */
+@Component
+@RequiredArgsConstructor
+public class BulkheadRegistry {
+    private static final int DEFAULT_MAX_CONCURRENT = 10;
+    private static final int DEFAULT_MAX_QUEUED = 20;
+    private static final long DEFAULT_MAX_WAIT_MS = 2000;
+
+    private final Environment environment;
+    private final Map<String, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+
+
+    public Bulkhead forService(String serviceName) {
+        return bulkheads.computeIfAbsent(serviceName, this::create);
+    }
+
+
+    public Collection<Bulkhead> getAll() {
+        return bulkheads.values();
+    }
+
+    private Bulkhead create(String serviceName) {
+        return new Bulkhead(
+            serviceName,
+            property(serviceName, "max-concurrent", DEFAULT_MAX_CONCURRENT),
+            property(serviceName, "max-queued", DEFAULT_MAX_QUEUED),
+            Duration.ofMillis(property(serviceName, "max-wait-ms", DEFAULT_MAX_WAIT_MS))
+        );
+    }
+
+    private <T> T property(String serviceName, String key, T defaultValue) {
+        @SuppressWarnings("unchecked")
+        Class<T> type = (Class<T>) defaultValue.getClass();
+        T fallback = environment.getProperty("ekyc.bulkhead.default." + key, type, defaultValue);
+        return environment.getProperty("ekyc.bulkhead." + serviceName + "." + key, type, fallback);
+    }
+}
@@ -0,0 +1,16 @@
+package com.coding.interview.ekyc.cache;
+
+import com.coding.interview.ekyc.model.VerificationResult;
+
+import java.time.Instant;
+
+/**
+ * A cached document verification, the instant it stops being served and the hashed document
+ * identity it belongs to. Also the JSON layout of the disk tier.
+ */
+record CachedDocumentResult(VerificationResult result, Instant expiresAt, String document) {
+
+    boolean isExpired(Instant now) {
+        return !now.isBefore(expiresAt);
+    }
+}
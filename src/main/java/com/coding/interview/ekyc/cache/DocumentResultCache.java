@@ -0,0 +1,315 @@
+package com.coding.interview.ekyc.cache;
+
+import com.coding.interview.ekyc.blob.BlobStore;
+import com.coding.interview.ekyc.model.Customer;
+import com.coding.interview.ekyc.model.VerificationRequest;
+import com.coding.interview.ekyc.model.VerificationResult;
+import com.coding.interview.ekyc.model.VerificationStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Caches PASS document verifications, so a resubmission or the same ID on a linked account
+ * does not call the provider again.
+ *
+ * <p>An entry is only served for the same document identity (normalized type/number/expiry),
+ * the same image content and the same customer - or an account explicitly linked to it through
+ * {@link Customer#getLinkedCustomerId()}. Knowing a verified document's number is not enough to
+ * get its result. The image is identified by its blob store digest, so only images submitted
+ * as {@code blob:sha256:} references are cached.
+ *
+ * <p>Two tiers: a bounded LRU map on the heap in front of one small JSON file per entry on
+ * disk, which also survives restarts. Keys are SHA-256 hashes, so document numbers and
+ * customer ids are never written to disk. An entry is served until the earlier of
+ * {@code ekyc.document-cache.max-ttl-hours} and the document's expiry date; documents without a
+ * parseable expiry date are not cached.
+ */
+@Slf4j
+@Component
+@RegisterReflectionForBinding(CachedDocumentResult.class)
+@RequiredArgsConstructor
+public class DocumentResultCache {
+    private static final String FILE_SUFFIX = ".json";
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${ekyc.document-cache.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${ekyc.document-cache.dir:${java.io.tmpdir}/ekyc-document-cache}")
+    private Path dir;
+
+    @Value("${ekyc.document-cache.heap-entries:1000}")
+    private int heapEntries;
+
+    @Value("${ekyc.document-cache.disk-entries:100000}")
+    private int diskEntries;
+
+    @Value("${ekyc.document-cache.max-ttl-hours:720}")
+    private long maxTtlHours;
+
+    private Clock clock = Clock.systemUTC();
+
+    // key -> entry, in access order for LRU eviction
+    private final LinkedHashMap<String, CachedDocumentResult> heap = new LinkedHashMap<>(16, 0.75f, true);
+    // key -> the entry on disk, in access order for LRU eviction
+    private final LinkedHashMap<String, DiskEntry> disk = new LinkedHashMap<>(16, 0.75f, true);
+
+
+    private record DiskEntry(String document, Instant expiresAt) {
+    }
+
+
+    @PostConstruct
+    void loadIndex() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        Files.createDirectories(dir);
+        Instant now = clock.instant();
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.filter(file -> file.getFileName().toString().endsWith(FILE_SUFFIX))
+                .forEach(file -> {
+                    String key = file.getFileName().toString().replace(FILE_SUFFIX, "");
+                    Optional<CachedDocumentResult> entry = read(file);
+                    if (entry.isPresent() && !entry.get().isExpired(now)) {
+                        disk.put(key, new DiskEntry(entry.get().document(), entry.get().expiresAt()));
+                    } else {
+                        delete(key);
+                    }
+                });
+        }
+        evictIfNeeded();
+        log.info("Document result cache at {} holds {} entries on disk", dir, disk.size());
+    }
+
+
+    public Optional<VerificationResult> get(Customer customer, VerificationRequest request, String correlationId) {
+        Optional<String> cacheKey = key(customer, request);
+        if (!enabled || cacheKey.isEmpty()) {
+            return Optional.empty();
+        }
+        String key = cacheKey.get();
+        Instant now = clock.instant();
+
+        synchronized (this) {
+            CachedDocumentResult entry = heap.get(key);
+            if (entry == null && disk.get(key) != null) {
+                entry = read(pathFor(key)).orElse(null);
+                if (entry != null) {
+                    heap.put(key, entry);
+                    evictIfNeeded();
+                }
+            }
+            if (entry == null) {
+                return Optional.empty();
+            }
+            if (entry.isExpired(now)) {
+                remove(key);
+                return Optional.empty();
+            }
+            log.info("[{}] Document verification served from cache (valid until {})", correlationId, entry.expiresAt());
+            return Optional.of(entry.result());
+        }
+    }
+
+
+    /**
+     * Caches a PASS result for the customer until the document expires or the maximum TTL,
+     * whichever is first. Anything else, and images not held in the blob store, are ignored.
+     */
+    public void put(Customer customer, VerificationRequest request, VerificationResult result, String correlationId) {
+        Optional<String> cacheKey = key(customer, request);
+        if (!enabled || cacheKey.isEmpty() || result.status() != VerificationStatus.PASS) {
+            return;
+        }
+        Optional<LocalDate> expiryDate = parseExpiry(request.getExpiryDate());
+        if (expiryDate.isEmpty()) {
+            return;
+        }
+        Instant now = clock.instant();
+        Instant documentExpiry = expiryDate.get().atStartOfDay(ZoneOffset.UTC).toInstant();
+        Instant maxExpiry = now.plus(Duration.ofHours(maxTtlHours));
+        CachedDocumentResult entry = new CachedDocumentResult(result,
+            documentExpiry.isBefore(maxExpiry) ? documentExpiry : maxExpiry,
+            documentKey(request.getDocumentType(), request.getDocumentNumber(), request.getExpiryDate()));
+        if (entry.isExpired(now)) {
+            return;
+        }
+
+        String key = cacheKey.get();
+        synchronized (this) {
+            heap.put(key, entry);
+            try {
+                write(key, entry);
+                disk.put(key, new DiskEntry(entry.document(), entry.expiresAt()));
+            } catch (IOException e) {
+                log.warn("[{}] Could not write document cache entry - Error: {}", correlationId, e.getMessage());
+            }
+            evictIfNeeded();
+        }
+        log.debug("[{}] Cached document verification until {}", correlationId, entry.expiresAt());
+    }
+
+
+    /**
+     * Drops every cached result for a document, whoever submitted it, from both tiers, e.g.
+     * after the provider reports it lost or revoked.
+     */
+    public void invalidate(String documentType, String documentNumber, String expiryDate) {
+        String document = documentKey(documentType, documentNumber, expiryDate);
+        int removed = 0;
+        synchronized (this) {
+            Iterator<Map.Entry<String, DiskEntry>> onDisk = disk.entrySet().iterator();
+            while (onDisk.hasNext()) {
+                Map.Entry<String, DiskEntry> entry = onDisk.next();
+                if (document.equals(entry.getValue().document())) {
+                    onDisk.remove();
+                    heap.remove(entry.getKey());
+                    delete(entry.getKey());
+                    removed++;
+                }
+            }
+            heap.values().removeIf(entry -> document.equals(entry.document()));
+        }
+        log.info("Invalidated {} cached verification(s) of a document", removed);
+    }
+
+
+    public synchronized void invalidateAll() {
+        for (String key : disk.keySet()) {
+            delete(key);
+        }
+        heap.clear();
+        disk.clear();
+        log.info("Invalidated all cached document verifications");
+    }
+
+    private void remove(String key) {
+        heap.remove(key);
+        if (disk.remove(key) != null) {
+            delete(key);
+        }
+    }
+
+    private void evictIfNeeded() {
+        Iterator<String> eldestOnHeap = heap.keySet().iterator();
+        while (heap.size() > heapEntries && eldestOnHeap.hasNext()) {
+            eldestOnHeap.next();
+            eldestOnHeap.remove();
+        }
+        Iterator<String> eldestOnDisk = disk.keySet().iterator();
+        while (disk.size() > diskEntries && eldestOnDisk.hasNext()) {
+            String key = eldestOnDisk.next();
+            eldestOnDisk.remove();
+            heap.remove(key);
+            delete(key);
+        }
+    }
+
+    private void write(String key, CachedDocumentResult entry) throws IOException {
+        Path target = pathFor(key);
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), key, ".tmp");
+        try {
+            Files.write(temp, objectMapper.writeValueAsBytes(entry));
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private Optional<CachedDocumentResult> read(Path file) {
+        try {
+            return Optional.of(objectMapper.readValue(file.toFile(), CachedDocumentResult.class));
+        } catch (IOException e) {
+            log.warn("Unreadable document cache entry {} - Error: {}", file.getFileName(), e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void delete(String key) {
+        try {
+            Files.deleteIfExists(pathFor(key));
+        } catch (IOException e) {
+            log.warn("Could not delete document cache entry {} - Error: {}", key, e.getMessage());
+        }
+    }
+
+    private Path pathFor(String key) {
+        return dir.resolve(key.substring(0, 2)).resolve(key + FILE_SUFFIX);
+    }
+
+    /**
+     * SHA-256 of the customer scope, document identity and image digest; empty when the
+     * customer or the image content is unknown.
+     */
+    private static Optional<String> key(Customer customer, VerificationRequest request) {
+        String scope = customer.verificationScope();
+        if (scope == null || scope.isBlank() || !BlobStore.isReference(request.getDocumentImageUrl())) {
+            return Optional.empty();
+        }
+        return Optional.of(sha256(scope.strip() + '|'
+            + documentKey(request.getDocumentType(), request.getDocumentNumber(), request.getExpiryDate()) + '|'
+            + request.getDocumentImageUrl().substring(BlobStore.REFERENCE_PREFIX.length())));
+    }
+
+    /**
+     * SHA-256 of the document identity, ignoring case, whitespace and separators in the number.
+     */
+    private static String documentKey(String documentType, String documentNumber, String expiryDate) {
+        return sha256(normalize(documentType) + '|'
+            + normalize(documentNumber).replaceAll("[^A-Z0-9]", "") + '|'
+            + parseExpiry(expiryDate).map(LocalDate::toString).orElse(normalize(expiryDate)));
+    }
+
+    private static String sha256(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.strip().toUpperCase(Locale.ROOT);
+    }
+
+    private static Optional<LocalDate> parseExpiry(String expiryDate) {
+        if (expiryDate == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(LocalDate.parse(expiryDate.strip()));
+        } catch (DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+}
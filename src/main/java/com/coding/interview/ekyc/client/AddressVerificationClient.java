@@ -1,85 +1,124 @@
 package com.coding.interview.ekyc.client;
 
+import com.coding.interview.ekyc.address.AddressNormalizer;
+import com.coding.interview.ekyc.address.VerifiedAddressIndex;
+import com.coding.interview.ekyc.admission.Deadline;
 import com.coding.interview.ekyc.client.dto.AddressVerificationRequestDto;
 import com.coding.interview.ekyc.client.dto.AddressVerificationResponseDto;
+import com.coding.interview.ekyc.image.ImagePreprocessor;
+import com.coding.interview.ekyc.image.ImageRequirements;
 import com.coding.interview.ekyc.model.Customer;
 import com.coding.interview.ekyc.model.VerificationRequest;
 import com.coding.interview.ekyc.model.VerificationResult;
 import com.coding.interview.ekyc.model.VerificationStatus;
 import com.coding.interview.ekyc.model.VerificationType;
-import com.coding.interview.ekyc.ratelimit.RateLimiter;
-import com.coding.interview.ekyc.retry.RetryHandler;
+import com.coding.interview.ekyc.provider.ProviderCall;
+import com.coding.interview.ekyc.provider.ProviderPolicy;
+import com.coding.interview.ekyc.provider.ProviderRouter;
+import com.coding.interview.ekyc.provider.VerificationProvider;
+import com.coding.interview.ekyc.transport.ProviderTransport;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.time.Instant;
-import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
 
 
-@Slf4j
 @Component
+@RegisterReflectionForBinding({AddressVerificationRequestDto.class, AddressVerificationResponseDto.class})
 @RequiredArgsConstructor
-public class AddressVerificationClient {
-    private static final String SERVICE_NAME = "AddressVerificationService";
-    private static final int TIMEOUT_SECONDS = 5;
+public class AddressVerificationClient
+        implements VerificationProvider<AddressVerificationRequestDto, AddressVerificationResponseDto> {
+    public static final String SERVICE_NAME = "AddressVerificationService";
+    private static final ProviderPolicy POLICY = ProviderPolicy.of(Duration.ofSeconds(5), false);
 
-    private final HttpClientWrapper httpClient;
-    private final RateLimiter rateLimiter;
-    private final RetryHandler retryHandler;
+    private final ProviderRouter router;
+    private final ProviderTransport transport;
+    private final ImagePreprocessor imagePreprocessor;
+    private final VerifiedAddressIndex addressIndex;
 
     @Value("${ekyc.address.service.url:http://localhost:8083/api/v1/verify-address}")
-    private String serviceUrl;
-
-    public VerificationResult verify(Customer customer, VerificationRequest request, String correlationId) {
-        log.info("[{}] Starting address verification for customer: {}", correlationId, customer.getCustomerId());
-
-        try {
-            rateLimiter.acquire(SERVICE_NAME);
-
-            AddressVerificationResponseDto response = retryHandler.executeWithRetry(
-                () -> {
-                    try {
-                        AddressVerificationRequestDto requestDto = AddressVerificationRequestDto.builder()
-                            .customerId(customer.getCustomerId())
-                            .address(customer.getAddress())
-                            .proofType(request.getProofType())
-                            .proofDate(request.getProofDate())
-                            .proofUrl(request.getProofUrl())
-                            .build();
-
-                        return httpClient.post(serviceUrl, requestDto,
-                            AddressVerificationResponseDto.class, TIMEOUT_SECONDS, correlationId);
-                    } catch (Exception e) {
-                        throw new RuntimeException(e);
-                    }
-                },
-                SERVICE_NAME,
-                correlationId
-            );
-
-            VerificationResult result = VerificationResult.builder()
-                .verificationType(VerificationType.ADDRESS)
-                .status(VerificationStatus.valueOf(response.getStatus()))
-                .confidence(response.getConfidence())
-                .reasons(response.getReasons() != null ? response.getReasons() : new ArrayList<>())
-                .timestamp(Instant.now())
-                .build();
-
-            log.info("[{}] Address verification completed: {}", correlationId, result.getStatus());
-            return result;
-
-        } catch (Exception e) {
-            log.error("[{}] Address verification failed", correlationId, e);
-            return VerificationResult.builder()
-                .verificationType(VerificationType.ADDRESS)
-                .status(VerificationStatus.FAIL)
-                .confidence(0)
-                .reasons(new ArrayList<>() {{ add("Service unavailable: " + e.getMessage()); }})
-                .timestamp(Instant.now())
-                .build();
-        }
+    private List<String> serviceUrls;
+
+    @PostConstruct
+    void registerEndpoints() {
+        transport.registerEndpoints(SERVICE_NAME, serviceUrls);
+    }
+
+    public VerificationResult verify(Customer customer, VerificationRequest request, Deadline deadline,
+                                     String correlationId) {
+        return router.execute(this, new ProviderCall(customer, request, deadline, correlationId));
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public VerificationType type() {
+        return VerificationType.ADDRESS;
+    }
+
+    @Override
+    public ProviderPolicy defaultPolicy() {
+        return POLICY;
+    }
+
+    @Override
+    public Class<AddressVerificationResponseDto> responseType() {
+        return AddressVerificationResponseDto.class;
     }
-}
 
+    @Override
+    public RequestBuilder<AddressVerificationRequestDto> prepare(ProviderCall call) throws Exception {
+        VerificationRequest request = call.request();
+        String proof = imagePreprocessor.prepare(request.getProofUrl(), ImageRequirements.PROOF_OF_ADDRESS,
+            call.correlationId());
+
+        return uploads -> AddressVerificationRequestDto.builder()
+            .customerId(call.customer().getCustomerId())
+            .address(AddressNormalizer.clean(call.customer().getAddress()))
+            .proofType(request.getProofType())
+            .proofDate(request.getProofDate())
+            .proofUrl(uploads.upload(proof))
+            .build();
+    }
+
+    @Override
+    public VerificationResult toResult(AddressVerificationResponseDto response, ProviderCall call) {
+        return VerificationResult.builder()
+            .verificationType(VerificationType.ADDRESS)
+            .status(VerificationStatus.valueOf(response.getStatus()))
+            .confidence(response.getConfidence() != null
+                ? response.getConfidence() : VerificationResult.NO_CONFIDENCE)
+            .reasons(response.getReasons())
+            .timestamp(Instant.now())
+            .build();
+    }
+
+    @Override
+    public Optional<VerificationResult> cached(ProviderCall call) {
+        return addressIndex.get(call.customer(), AddressNormalizer.canonicalize(call.customer().getAddress()),
+            call.correlationId());
+    }
+
+    @Override
+    public void store(ProviderCall call, VerificationResult result) {
+        addressIndex.put(call.customer(), AddressNormalizer.canonicalize(call.customer().getAddress()), result,
+            call.correlationId());
+    }
+
+    @Override
+    public Optional<String> identity(ProviderCall call) {
+        VerificationRequest request = call.request();
+        return VerificationProvider.payloadIdentity(call.customer().getCustomerId(),
+            AddressNormalizer.clean(call.customer().getAddress()), request.getProofType(), request.getProofDate(),
+            request.getProofUrl());
+    }
+}
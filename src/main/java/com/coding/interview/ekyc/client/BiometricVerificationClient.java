@@ -1,89 +1,104 @@
 package com.coding.interview.ekyc.client;
 
+import com.coding.interview.ekyc.admission.Deadline;
 import com.coding.interview.ekyc.client.dto.BiometricRequestDto;
 import com.coding.interview.ekyc.client.dto.BiometricResponseDto;
+import com.coding.interview.ekyc.image.ImagePreprocessor;
+import com.coding.interview.ekyc.image.ImageRequirements;
 import com.coding.interview.ekyc.model.Customer;
 import com.coding.interview.ekyc.model.VerificationRequest;
 import com.coding.interview.ekyc.model.VerificationResult;
 import com.coding.interview.ekyc.model.VerificationStatus;
 import com.coding.interview.ekyc.model.VerificationType;
-import com.coding.interview.ekyc.ratelimit.RateLimiter;
-import com.coding.interview.ekyc.retry.RetryHandler;
+import com.coding.interview.ekyc.provider.ProviderCall;
+import com.coding.interview.ekyc.provider.ProviderPolicy;
+import com.coding.interview.ekyc.provider.ProviderRouter;
+import com.coding.interview.ekyc.provider.VerificationProvider;
+import com.coding.interview.ekyc.transport.ProviderTransport;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.time.Instant;
-import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Client for Biometric Verification Service.
  */
 @Slf4j
 @Component
+@RegisterReflectionForBinding({BiometricRequestDto.class, BiometricResponseDto.class})
 @RequiredArgsConstructor
-public class BiometricVerificationClient {
-    private static final String SERVICE_NAME = "BiometricService";
-    private static final int TIMEOUT_SECONDS = 8;
+public class BiometricVerificationClient implements VerificationProvider<BiometricRequestDto, BiometricResponseDto> {
+    public static final String SERVICE_NAME = "BiometricService";
+    private static final ProviderPolicy POLICY = ProviderPolicy.of(Duration.ofSeconds(8), true);
 
-    private final HttpClientWrapper httpClient;
-    private final RateLimiter rateLimiter;
-    private final RetryHandler retryHandler;
+    private final ProviderRouter router;
+    private final ProviderTransport transport;
+    private final ImagePreprocessor imagePreprocessor;
 
     @Value("${ekyc.biometric.service.url:http://localhost:8082/api/v1/face-match}")
-    private String serviceUrl;
+    private List<String> serviceUrls;
 
-    public VerificationResult verify(Customer customer, VerificationRequest request, String correlationId) {
-        log.info("[{}] Starting biometric verification for customer: {}", correlationId, customer.getCustomerId());
+    @PostConstruct
+    void registerEndpoints() {
+        transport.registerEndpoints(SERVICE_NAME, serviceUrls);
+    }
+
+    public VerificationResult verify(Customer customer, VerificationRequest request, Deadline deadline,
+                                     String correlationId) {
+        return router.execute(this, new ProviderCall(customer, request, deadline, correlationId));
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
 
-        try {
-            // Respect rate limit
-            rateLimiter.acquire(SERVICE_NAME);
+    @Override
+    public VerificationType type() {
+        return VerificationType.FACE_MATCH;
+    }
 
-            // Execute with retry
-            BiometricResponseDto response = retryHandler.executeWithRetry(
-                () -> {
-                    try {
-                        BiometricRequestDto requestDto = BiometricRequestDto.builder()
-                            .customerId(customer.getCustomerId())
-                            .selfieUrl(request.getSelfieUrl())
-                            .idPhotoUrl(request.getIdPhotoUrl())
-                            .build();
+    @Override
+    public ProviderPolicy defaultPolicy() {
+        return POLICY;
+    }
 
-                        return httpClient.post(serviceUrl, requestDto,
-                            BiometricResponseDto.class, TIMEOUT_SECONDS, correlationId);
-                    } catch (Exception e) {
-                        throw new RuntimeException(e);
-                    }
-                },
-                SERVICE_NAME,
-                correlationId
-            );
+    @Override
+    public Class<BiometricResponseDto> responseType() {
+        return BiometricResponseDto.class;
+    }
 
-            VerificationResult result = VerificationResult.builder()
-                .verificationType(VerificationType.FACE_MATCH)
-                .status(VerificationStatus.valueOf(response.getStatus()))
-                .confidence(response.getConfidence())
-                .similarityScore(response.getSimilarityScore())
-                .reasons(new ArrayList<>())
-                .timestamp(Instant.now())
-                .build();
+    @Override
+    public RequestBuilder<BiometricRequestDto> prepare(ProviderCall call) throws Exception {
+        String selfie = imagePreprocessor.prepare(call.request().getSelfieUrl(), ImageRequirements.FACE,
+            call.correlationId());
+        String idPhoto = imagePreprocessor.prepare(call.request().getIdPhotoUrl(), ImageRequirements.FACE,
+            call.correlationId());
 
-            log.info("[{}] Biometric verification completed: {} (similarity: {}%)",
-                correlationId, result.getStatus(), response.getSimilarityScore());
-            return result;
+        return uploads -> BiometricRequestDto.builder()
+            .customerId(call.customer().getCustomerId())
+            .selfieUrl(uploads.upload(selfie))
+            .idPhotoUrl(uploads.upload(idPhoto))
+            .build();
+    }
 
-        } catch (Exception e) {
-            log.error("[{}] Biometric verification failed", correlationId, e);
-            return VerificationResult.builder()
-                .verificationType(VerificationType.FACE_MATCH)
-                .status(VerificationStatus.FAIL)
-                .confidence(0)
-                .reasons(new ArrayList<>() {{ add("Service unavailable: " + e.getMessage()); }})
-                .timestamp(Instant.now())
-                .build();
-        }
+    @Override
+    public VerificationResult toResult(BiometricResponseDto response, ProviderCall call) {
+        log.debug("[{}] Biometric similarity: {}%", call.correlationId(), response.getSimilarityScore());
+        return VerificationResult.builder()
+            .verificationType(VerificationType.FACE_MATCH)
+            .status(VerificationStatus.valueOf(response.getStatus()))
+            .confidence(response.getConfidence() != null
+                ? response.getConfidence() : VerificationResult.NO_CONFIDENCE)
+            .similarityScore(response.getSimilarityScore() != null
+                ? response.getSimilarityScore() : VerificationResult.NO_SIMILARITY_SCORE)
+            .timestamp(Instant.now())
+            .build();
     }
 }
-
@@ -1,87 +1,120 @@
 package com.coding.interview.ekyc.client;
 
+import com.coding.interview.ekyc.admission.Deadline;
+import com.coding.interview.ekyc.cache.DocumentResultCache;
 import com.coding.interview.ekyc.client.dto.DocumentVerificationRequestDto;
 import com.coding.interview.ekyc.client.dto.DocumentVerificationResponseDto;
+import com.coding.interview.ekyc.image.ImagePreprocessor;
+import com.coding.interview.ekyc.image.ImageRequirements;
 import com.coding.interview.ekyc.model.Customer;
 import com.coding.interview.ekyc.model.VerificationRequest;
 import com.coding.interview.ekyc.model.VerificationResult;
 import com.coding.interview.ekyc.model.VerificationStatus;
 import com.coding.interview.ekyc.model.VerificationType;
-import com.coding.interview.ekyc.ratelimit.RateLimiter;
-import com.coding.interview.ekyc.retry.RetryHandler;
+import com.coding.interview.ekyc.provider.ProviderCall;
+import com.coding.interview.ekyc.provider.ProviderPolicy;
+import com.coding.interview.ekyc.provider.ProviderRouter;
+import com.coding.interview.ekyc.provider.VerificationProvider;
+import com.coding.interview.ekyc.transport.ProviderTransport;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.time.Instant;
-import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
 
 
-@Slf4j
 @Component
+@RegisterReflectionForBinding({DocumentVerificationRequestDto.class, DocumentVerificationResponseDto.class})
 @RequiredArgsConstructor
-public class DocumentVerificationClient {
-    private static final String SERVICE_NAME = "DocumentVerificationService";
-    private static final int TIMEOUT_SECONDS = 5;
+public class DocumentVerificationClient
+        implements VerificationProvider<DocumentVerificationRequestDto, DocumentVerificationResponseDto> {
+    public static final String SERVICE_NAME = "DocumentVerificationService";
+    private static final ProviderPolicy POLICY = ProviderPolicy.of(Duration.ofSeconds(5), true);
 
-    private final HttpClientWrapper httpClient;
-    private final RateLimiter rateLimiter;
-    private final RetryHandler retryHandler;
+    private final ProviderRouter router;
+    private final ProviderTransport transport;
+    private final ImagePreprocessor imagePreprocessor;
+    private final DocumentResultCache resultCache;
 
     @Value("${ekyc.document.service.url:http://localhost:8081/api/v1/verify-document}")
-    private String serviceUrl;
-
-    public VerificationResult verify(Customer customer, VerificationRequest request, String correlationId) {
-        log.info("[{}] Starting document verification for customer: {}", correlationId, customer.getCustomerId());
-
-        try {
-            // Respect rate limit
-            rateLimiter.acquire(SERVICE_NAME);
-
-            // Execute with retry
-            DocumentVerificationResponseDto response = retryHandler.executeWithRetry(
-                () -> {
-                    try {
-                        DocumentVerificationRequestDto requestDto = DocumentVerificationRequestDto.builder()
-                            .customerId(customer.getCustomerId())
-                            .documentType(request.getDocumentType())
-                            .documentNumber(request.getDocumentNumber())
-                            .expiryDate(request.getExpiryDate())
-                            .documentImageUrl(request.getDocumentImageUrl())
-                            .build();
-
-                        return httpClient.post(serviceUrl, requestDto,
-                            DocumentVerificationResponseDto.class, TIMEOUT_SECONDS, correlationId);
-                    } catch (Exception e) {
-                        throw new RuntimeException(e);
-                    }
-                },
-                SERVICE_NAME,
-                correlationId
-            );
-
-            VerificationResult result = VerificationResult.builder()
-                .verificationType(VerificationType.ID_DOCUMENT)
-                .status(VerificationStatus.valueOf(response.getStatus()))
-                .confidence(response.getConfidence())
-                .reasons(response.getReasons() != null ? response.getReasons() : new ArrayList<>())
-                .timestamp(Instant.now())
-                .build();
-
-            log.info("[{}] Document verification completed: {}", correlationId, result.getStatus());
-            return result;
-
-        } catch (Exception e) {
-            log.error("[{}] Document verification failed", correlationId, e);
-            return VerificationResult.builder()
-                .verificationType(VerificationType.ID_DOCUMENT)
-                .status(VerificationStatus.FAIL)
-                .confidence(0)
-                .reasons(new ArrayList<>() {{ add("Service unavailable: " + e.getMessage()); }})
-                .timestamp(Instant.now())
-                .build();
-        }
+    private List<String> serviceUrls;
+
+    @PostConstruct
+    void registerEndpoints() {
+        transport.registerEndpoints(SERVICE_NAME, serviceUrls);
+    }
+
+    public VerificationResult verify(Customer customer, VerificationRequest request, Deadline deadline,
+                                     String correlationId) {
+        return router.execute(this, new ProviderCall(customer, request, deadline, correlationId));
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public VerificationType type() {
+        return VerificationType.ID_DOCUMENT;
+    }
+
+    @Override
+    public ProviderPolicy defaultPolicy() {
+        return POLICY;
+    }
+
+    @Override
+    public Class<DocumentVerificationResponseDto> responseType() {
+        return DocumentVerificationResponseDto.class;
     }
-}
 
+    @Override
+    public RequestBuilder<DocumentVerificationRequestDto> prepare(ProviderCall call) throws Exception {
+        VerificationRequest request = call.request();
+        String documentImage = imagePreprocessor.prepare(request.getDocumentImageUrl(), ImageRequirements.DOCUMENT,
+            call.correlationId());
+
+        return uploads -> DocumentVerificationRequestDto.builder()
+            .customerId(call.customer().getCustomerId())
+            .documentType(request.getDocumentType())
+            .documentNumber(request.getDocumentNumber())
+            .expiryDate(request.getExpiryDate())
+            .documentImageUrl(uploads.upload(documentImage))
+            .build();
+    }
+
+    @Override
+    public VerificationResult toResult(DocumentVerificationResponseDto response, ProviderCall call) {
+        return VerificationResult.builder()
+            .verificationType(VerificationType.ID_DOCUMENT)
+            .status(VerificationStatus.valueOf(response.getStatus()))
+            .confidence(response.getConfidence() != null
+                ? response.getConfidence() : VerificationResult.NO_CONFIDENCE)
+            .reasons(response.getReasons())
+            .timestamp(Instant.now())
+            .build();
+    }
+
+    @Override
+    public Optional<VerificationResult> cached(ProviderCall call) {
+        return resultCache.get(call.customer(), call.request(), call.correlationId());
+    }
+
+    @Override
+    public void store(ProviderCall call, VerificationResult result) {
+        resultCache.put(call.customer(), call.request(), result, call.correlationId());
+    }
+
+    @Override
+    public Optional<String> identity(ProviderCall call) {
+        VerificationRequest request = call.request();
+        return VerificationProvider.payloadIdentity(call.customer().getCustomerId(), request.getDocumentType(),
+            request.getDocumentNumber(), request.getExpiryDate(), request.getDocumentImageUrl());
+    }
+}
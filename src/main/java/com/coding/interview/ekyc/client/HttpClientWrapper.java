@@ -1,51 +1,205 @@
 package com.coding.interview.ekyc.client;
 
+import com.coding.interview.ekyc.ratelimit.AdaptiveConcurrencyLimiter;
+import com.coding.interview.ekyc.transport.EndpointPool;
+import com.coding.interview.ekyc.transport.ProviderTransport;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
 import java.net.URI;
-import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 
 @Slf4j
 @Component
 public class HttpClientWrapper {
-    private final HttpClient httpClient;
+    private final ProviderTransport transport;
     private final ObjectMapper objectMapper;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
 
-    public HttpClientWrapper(ObjectMapper objectMapper) {
+    public HttpClientWrapper(
+            ProviderTransport transport,
+            ObjectMapper objectMapper,
+            AdaptiveConcurrencyLimiter concurrencyLimiter
+    ) {
+        this.transport = transport;
         this.objectMapper = objectMapper;
-        this.httpClient = HttpClient.newBuilder()
-            .connectTimeout(Duration.ofSeconds(10))
-            .build();
+        this.concurrencyLimiter = concurrencyLimiter;
     }
 
 
+    /**
+     * Posts to one of the service's registered endpoints, chosen by {@link EndpointPool}.
+     */
     public <T, R> T post(
-            String url,
+            String serviceName,
             R requestBody,
             Class<T> responseType,
-            int timeoutSeconds,
+            Duration timeout,
             String correlationId
     ) throws Exception {
-        String requestJson = objectMapper.writeValueAsString(requestBody);
+        EndpointPool.Endpoint endpoint = transport.endpoints(serviceName).select();
+        HttpRequest request = buildRequest(endpoint.getUri(), requestBody, timeout, correlationId);
+
+        concurrencyLimiter.acquire(serviceName);
+        long start = System.nanoTime();
+        HttpResponse<String> response;
+        try {
+            response = transport.client(serviceName).send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (InterruptedException e) {
+            // send() has already aborted the exchange; keep the flag so retries stop too
+            concurrencyLimiter.onIgnored(serviceName);
+            Thread.currentThread().interrupt();
+            throw e;
+        } catch (Exception e) {
+            releaseOnError(serviceName, endpoint, e);
+            throw e;
+        }
+        releaseOnResponse(serviceName, endpoint, response, start);
+
+        return readResponse(response, responseType, correlationId);
+    }
+
+
+    /**
+     * Non-blocking variant of {@link #post}. Cancelling the returned future aborts the
+     * underlying exchange, which lets callers race several requests and drop the losers.
+     * Waiting for a concurrency permit still happens on the calling thread.
+     */
+    public <T, R> CompletableFuture<T> postAsync(
+            String serviceName,
+            R requestBody,
+            Class<T> responseType,
+            Duration timeout,
+            String correlationId
+    ) throws Exception {
+        EndpointPool.Endpoint endpoint = transport.endpoints(serviceName).select();
+        HttpRequest request = buildRequest(endpoint.getUri(), requestBody, timeout, correlationId);
 
-        log.debug("[{}] POST request to: {} with body: {}", correlationId, url, requestJson);
+        concurrencyLimiter.acquire(serviceName);
+        long start = System.nanoTime();
+        CompletableFuture<HttpResponse<String>> exchange =
+            transport.client(serviceName).sendAsync(request, HttpResponse.BodyHandlers.ofString());
+        exchange.whenComplete((response, error) -> {
+            if (error == null) {
+                releaseOnResponse(serviceName, endpoint, response, start);
+            } else {
+                releaseOnError(serviceName, endpoint, error);
+            }
+        });
 
+        CompletableFuture<T> result = exchange.thenApply(response -> {
+            try {
+                return readResponse(response, responseType, correlationId);
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        });
+        result.whenComplete((response, error) -> {
+            if (result.isCancelled()) {
+                exchange.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Streams a local file to the provider with a PUT, straight from disk via
+     * {@link HttpRequest.BodyPublishers#ofFile} rather than through a heap buffer.
+     */
+    public void putFile(
+            String serviceName,
+            URI uri,
+            Path file,
+            String contentType,
+            Duration timeout,
+            String correlationId
+    ) throws Exception {
         HttpRequest request = HttpRequest.newBuilder()
-            .uri(URI.create(url))
+            .uri(uri)
+            .header("Content-Type", contentType)
+            .header("X-Correlation-ID", correlationId)
+            .timeout(timeout)
+            .PUT(HttpRequest.BodyPublishers.ofFile(file))
+            .build();
+
+        log.debug("[{}] PUT {} to: {}", correlationId, file.getFileName(), uri);
+
+        HttpResponse<Void> response;
+        try {
+            response = transport.client(serviceName).send(request, HttpResponse.BodyHandlers.discarding());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw e;
+        }
+
+        if (response.statusCode() >= 400) {
+            throw new Exception("HTTP " + response.statusCode() + " uploading to " + uri);
+        }
+    }
+
+    private void releaseOnResponse(
+            String serviceName,
+            EndpointPool.Endpoint endpoint,
+            HttpResponse<String> response,
+            long startNanos
+    ) {
+        int status = response.statusCode();
+        if (status >= 500) {
+            endpoint.recordFailure();
+        } else {
+            endpoint.recordSuccess();
+        }
+
+        if (status == 429 || status >= 500) {
+            concurrencyLimiter.onDropped(serviceName);
+        } else {
+            concurrencyLimiter.onSuccess(serviceName, Duration.ofNanos(System.nanoTime() - startNanos));
+        }
+    }
+
+    private void releaseOnError(String serviceName, EndpointPool.Endpoint endpoint, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof HttpTimeoutException || cause instanceof IOException) {
+            endpoint.recordFailure();
+            concurrencyLimiter.onDropped(serviceName);
+        } else {
+            concurrencyLimiter.onIgnored(serviceName);
+        }
+    }
+
+    private <R> HttpRequest buildRequest(
+            URI uri,
+            R requestBody,
+            Duration timeout,
+            String correlationId
+    ) throws IOException {
+        String requestJson = objectMapper.writeValueAsString(requestBody);
+
+        log.debug("[{}] POST request to: {} with body: {}", correlationId, uri, requestJson);
+
+        return HttpRequest.newBuilder()
+            .uri(uri)
             .header("Content-Type", "application/json")
             .header("X-Correlation-ID", correlationId)
-            .timeout(Duration.ofSeconds(timeoutSeconds))
+            .timeout(timeout)
             .POST(HttpRequest.BodyPublishers.ofString(requestJson))
             .build();
+    }
 
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-
+    private <T> T readResponse(
+            HttpResponse<String> response,
+            Class<T> responseType,
+            String correlationId
+    ) throws Exception {
         log.debug("[{}] Response status: {}, body: {}",
             correlationId, response.statusCode(), response.body());
 
@@ -56,4 +210,3 @@ public class HttpClientWrapper {
         return objectMapper.readValue(response.body(), responseType);
     }
 }
-
@@ -1,81 +1,108 @@
 package com.coding.interview.ekyc.client;
 
+import com.coding.interview.ekyc.admission.Deadline;
 import com.coding.interview.ekyc.client.dto.SanctionsRequestDto;
 import com.coding.interview.ekyc.client.dto.SanctionsResponseDto;
 import com.coding.interview.ekyc.model.Customer;
+import com.coding.interview.ekyc.model.Reasons;
+import com.coding.interview.ekyc.model.VerificationRequest;
 import com.coding.interview.ekyc.model.VerificationResult;
 import com.coding.interview.ekyc.model.VerificationStatus;
 import com.coding.interview.ekyc.model.VerificationType;
-import com.coding.interview.ekyc.ratelimit.RateLimiter;
-import com.coding.interview.ekyc.retry.RetryHandler;
+import com.coding.interview.ekyc.provider.ProviderCall;
+import com.coding.interview.ekyc.provider.ProviderPolicy;
+import com.coding.interview.ekyc.provider.ProviderRouter;
+import com.coding.interview.ekyc.provider.VerificationProvider;
+import com.coding.interview.ekyc.transport.ProviderTransport;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.time.Instant;
-import java.util.ArrayList;
-
+import java.util.List;
 
+/**
+ * Screens customers against sanctions lists. Always asks the provider: results are neither
+ * cached nor shared between calls.
+ */
 @Slf4j
 @Component
+@RegisterReflectionForBinding({SanctionsRequestDto.class, SanctionsResponseDto.class})
 @RequiredArgsConstructor
-public class SanctionsScreeningClient {
-    private static final String SERVICE_NAME = "SanctionsScreeningService";
-    private static final int TIMEOUT_SECONDS = 3;
+public class SanctionsScreeningClient implements VerificationProvider<SanctionsRequestDto, SanctionsResponseDto> {
+    public static final String SERVICE_NAME = "SanctionsScreeningService";
+    private static final ProviderPolicy POLICY = ProviderPolicy.of(Duration.ofSeconds(3), false);
 
-    private final HttpClientWrapper httpClient;
-    private final RateLimiter rateLimiter;
-    private final RetryHandler retryHandler;
+    private final ProviderRouter router;
+    private final ProviderTransport transport;
 
     @Value("${ekyc.sanctions.service.url:http://localhost:8084/api/v1/check-sanctions}")
-    private String serviceUrl;
+    private List<String> serviceUrls;
 
-    public VerificationResult verify(Customer customer, String correlationId) throws Exception {
-        log.info("[{}] Starting sanctions screening for customer: {} (CRITICAL)",
-            correlationId, customer.getCustomerId());
+    @PostConstruct
+    void registerEndpoints() {
+        transport.registerEndpoints(SERVICE_NAME, serviceUrls);
+    }
 
+    public VerificationResult verify(Customer customer, VerificationRequest request, Deadline deadline,
+                                     String correlationId) {
+        return router.execute(this, new ProviderCall(customer, request, deadline, correlationId));
+    }
 
-        rateLimiter.acquire(SERVICE_NAME);
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
 
+    @Override
+    public VerificationType type() {
+        return VerificationType.SANCTIONS;
+    }
 
-        SanctionsResponseDto response = retryHandler.executeWithRetry(
-            () -> {
-                try {
-                    SanctionsRequestDto requestDto = SanctionsRequestDto.builder()
-                        .customerId(customer.getCustomerId())
-                        .fullName(customer.getFullName())
-                        .dateOfBirth(customer.getDateOfBirth())
-                        .nationality(customer.getNationality())
-                        .build();
+    @Override
+    public ProviderPolicy defaultPolicy() {
+        return POLICY;
+    }
 
-                    return httpClient.post(serviceUrl, requestDto,
-                        SanctionsResponseDto.class, TIMEOUT_SECONDS, correlationId);
-                } catch (Exception e) {
-                    throw new RuntimeException(e);
-                }
-            },
-            SERVICE_NAME,
-            correlationId
-        );
+    @Override
+    public Class<SanctionsResponseDto> responseType() {
+        return SanctionsResponseDto.class;
+    }
 
-        VerificationResult result = VerificationResult.builder()
-            .verificationType(VerificationType.SANCTIONS)
-            .status(VerificationStatus.valueOf(response.getStatus()))
-            .confidence(100)
-            .matchCount(response.getMatchCount())
-            .reasons(response.getMatches() != null ? response.getMatches() : new ArrayList<>())
-            .timestamp(Instant.now())
+    @Override
+    public RequestBuilder<SanctionsRequestDto> prepare(ProviderCall call) {
+        Customer customer = call.customer();
+        return uploads -> SanctionsRequestDto.builder()
+            .customerId(customer.getCustomerId())
+            .fullName(customer.getFullName())
+            .dateOfBirth(customer.getDateOfBirth())
+            .nationality(customer.getNationality())
             .build();
+    }
 
+    @Override
+    public VerificationResult toResult(SanctionsResponseDto response, ProviderCall call) {
         if ("HIT".equals(response.getStatus())) {
             log.warn("[{}] SANCTIONS HIT detected for customer: {} - {} matches found",
-                correlationId, customer.getCustomerId(), response.getMatchCount());
-        } else {
-            log.info("[{}] Sanctions screening completed: CLEAR", correlationId);
+                call.correlationId(), call.customer().getCustomerId(), response.getMatchCount());
         }
+        return VerificationResult.builder()
+            .verificationType(VerificationType.SANCTIONS)
+            .status(VerificationStatus.valueOf(response.getStatus()))
+            .confidence(100)
+            .matchCount(response.getMatchCount() != null
+                ? response.getMatchCount() : VerificationResult.NO_MATCH_COUNT)
+            .reasons(response.getMatches())
+            .timestamp(Instant.now())
+            .build();
+    }
 
-        return result;
+    @Override
+    public List<String> unavailableReasons(Exception error) {
+        return Reasons.SANCTIONS_UNAVAILABLE;
     }
 }
-
@@ -1,5 +1,7 @@
 package com.coding.interview.ekyc.client.dto;
 
+import com.coding.interview.ekyc.model.Reasons;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -14,6 +16,7 @@ import java.util.List;
 public class DocumentVerificationResponseDto {
     private String status;
     private Integer confidence;
+    @JsonDeserialize(using = Reasons.Deserializer.class)
     private List<String> reasons;
 }
 
@@ -0,0 +1,179 @@
+package com.coding.interview.ekyc.hedge;
+
+import com.coding.interview.ekyc.metrics.LatencyTracker;
+import com.coding.interview.ekyc.model.VerificationPriority;
+import com.coding.interview.ekyc.ratelimit.RateLimiter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Issues a second, identical request when the first one has not answered within the
+ * provider's observed p95 latency, and returns whichever response arrives first.
+ * Hedges are capped by a per-service budget and only sent when the rate limiter has a
+ * permit to spare in the call's priority lane, so they never wait for or exceed the provider
+ * quota, and background hedges never draw on the interactive reservation.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HedgedRequestExecutor {
+    private static final double HEDGE_PERCENTILE = 0.95;
+    private static final int MIN_SAMPLES = 20;
+    // Every call earns a tenth of a hedge, so at most ~10% extra load, with a burst of 10
+    private static final int BUDGET_CREDIT_PER_CALL = 1;
+    private static final int BUDGET_COST_PER_HEDGE = 10;
+    private static final int MAX_BUDGET = 100;
+
+    private final LatencyTracker latencyTracker;
+    private final RateLimiter rateLimiter;
+    private final Map<String, AtomicInteger> budgets = new ConcurrentHashMap<>();
+
+    @Value("${ekyc.hedging.enabled:true}")
+    private boolean enabled = true;
+
+
+    @FunctionalInterface
+    public interface AsyncCall<T> {
+        CompletableFuture<T> start() throws Exception;
+    }
+
+
+    public <T> T execute(
+            AsyncCall<T> call,
+            String serviceName,
+            VerificationPriority priority,
+            String correlationId
+    ) throws Exception {
+        AtomicInteger budget = budgets.computeIfAbsent(serviceName, k -> new AtomicInteger(MAX_BUDGET));
+        budget.getAndUpdate(tokens -> Math.min(MAX_BUDGET, tokens + BUDGET_CREDIT_PER_CALL));
+
+        CompletableFuture<T> primary = timed(call, serviceName);
+        Optional<Duration> hedgeDelay = enabled
+            ? latencyTracker.percentile(serviceName, HEDGE_PERCENTILE, MIN_SAMPLES)
+            : Optional.empty();
+
+        if (hedgeDelay.isEmpty()) {
+            return await(primary);
+        }
+
+        try {
+            return unwrap(() -> primary.get(hedgeDelay.get().toNanos(), TimeUnit.NANOSECONDS), primary);
+        } catch (TimeoutException e) {
+            // Primary is in the tail - fall through and consider hedging
+        }
+
+        if (!tryConsumeBudget(budget)) {
+            log.debug("[{}] No hedge budget for service: {}, waiting on primary request", correlationId, serviceName);
+            return await(primary);
+        }
+        if (!rateLimiter.tryAcquire(serviceName, priority)) {
+            // No hedge goes out, so it does not spend the budget either
+            budget.getAndUpdate(tokens -> Math.min(MAX_BUDGET, tokens + BUDGET_COST_PER_HEDGE));
+            log.debug("[{}] No rate-limit permit to spare for a hedge to service: {}, waiting on primary request",
+                correlationId, serviceName);
+            return await(primary);
+        }
+
+        log.info("[{}] {} has not answered within p95 ({}ms), sending hedged request",
+            correlationId, serviceName, hedgeDelay.get().toMillis());
+
+        CompletableFuture<T> hedge;
+        try {
+            hedge = timed(call, serviceName);
+        } catch (Exception e) {
+            rateLimiter.release(serviceName, priority);
+            log.warn("[{}] Hedged request to {} could not be sent - Error: {}", correlationId, serviceName, e.getMessage());
+            return await(primary);
+        }
+
+        CompletableFuture<T> first = firstSuccessful(primary, hedge);
+        try {
+            return await(first);
+        } finally {
+            primary.cancel(true);
+            hedge.cancel(true);
+        }
+    }
+
+    private <T> CompletableFuture<T> timed(AsyncCall<T> call, String serviceName) throws Exception {
+        long start = System.nanoTime();
+        CompletableFuture<T> future = call.start();
+        future.whenComplete((response, error) -> {
+            if (error == null) {
+                latencyTracker.record(serviceName, Duration.ofNanos(System.nanoTime() - start));
+            }
+        });
+        return future;
+    }
+
+    private static boolean tryConsumeBudget(AtomicInteger budget) {
+        int tokens = budget.get();
+        while (tokens >= BUDGET_COST_PER_HEDGE) {
+            if (budget.compareAndSet(tokens, tokens - BUDGET_COST_PER_HEDGE)) {
+                return true;
+            }
+            tokens = budget.get();
+        }
+        return false;
+    }
+
+    /**
+     * Completes with the first successful response, or with the last failure if both fail.
+     */
+    private static <T> CompletableFuture<T> firstSuccessful(CompletableFuture<T> a, CompletableFuture<T> b) {
+        CompletableFuture<T> first = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        for (CompletableFuture<T> candidate : List.of(a, b)) {
+            candidate.whenComplete((response, error) -> {
+                if (error == null) {
+                    first.complete(response);
+                } else if (failures.incrementAndGet() == 2) {
+                    first.completeExceptionally(error);
+                }
+            });
+        }
+        return first;
+    }
+
+    private static <T> T await(CompletableFuture<T> future) throws Exception {
+        return unwrap(future::get, future);
+    }
+
+    private static <T> T unwrap(BlockingGet<T> get, CompletableFuture<T> future) throws Exception {
+        try {
+            return get.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw e;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            while (cause instanceof CompletionException && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            if (cause instanceof Exception exception) {
+                throw exception;
+            }
+            throw e;
+        }
+    }
+
+    @FunctionalInterface
+    private interface BlockingGet<T> {
+        T get() throws InterruptedException, ExecutionException, TimeoutException;
+    }
+}
@@ -0,0 +1,257 @@
+package com.coding.interview.ekyc.image;
+
+import com.coding.interview.ekyc.blob.BlobStore;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Checks and shrinks locally stored images ({@code blob:sha256:} references) before they are
+ * sent to a provider: sniffs the format, rejects corrupt, undersized or blurry images outright
+ * so they never cost a provider call, and downscales oversized ones to the provider's maximum
+ * useful resolution. Remote URLs are passed through, since inspecting them would mean
+ * downloading them first.
+ *
+ * <p>Work runs on a small bounded pool. When the pool is saturated or slow, the original image
+ * is passed on unchanged rather than holding up the verification.
+ */
+@Slf4j
+@Component
+public class ImagePreprocessor {
+    private static final long MAX_PIXELS = 50_000_000L;
+    private static final int SHARPNESS_SAMPLE_EDGE = 512;
+    private static final int MAX_CACHED_RESULTS = 10_000;
+
+    private final BlobStore blobStore;
+    private final ThreadPoolExecutor workers;
+    // original reference + requirements -> prepared reference
+    private final Map<String, String> prepared = new ConcurrentHashMap<>();
+
+    @Value("${ekyc.image.timeout-ms:5000}")
+    private long timeoutMs = 5000;
+
+    public ImagePreprocessor(
+            BlobStore blobStore,
+            @Value("${ekyc.image.workers:2}") int workerCount,
+            @Value("${ekyc.image.queue-capacity:32}") int queueCapacity
+    ) {
+        this.blobStore = blobStore;
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            Thread.ofPlatform().name("image-prep-", 0).daemon(true).factory());
+    }
+
+
+    /**
+     * Returns the reference to send to the provider - the original, or a downscaled copy.
+     *
+     * @throws ImageRejectedException if the image cannot possibly pass verification
+     */
+    public String prepare(String imageRef, ImageRequirements requirements, String correlationId)
+            throws ImageRejectedException, InterruptedException {
+        if (!BlobStore.isReference(imageRef)) {
+            return imageRef;
+        }
+
+        String cacheKey = imageRef + "|" + requirements.name();
+        String cached = prepared.get(cacheKey);
+        if (cached != null) {
+            // The downscaled copy may have been evicted from the blob store since
+            if (cached.equals(imageRef) || blobStore.resolve(cached).isPresent()) {
+                return cached;
+            }
+            prepared.remove(cacheKey, cached);
+        }
+
+        Future<String> task;
+        try {
+            task = workers.submit(() -> process(imageRef, requirements, correlationId));
+        } catch (RejectedExecutionException e) {
+            log.warn("[{}] Image pre-processing queue full, passing {} through unchecked", correlationId, imageRef);
+            return imageRef;
+        }
+
+        try {
+            String result = task.get(timeoutMs, TimeUnit.MILLISECONDS);
+            if (prepared.size() >= MAX_CACHED_RESULTS) {
+                prepared.clear();
+            }
+            prepared.put(cacheKey, result);
+            return result;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ImageRejectedException rejected) {
+                log.info("[{}] Image {} rejected before provider call: {}", correlationId, imageRef, rejected.getMessage());
+                throw rejected;
+            }
+            log.warn("[{}] Image pre-processing failed, passing {} through - Error: {}",
+                correlationId, imageRef, e.getCause().getMessage());
+            return imageRef;
+        } catch (TimeoutException e) {
+            task.cancel(true);
+            log.warn("[{}] Image pre-processing timed out, passing {} through", correlationId, imageRef);
+            return imageRef;
+        } catch (InterruptedException e) {
+            task.cancel(true);
+            throw e;
+        }
+    }
+
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private String process(String imageRef, ImageRequirements requirements, String correlationId)
+            throws ImageRejectedException, IOException {
+        Path file = blobStore.resolve(imageRef)
+            .orElseThrow(() -> new ImageRejectedException("Image not found: " + imageRef));
+
+        MappedByteBuffer header = blobStore.map(imageRef).orElseThrow();
+        String format = sniffFormat(header);
+        if (format == null) {
+            throw new ImageRejectedException("Unsupported or corrupt image format");
+        }
+
+        BufferedImage image;
+        try (ImageInputStream input = ImageIO.createImageInputStream(file.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new ImageRejectedException("Unsupported image format: " + format);
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+
+                if (Math.min(width, height) < requirements.minEdge()) {
+                    throw new ImageRejectedException(String.format(
+                        "Image resolution %dx%d below minimum %dpx", width, height, requirements.minEdge()));
+                }
+                if ((long) width * height > MAX_PIXELS) {
+                    throw new ImageRejectedException(String.format("Image resolution %dx%d too large", width, height));
+                }
+
+                // Decode huge images subsampled - they are downscaled below anyway
+                int subsampling = Math.max(1, Math.max(width, height) / (2 * requirements.maxEdge()));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                image = reader.read(0, param);
+            } catch (IOException e) {
+                throw new ImageRejectedException("Corrupt image: " + e.getMessage());
+            } finally {
+                reader.dispose();
+            }
+        }
+
+        double sharpness = sharpness(scaleToFit(image, SHARPNESS_SAMPLE_EDGE));
+        if (sharpness < requirements.minSharpness()) {
+            throw new ImageRejectedException(String.format("Image too blurry (sharpness %.1f)", sharpness));
+        }
+
+        int longEdge = Math.max(image.getWidth(), image.getHeight());
+        if (longEdge <= requirements.maxEdge()) {
+            return imageRef;
+        }
+
+        BufferedImage scaled = scaleToFit(image, requirements.maxEdge());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(scaled, "jpg", out);
+        String scaledRef = blobStore.put(new ByteArrayInputStream(out.toByteArray()));
+
+        log.info("[{}] Prepared {} image {}x{} -> {}x{} ({} bytes)", correlationId, requirements.name(),
+            image.getWidth(), image.getHeight(), scaled.getWidth(), scaled.getHeight(), out.size());
+        return scaledRef;
+    }
+
+    private static String sniffFormat(MappedByteBuffer header) {
+        if (header.remaining() >= 3
+                && (header.get(0) & 0xFF) == 0xFF && (header.get(1) & 0xFF) == 0xD8 && (header.get(2) & 0xFF) == 0xFF) {
+            return "jpeg";
+        }
+        if (header.remaining() >= 8
+                && (header.get(0) & 0xFF) == 0x89 && header.get(1) == 'P' && header.get(2) == 'N' && header.get(3) == 'G') {
+            return "png";
+        }
+        return null;
+    }
+
+    /**
+     * Scales down (never up) so the longer edge is at most {@code maxEdge}, flattening any alpha channel.
+     */
+    private static BufferedImage scaleToFit(BufferedImage image, int maxEdge) {
+        double scale = Math.min(1.0, (double) maxEdge / Math.max(image.getWidth(), image.getHeight()));
+        int width = Math.max(1, (int) Math.round(image.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * scale));
+
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    /**
+     * Variance of the Laplacian over the grayscale image - low values mean few edges, i.e. blur.
+     */
+    private static double sharpness(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        if (width < 3 || height < 3) {
+            return 0;
+        }
+
+        int[] gray = new int[width * height];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int rgb = image.getRGB(x, y);
+                gray[y * width + x] = (((rgb >> 16) & 0xFF) * 299 + ((rgb >> 8) & 0xFF) * 587 + (rgb & 0xFF) * 114) / 1000;
+            }
+        }
+
+        double sum = 0;
+        double sumSquares = 0;
+        int count = 0;
+        for (int y = 1; y < height - 1; y++) {
+            for (int x = 1; x < width - 1; x++) {
+                int i = y * width + x;
+                int laplacian = 4 * gray[i] - gray[i - 1] - gray[i + 1] - gray[i - width] - gray[i + width];
+                sum += laplacian;
+                sumSquares += (double) laplacian * laplacian;
+                count++;
+            }
+        }
+        double mean = sum / count;
+        return sumSquares / count - mean * mean;
+    }
+}
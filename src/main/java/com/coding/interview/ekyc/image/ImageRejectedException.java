@@ -0,0 +1,12 @@
+package com.coding.interview.ekyc.image;
+
+/**
+ * Thrown when an image is rejected locally because no provider could verify it
+ * (unsupported format, corrupt, too small or too blurry).
+ */
+public class ImageRejectedException extends Exception {
+
+    public ImageRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,13 @@
+package com.coding.interview.ekyc.image;
+
+/**
+ * What a provider can make use of: images with a shorter edge below {@code minEdge} or a
+ * sharpness score below {@code minSharpness} are rejected, and anything with a longer edge
+ * above {@code maxEdge} is downscaled to it before upload.
+ */
+public record ImageRequirements(String name, int minEdge, int maxEdge, double minSharpness) {
+
+    public static final ImageRequirements DOCUMENT = new ImageRequirements("document", 600, 2000, 15.0);
+    public static final ImageRequirements FACE = new ImageRequirements("face", 240, 1024, 10.0);
+    public static final ImageRequirements PROOF_OF_ADDRESS = new ImageRequirements("proof", 600, 2000, 0.0);
+}
@@ -0,0 +1,49 @@
+package com.coding.interview.ekyc.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.coding.interview.ekyc.DecisionEvaluation")
+@Label("Decision Evaluation")
+@Category({"eKYC"})
+@Description("One DecisionEngineService evaluation, final or early")
+@StackTrace(false)
+public class DecisionEvaluationEvent extends Event {
+
+    @Label("Correlation ID")
+    private String correlationId;
+
+    @Label("Early")
+    @Description("Evaluated while other checks were still pending")
+    private boolean early;
+
+    @Label("Results")
+    private int results;
+
+    @Label("Outcome")
+    @Description("The decision, or UNDECIDED when an early evaluation could not settle it")
+    private String outcome;
+
+
+    public static DecisionEvaluationEvent start() {
+        DecisionEvaluationEvent event = new DecisionEvaluationEvent();
+        event.begin();
+        return event;
+    }
+
+
+    public void finish(String correlationId, boolean early, int results, Object outcome) {
+        end();
+        if (shouldCommit()) {
+            this.correlationId = correlationId;
+            this.early = early;
+            this.results = results;
+            this.outcome = outcome != null ? outcome.toString() : "UNDECIDED";
+            commit();
+        }
+    }
+}
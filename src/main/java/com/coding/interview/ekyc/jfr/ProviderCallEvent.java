@@ -0,0 +1,48 @@
+package com.coding.interview.ekyc.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.coding.interview.ekyc.ProviderCall")
+@Label("Provider Call")
+@Category({"eKYC", "Provider"})
+@Description("One client verify call, including bulkhead and rate-limit waits, retries and hedging")
+@StackTrace(false)
+public class ProviderCallEvent extends Event {
+
+    @Label("Service")
+    private String serviceName;
+
+    @Label("Correlation ID")
+    private String correlationId;
+
+    @Label("Priority")
+    private String priority;
+
+    @Label("Outcome")
+    @Description("Verification status, or the exception type if the call threw")
+    private String outcome;
+
+
+    public static ProviderCallEvent start() {
+        ProviderCallEvent event = new ProviderCallEvent();
+        event.begin();
+        return event;
+    }
+
+
+    public void finish(String serviceName, String correlationId, Object priority, Object outcome) {
+        end();
+        if (shouldCommit()) {
+            this.serviceName = serviceName;
+            this.correlationId = correlationId;
+            this.priority = String.valueOf(priority);
+            this.outcome = String.valueOf(outcome);
+            commit();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.coding.interview.ekyc.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.coding.interview.ekyc.RateLimitWait")
+@Label("Rate Limit Wait")
+@Category({"eKYC", "Provider"})
+@Description("Time RateLimiter.acquire spent waiting for a provider quota permit")
+@StackTrace(false)
+public class RateLimitWaitEvent extends Event {
+
+    @Label("Service")
+    private String serviceName;
+
+    @Label("Priority")
+    private String priority;
+
+    @Label("Polls")
+    @Description("Failed permit attempts before the outcome")
+    private int polls;
+
+    @Label("Outcome")
+    @Description("ACQUIRED or INTERRUPTED")
+    private String outcome;
+
+
+    public static RateLimitWaitEvent start() {
+        RateLimitWaitEvent event = new RateLimitWaitEvent();
+        event.begin();
+        return event;
+    }
+
+
+    public void finish(String serviceName, Object priority, int polls, String outcome) {
+        end();
+        if (shouldCommit()) {
+            this.serviceName = serviceName;
+            this.priority = String.valueOf(priority);
+            this.polls = polls;
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.coding.interview.ekyc.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.coding.interview.ekyc.RetryAttempt")
+@Label("Retry Attempt")
+@Category({"eKYC", "Provider"})
+@Description("One attempt of an operation run by RetryHandler")
+@StackTrace(false)
+public class RetryAttemptEvent extends Event {
+
+    @Label("Service")
+    private String serviceName;
+
+    @Label("Correlation ID")
+    private String correlationId;
+
+    @Label("Attempt")
+    private int attempt;
+
+    @Label("Outcome")
+    @Description("SUCCESS, or the exception type of the failed attempt")
+    private String outcome;
+
+
+    public static RetryAttemptEvent start() {
+        RetryAttemptEvent event = new RetryAttemptEvent();
+        event.begin();
+        return event;
+    }
+
+
+    public void finish(String serviceName, String correlationId, int attempt, String outcome) {
+        end();
+        if (shouldCommit()) {
+            this.serviceName = serviceName;
+            this.correlationId = correlationId;
+            this.attempt = attempt;
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
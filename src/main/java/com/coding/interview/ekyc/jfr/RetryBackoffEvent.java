@@ -0,0 +1,54 @@
+package com.coding.interview.ekyc.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("com.coding.interview.ekyc.RetryBackoff")
+@Label("Retry Backoff")
+@Category({"eKYC", "Provider"})
+@Description("Sleep between two RetryHandler attempts")
+@StackTrace(false)
+public class RetryBackoffEvent extends Event {
+
+    @Label("Service")
+    private String serviceName;
+
+    @Label("Correlation ID")
+    private String correlationId;
+
+    @Label("After Attempt")
+    private int attempt;
+
+    @Label("Planned Backoff")
+    @Timespan(Timespan.MILLISECONDS)
+    private long backoff;
+
+    @Label("Outcome")
+    @Description("COMPLETED, or INTERRUPTED if the caller cancelled during the backoff")
+    private String outcome;
+
+
+    public static RetryBackoffEvent start() {
+        RetryBackoffEvent event = new RetryBackoffEvent();
+        event.begin();
+        return event;
+    }
+
+
+    public void finish(String serviceName, String correlationId, int attempt, long backoffMs, String outcome) {
+        end();
+        if (shouldCommit()) {
+            this.serviceName = serviceName;
+            this.correlationId = correlationId;
+            this.attempt = attempt;
+            this.backoff = backoffMs;
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
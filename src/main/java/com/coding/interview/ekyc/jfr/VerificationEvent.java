@@ -0,0 +1,52 @@
+package com.coding.interview.ekyc.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.coding.interview.ekyc.Verification")
+@Label("KYC Verification")
+@Category({"eKYC"})
+@Description("One verification from start to final decision")
+@StackTrace(false)
+public class VerificationEvent extends Event {
+
+    @Label("Correlation ID")
+    private String correlationId;
+
+    @Label("Customer ID")
+    private String customerId;
+
+    @Label("Priority")
+    private String priority;
+
+    @Label("Resumed")
+    @Description("Resumed from the journal after a restart")
+    private boolean resumed;
+
+    @Label("Outcome")
+    private String outcome;
+
+
+    public static VerificationEvent start() {
+        VerificationEvent event = new VerificationEvent();
+        event.begin();
+        return event;
+    }
+
+
+    public void finish(String correlationId, String customerId, Object priority, boolean resumed, Object outcome) {
+        end();
+        if (shouldCommit()) {
+            this.correlationId = correlationId;
+            this.customerId = customerId;
+            this.priority = String.valueOf(priority);
+            this.resumed = resumed;
+            this.outcome = String.valueOf(outcome);
+            commit();
+        }
+    }
+}
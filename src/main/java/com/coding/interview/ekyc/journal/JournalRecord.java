@@ -0,0 +1,38 @@
+package com.coding.interview.ekyc.journal;
+
+import com.coding.interview.ekyc.model.Customer;
+import com.coding.interview.ekyc.model.KYCDecision;
+import com.coding.interview.ekyc.model.VerificationRequest;
+import com.coding.interview.ekyc.model.VerificationResult;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * One state transition of a verification, as written to the journal.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record JournalRecord(
+    Type type,
+    String verificationId,
+    Customer customer,
+    VerificationRequest request,
+    VerificationResult result,
+    KYCDecision decision
+) {
+    public enum Type {
+        STARTED,
+        CHECK_COMPLETED,
+        FINISHED
+    }
+
+    static JournalRecord started(String verificationId, Customer customer, VerificationRequest request) {
+        return new JournalRecord(Type.STARTED, verificationId, customer, request, null, null);
+    }
+
+    static JournalRecord checkCompleted(String verificationId, VerificationResult result) {
+        return new JournalRecord(Type.CHECK_COMPLETED, verificationId, null, null, result, null);
+    }
+
+    static JournalRecord finished(String verificationId, KYCDecision decision) {
+        return new JournalRecord(Type.FINISHED, verificationId, null, null, null, decision);
+    }
+}
@@ -0,0 +1,18 @@
+package com.coding.interview.ekyc.journal;
+
+import com.coding.interview.ekyc.model.Customer;
+import com.coding.interview.ekyc.model.VerificationRequest;
+import com.coding.interview.ekyc.model.VerificationResult;
+
+import java.util.List;
+
+/**
+ * A verification found unfinished in the journal, with the checks it had already completed.
+ */
+public record PendingVerification(
+    String verificationId,
+    Customer customer,
+    VerificationRequest request,
+    List<VerificationResult> completedChecks
+) {
+}
@@ -0,0 +1,453 @@
+package com.coding.interview.ekyc.journal;
+
+import com.coding.interview.ekyc.model.Customer;
+import com.coding.interview.ekyc.model.KYCDecision;
+import com.coding.interview.ekyc.model.VerificationRequest;
+import com.coding.interview.ekyc.model.VerificationResult;
+import com.coding.interview.ekyc.model.VerificationType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only write-ahead log of verification state transitions, kept in fixed-size
+ * memory-mapped segment files. Each record is {@code [length][crc32][json]}; a zero length
+ * or a bad checksum marks the end of the valid log.
+ *
+ * <p>Appends return once the record is on disk. A single flusher thread forces the mapped
+ * segment, and every append written while one force is in progress is covered by the next,
+ * so concurrent verifications share fsyncs instead of paying one each (group commit).
+ *
+ * <p>On startup the log is replayed and verifications without a FINISHED record are handed
+ * out by {@link #takePending()} to be resumed. Segments holding only finished verifications
+ * are deleted as the log rolls over.
+ *
+ * <p>Records carry customer PII, so each JSON payload is sealed with AES-GCM under
+ * {@code ekyc.journal.key} (base64, 128 or 256 bit) before it is written. The journal is off
+ * unless enabled, and then needs both the key and an explicit {@code ekyc.journal.dir}.
+ */
+@Slf4j
+@Component
+@RegisterReflectionForBinding(JournalRecord.class)
+@RequiredArgsConstructor
+public class VerificationJournal {
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".wal";
+    private static final int HEADER_BYTES = 8;
+    private static final String CIPHER = "AES/GCM/NoPadding";
+    private static final int IV_BYTES = 12;
+    private static final int TAG_BITS = 128;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${ekyc.journal.enabled:false}")
+    private boolean enabled;
+
+    @Value("${ekyc.journal.dir:#{null}}")
+    private Path dir;
+
+    @Value("${ekyc.journal.key:}")
+    private String key;
+
+    @Value("${ekyc.journal.segment-bytes:16777216}")
+    private int segmentBytes;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition appended = lock.newCondition();
+    private final Condition flushed = lock.newCondition();
+    private final TreeSet<Long> segmentIds = new TreeSet<>();
+    // verificationId -> segment holding its STARTED record
+    private final Map<String, Long> unfinished = new HashMap<>();
+    private final Map<String, PendingVerification> pending = new LinkedHashMap<>();
+    private SecretKeySpec secretKey;
+    private Segment current;
+    private long appendedSeq;
+    private long durableSeq;
+    private volatile boolean running;
+    private Thread flusher;
+
+
+    @PostConstruct
+    public void open() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        if (dir == null || key == null || key.isBlank()) {
+            throw new IllegalStateException("The verification journal needs ekyc.journal.dir and ekyc.journal.key");
+        }
+        secretKey = new SecretKeySpec(Base64.getDecoder().decode(key.strip()), "AES");
+        Files.createDirectories(dir);
+        try (Stream<Path> files = Files.list(dir)) {
+            files.map(file -> file.getFileName().toString())
+                .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                .map(name -> Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())))
+                .forEach(segmentIds::add);
+        }
+
+        Map<String, Replay> replays = new LinkedHashMap<>();
+        int end = 0;
+        for (long id : segmentIds) {
+            end = replay(id, replays);
+        }
+
+        if (segmentIds.isEmpty()) {
+            current = Segment.create(segmentPath(1), 1, segmentBytes);
+            segmentIds.add(1L);
+        } else {
+            current = Segment.open(segmentPath(segmentIds.last()), segmentIds.last(), segmentBytes, end);
+        }
+
+        replays.forEach((id, replay) -> {
+            unfinished.put(id, replay.segmentId);
+            pending.put(id, new PendingVerification(id, replay.customer, replay.request,
+                new ArrayList<>(replay.results.values())));
+        });
+        deleteObsoleteSegments();
+
+        running = true;
+        flusher = Thread.ofPlatform().name("ekyc-journal-flusher").daemon().start(this::flushLoop);
+        log.info("Verification journal at {} opened ({} segments, {} unfinished verifications)",
+            dir, segmentIds.size(), pending.size());
+    }
+
+
+    /**
+     * Returns the verifications left unfinished by the previous run, once.
+     */
+    public List<PendingVerification> takePending() {
+        lock.lock();
+        try {
+            List<PendingVerification> taken = new ArrayList<>(pending.values());
+            pending.clear();
+            return taken;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+
+    public void started(String verificationId, Customer customer, VerificationRequest request) {
+        append(JournalRecord.started(verificationId, customer, request));
+    }
+
+
+    public void checkCompleted(String verificationId, VerificationResult result) {
+        append(JournalRecord.checkCompleted(verificationId, result));
+    }
+
+
+    public void finished(String verificationId, KYCDecision decision) {
+        append(JournalRecord.finished(verificationId, decision));
+    }
+
+
+    @PreDestroy
+    public void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        lock.lock();
+        try {
+            appended.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        lock.lock();
+        try {
+            current.force();
+            durableSeq = appendedSeq;
+            flushed.signalAll();
+            current.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Journal failures are logged rather than thrown: the verification itself can still
+     * complete, it just would not survive a restart.
+     */
+    private void append(JournalRecord record) {
+        if (!running) {
+            return;
+        }
+
+        byte[] payload;
+        try {
+            payload = encrypt(objectMapper.writeValueAsBytes(record));
+        } catch (IOException | GeneralSecurityException e) {
+            log.error("[{}] Could not serialize journal record {}", record.verificationId(), record.type(), e);
+            return;
+        }
+
+        lock.lock();
+        try {
+            if (HEADER_BYTES + payload.length > current.remaining()) {
+                roll();
+            }
+            if (HEADER_BYTES + payload.length > current.remaining()) {
+                log.error("[{}] Journal record of {} bytes does not fit a segment", record.verificationId(), payload.length);
+                return;
+            }
+
+            current.write(payload);
+            if (record.type() == JournalRecord.Type.STARTED) {
+                unfinished.putIfAbsent(record.verificationId(), current.id);
+            } else if (record.type() == JournalRecord.Type.FINISHED) {
+                unfinished.remove(record.verificationId());
+            }
+
+            long seq = ++appendedSeq;
+            appended.signal();
+            while (durableSeq < seq && running) {
+                flushed.awaitUninterruptibly();
+            }
+        } catch (IOException | UncheckedIOException e) {
+            log.error("[{}] Could not append journal record {}", record.verificationId(), record.type(), e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void flushLoop() {
+        while (true) {
+            Segment segment;
+            long target;
+            lock.lock();
+            try {
+                while (running && durableSeq >= appendedSeq) {
+                    appended.awaitUninterruptibly();
+                }
+                if (!running) {
+                    return;
+                }
+                segment = current;
+                target = appendedSeq;
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                segment.force();
+            } catch (UncheckedIOException e) {
+                log.error("Journal fsync failed", e);
+            }
+
+            lock.lock();
+            try {
+                durableSeq = Math.max(durableSeq, target);
+                flushed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Moves to a new segment. Called with the lock held, so the full segment is forced here
+     * and everything appended so far becomes durable.
+     */
+    private void roll() throws IOException {
+        current.force();
+        current.close();
+        durableSeq = appendedSeq;
+        flushed.signalAll();
+
+        long nextId = current.id + 1;
+        current = Segment.create(segmentPath(nextId), nextId, segmentBytes);
+        segmentIds.add(nextId);
+        deleteObsoleteSegments();
+    }
+
+    private void deleteObsoleteSegments() throws IOException {
+        long oldestNeeded = unfinished.values().stream().mapToLong(Long::longValue).min().orElse(current.id);
+        while (!segmentIds.isEmpty() && segmentIds.first() < Math.min(oldestNeeded, current.id)) {
+            Files.deleteIfExists(segmentPath(segmentIds.pollFirst()));
+        }
+    }
+
+    /**
+     * Replays one segment into {@code replays} and returns the offset where its valid records end.
+     */
+    private int replay(long segmentId, Map<String, Replay> replays) throws IOException {
+        try (FileChannel channel = FileChannel.open(segmentPath(segmentId), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            int position = 0;
+            while (position + HEADER_BYTES <= buffer.limit()) {
+                int length = buffer.getInt(position);
+                if (length <= 0 || position + HEADER_BYTES + length > buffer.limit()) {
+                    break;
+                }
+                byte[] payload = new byte[length];
+                buffer.get(position + HEADER_BYTES, payload);
+                if (checksum(payload) != buffer.getInt(position + 4)) {
+                    log.warn("Journal segment {} has a torn record at offset {}, ignoring the rest", segmentId, position);
+                    break;
+                }
+                apply(objectMapper.readValue(decrypt(payload, segmentId), JournalRecord.class), segmentId, replays);
+                position += HEADER_BYTES + length;
+            }
+            return position;
+        }
+    }
+
+    private static void apply(JournalRecord record, long segmentId, Map<String, Replay> replays) {
+        switch (record.type()) {
+            case STARTED -> replays.put(record.verificationId(),
+                new Replay(segmentId, record.customer(), record.request()));
+            case CHECK_COMPLETED -> {
+                Replay replay = replays.get(record.verificationId());
+                if (replay != null) {
+                    replay.results.put(record.result().verificationType(), record.result());
+                }
+            }
+            case FINISHED -> replays.remove(record.verificationId());
+        }
+    }
+
+    /** {@code [iv][ciphertext + tag]} */
+    private byte[] encrypt(byte[] plaintext) throws GeneralSecurityException {
+        byte[] iv = new byte[IV_BYTES];
+        RANDOM.nextBytes(iv);
+        Cipher cipher = Cipher.getInstance(CIPHER);
+        cipher.init(Cipher.ENCRYPT_MODE, secretKey, new GCMParameterSpec(TAG_BITS, iv));
+        byte[] sealed = new byte[IV_BYTES + cipher.getOutputSize(plaintext.length)];
+        System.arraycopy(iv, 0, sealed, 0, IV_BYTES);
+        cipher.doFinal(plaintext, 0, plaintext.length, sealed, IV_BYTES);
+        return sealed;
+    }
+
+    private byte[] decrypt(byte[] sealed, long segmentId) throws IOException {
+        try {
+            Cipher cipher = Cipher.getInstance(CIPHER);
+            cipher.init(Cipher.DECRYPT_MODE, secretKey, new GCMParameterSpec(TAG_BITS, sealed, 0, IV_BYTES));
+            return cipher.doFinal(sealed, IV_BYTES, sealed.length - IV_BYTES);
+        } catch (GeneralSecurityException e) {
+            throw new IOException("Journal segment " + segmentId + " cannot be decrypted with ekyc.journal.key", e);
+        }
+    }
+
+    private Path segmentPath(long id) {
+        return dir.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, id, SEGMENT_SUFFIX));
+    }
+
+    private static int checksum(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+
+    private static final class Replay {
+        private final long segmentId;
+        private final Customer customer;
+        private final VerificationRequest request;
+        private final Map<VerificationType, VerificationResult> results = new EnumMap<>(VerificationType.class);
+
+        Replay(long segmentId, Customer customer, VerificationRequest request) {
+            this.segmentId = segmentId;
+            this.customer = customer;
+            this.request = request;
+        }
+    }
+
+
+    private static final class Segment {
+        private final long id;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private int position;
+
+        private Segment(long id, FileChannel channel, MappedByteBuffer buffer, int position) {
+            this.id = id;
+            this.channel = channel;
+            this.buffer = buffer;
+            this.position = position;
+        }
+
+        static Segment create(Path path, long id, int size) throws IOException {
+            return open(path, id, size, 0);
+        }
+
+        static Segment open(Path path, long id, int size, int position) throws IOException {
+            FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(size, channel.size()));
+            // Clear whatever a torn write left behind, so it cannot be mistaken for a record later
+            for (int i = position; i < buffer.limit() && i < position + HEADER_BYTES; i++) {
+                if (buffer.get(i) != 0) {
+                    for (int j = position; j < buffer.limit(); j++) {
+                        buffer.put(j, (byte) 0);
+                    }
+                    break;
+                }
+            }
+            return new Segment(id, channel, buffer, position);
+        }
+
+        int remaining() {
+            return buffer.limit() - position;
+        }
+
+        /**
+         * Writes the payload and checksum before the length, so a partly written record reads
+         * as the end of the log.
+         */
+        void write(byte[] payload) {
+            buffer.put(position + HEADER_BYTES, payload);
+            buffer.putInt(position + 4, checksum(payload));
+            buffer.putInt(position, payload.length);
+            position += HEADER_BYTES + payload.length;
+        }
+
+        void force() {
+            buffer.force();
+        }
+
+        void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
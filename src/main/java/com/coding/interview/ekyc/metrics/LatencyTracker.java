@@ -0,0 +1,68 @@
+package com.coding.interview.ekyc.metrics;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps a rolling window of the most recent successful call latencies per service
+ * and answers percentile queries over it.
+ */
+@Component
+public class LatencyTracker {
+    private static final int WINDOW_SIZE = 256;
+
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+
+    public void record(String serviceName, Duration latency) {
+        windows.computeIfAbsent(serviceName, k -> new Window()).add(latency.toNanos());
+    }
+
+
+    /**
+     * Returns the given percentile (0-1) of the recorded latencies, or empty while fewer than
+     * {@code minSamples} calls have been observed for the service.
+     */
+    public Optional<Duration> percentile(String serviceName, double percentile, int minSamples) {
+        Window window = windows.get(serviceName);
+        if (window == null) {
+            return Optional.empty();
+        }
+
+        long[] samples = window.snapshot();
+        if (samples.length < minSamples || samples.length == 0) {
+            return Optional.empty();
+        }
+
+        Arrays.sort(samples);
+        int index = (int) Math.ceil(percentile * samples.length) - 1;
+        return Optional.of(Duration.ofNanos(samples[Math.max(0, Math.min(index, samples.length - 1))]));
+    }
+
+
+    public void reset(String serviceName) {
+        windows.remove(serviceName);
+    }
+
+
+    private static final class Window {
+        private final long[] samples = new long[WINDOW_SIZE];
+        private int count;
+        private int next;
+
+        synchronized void add(long nanos) {
+            samples[next] = nanos;
+            next = (next + 1) % WINDOW_SIZE;
+            count = Math.min(count + 1, WINDOW_SIZE);
+        }
+
+        synchronized long[] snapshot() {
+            return Arrays.copyOf(samples, count);
+        }
+    }
+}
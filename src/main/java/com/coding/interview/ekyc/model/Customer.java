@@ -19,5 +19,12 @@ public class Customer {
     private String phone;
     private String address;
     private String nationality;
+    // Customer whose verified documents this account may reuse, set by the onboarding system
+    private String linkedCustomerId;
+
+    /** Whose earlier verified results this customer may be answered from. */
+    public String verificationScope() {
+        return linkedCustomerId != null ? linkedCustomerId : customerId;
+    }
 }
 
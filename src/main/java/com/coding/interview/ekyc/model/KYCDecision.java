@@ -3,6 +3,8 @@ package com.coding.interview.ekyc.model;
 public enum KYCDecision {
     APPROVED,
     REJECTED,
-    MANUAL_REVIEW
+    MANUAL_REVIEW,
+    // Not verified: shed at admission, retry after KYCDecisionResult.retryAfter
+    DEFERRED
 }
 
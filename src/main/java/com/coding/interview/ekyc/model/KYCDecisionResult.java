@@ -1,22 +1,22 @@
 package com.coding.interview.ekyc.model;
 
-import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 
-@Data
 @Builder
-@NoArgsConstructor
-@AllArgsConstructor
-public class KYCDecisionResult {
-    private KYCDecision decision;
-    private List<VerificationResult> verificationResults;
-    private Instant timestamp;
-    private String requestId;
-    private String customerId;
+public record KYCDecisionResult(
+    KYCDecision decision,
+    List<VerificationResult> verificationResults,
+    Instant timestamp,
+    String requestId,
+    String customerId,
+    // Set for DEFERRED decisions
+    Duration retryAfter
+) {
+    public KYCDecisionResult {
+        verificationResults = verificationResults == null ? List.of() : List.copyOf(verificationResults);
+    }
 }
-
@@ -0,0 +1,104 @@
+package com.coding.interview.ekyc.model;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reason lists for {@link VerificationResult}. Results without reasons share {@link #NONE},
+ * and provider reasons are interned as they are parsed, since providers answer from a small
+ * fixed vocabulary and the same strings would otherwise be held once per result.
+ */
+public final class Reasons {
+    public static final List<String> NONE = List.of();
+
+    public static final List<String> CANCELLED = List.of("Verification cancelled");
+    public static final List<String> SANCTIONS_UNAVAILABLE = List.of("Sanctions service unavailable");
+    public static final List<String> DEADLINE_EXCEEDED = List.of("Verification deadline exceeded");
+
+    // Prefixes for reasons that carry request-specific detail, see withDetail
+    public static final String SERVICE_UNAVAILABLE = "Service unavailable";
+    public static final String IMAGE_REJECTED = "Image rejected";
+    public static final String VERIFICATION_ERROR = "Verification error";
+
+    // Bounds the pool if a provider starts embedding request data in its reasons
+    private static final int MAX_INTERNED = 4096;
+    private static final Map<String, String> INTERNED = new ConcurrentHashMap<>();
+
+    private Reasons() {
+    }
+
+
+    /**
+     * A locally generated reason with request-specific detail, e.g. an error message. These
+     * are not interned.
+     */
+    public static List<String> withDetail(String reason, String detail) {
+        return List.of(reason + ": " + detail);
+    }
+
+    private static String intern(String reason) {
+        String existing = INTERNED.get(reason);
+        if (existing != null) {
+            return existing;
+        }
+        if (INTERNED.size() >= MAX_INTERNED) {
+            return reason;
+        }
+        existing = INTERNED.putIfAbsent(reason, reason);
+        return existing != null ? existing : reason;
+    }
+
+
+    /**
+     * Reads a JSON array of reasons straight into an immutable list of interned strings,
+     * without the intermediate ArrayList Jackson would build. Null and empty arrays give
+     * {@link #NONE}.
+     */
+    public static final class Deserializer extends StdDeserializer<List<String>> {
+
+        public Deserializer() {
+            super(List.class);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public List<String> deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            if (!parser.isExpectedStartArrayToken()) {
+                return (List<String>) context.handleUnexpectedToken(List.class, parser);
+            }
+
+            // Providers rarely give more than two, and List.of(e1, e2) needs no backing array
+            String[] reasons = new String[2];
+            int count = 0;
+            for (JsonToken token = parser.nextToken(); token != JsonToken.END_ARRAY; token = parser.nextToken()) {
+                if (token == JsonToken.VALUE_NULL) {
+                    continue;
+                }
+                if (count == reasons.length) {
+                    reasons = Arrays.copyOf(reasons, count * 2);
+                }
+                reasons[count++] = intern(parser.getText());
+            }
+
+            return switch (count) {
+                case 0 -> NONE;
+                case 1 -> List.of(reasons[0]);
+                case 2 -> List.of(reasons[0], reasons[1]);
+                default -> List.of(Arrays.copyOf(reasons, count));
+            };
+        }
+
+        @Override
+        public List<String> getNullValue(DeserializationContext context) {
+            return NONE;
+        }
+    }
+}
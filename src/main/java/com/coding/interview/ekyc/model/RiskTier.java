@@ -0,0 +1,11 @@
+package com.coding.interview.ekyc.model;
+
+/**
+ * Risk tier of the product a customer is onboarding for, lowest first. Decides which checks
+ * a verification plan includes.
+ */
+public enum RiskTier {
+    LOW,
+    STANDARD,
+    HIGH
+}
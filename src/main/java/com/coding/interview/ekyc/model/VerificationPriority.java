@@ -0,0 +1,10 @@
+package com.coding.interview.ekyc.model;
+
+/**
+ * Scheduling class of a verification, highest priority first.
+ */
+public enum VerificationPriority {
+    INTERACTIVE,
+    REVERIFICATION,
+    BATCH
+}
@@ -15,8 +15,15 @@ import java.util.List;
 public class VerificationRequest {
     private String requestId;
     private String customerId;
+    // Fixes the checks to run; when empty they are planned from the customer's risk
     private List<VerificationType> verificationTypes;
     private Instant timestamp;
+    @Builder.Default
+    private VerificationPriority priority = VerificationPriority.INTERACTIVE;
+    @Builder.Default
+    private RiskTier productRiskTier = RiskTier.STANDARD;
+    // Time by which the caller needs the decision; the configured default timeout when null
+    private Instant deadline;
 
     // Document verification fields
     private String documentType;
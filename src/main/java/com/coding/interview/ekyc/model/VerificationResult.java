@@ -1,24 +1,108 @@
 package com.coding.interview.ekyc.model;
 
-import lombok.AllArgsConstructor;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
 import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
 
+import java.io.IOException;
 import java.time.Instant;
 import java.util.List;
 
-@Data
-@Builder
-@NoArgsConstructor
-@AllArgsConstructor
-public class VerificationResult {
-    private VerificationType verificationType;
-    private VerificationStatus status;
-    private Integer confidence;
-    private List<String> reasons;
-    private Instant timestamp;
-    private Double similarityScore; // For biometric
-    private Integer matchCount;     // For sanctions
-}
+/**
+ * Outcome of one verification check. Scores are primitives; a score the provider did not give
+ * is {@link #NO_CONFIDENCE} / {@link #NO_SIMILARITY_SCORE} / {@link #NO_MATCH_COUNT}, and is
+ * written to JSON as null, as before.
+ */
+@Builder(toBuilder = true)
+public record VerificationResult(
+    VerificationType verificationType,
+    VerificationStatus status,
+    @JsonSerialize(using = AbsentCountSerializer.class)
+    int confidence,
+    List<String> reasons,
+    Instant timestamp,
+    @JsonSerialize(using = AbsentScoreSerializer.class)
+    double similarityScore, // For biometric
+    @JsonSerialize(using = AbsentCountSerializer.class)
+    int matchCount          // For sanctions
+) {
+    public static final int NO_CONFIDENCE = -1;
+    public static final double NO_SIMILARITY_SCORE = Double.NaN;
+    public static final int NO_MATCH_COUNT = -1;
+
+    public VerificationResult {
+        reasons = reasons == null || reasons.isEmpty() ? Reasons.NONE : List.copyOf(reasons);
+    }
+
+    @JsonCreator
+    static VerificationResult fromJson(
+            @JsonProperty("verificationType") VerificationType verificationType,
+            @JsonProperty("status") VerificationStatus status,
+            @JsonProperty("confidence") Integer confidence,
+            @JsonProperty("reasons") @JsonDeserialize(using = Reasons.Deserializer.class) List<String> reasons,
+            @JsonProperty("timestamp") Instant timestamp,
+            @JsonProperty("similarityScore") Double similarityScore,
+            @JsonProperty("matchCount") Integer matchCount
+    ) {
+        return new VerificationResult(verificationType, status,
+            confidence != null ? confidence : NO_CONFIDENCE, reasons, timestamp,
+            similarityScore != null ? similarityScore : NO_SIMILARITY_SCORE,
+            matchCount != null ? matchCount : NO_MATCH_COUNT);
+    }
+
+    public boolean hasConfidence() {
+        return confidence != NO_CONFIDENCE;
+    }
+
+    public boolean hasSimilarityScore() {
+        return !Double.isNaN(similarityScore);
+    }
+
+    public boolean hasMatchCount() {
+        return matchCount != NO_MATCH_COUNT;
+    }
+
+    public static class VerificationResultBuilder {
+        private int confidence = NO_CONFIDENCE;
+        private double similarityScore = NO_SIMILARITY_SCORE;
+        private int matchCount = NO_MATCH_COUNT;
+    }
 
+
+    static final class AbsentScoreSerializer extends StdSerializer<Double> {
+        AbsentScoreSerializer() {
+            super(Double.class);
+        }
+
+        @Override
+        public void serialize(Double value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            if (value.isNaN()) {
+                generator.writeNull();
+            } else {
+                generator.writeNumber(value);
+            }
+        }
+    }
+
+
+    /** Writes {@link #NO_CONFIDENCE} and {@link #NO_MATCH_COUNT}, both -1, as null. */
+    static final class AbsentCountSerializer extends StdSerializer<Integer> {
+        AbsentCountSerializer() {
+            super(Integer.class);
+        }
+
+        @Override
+        public void serialize(Integer value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            if (value == NO_MATCH_COUNT) {
+                generator.writeNull();
+            } else {
+                generator.writeNumber(value);
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.coding.interview.ekyc.plan;
+
+import com.coding.interview.ekyc.model.VerificationResult;
+import com.coding.interview.ekyc.model.VerificationStatus;
+import com.coding.interview.ekyc.model.VerificationType;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * One check of a {@link VerificationPlan}: it starts once the checks it depends on have completed.
+ * A step-up check additionally only runs when one of those checks did not pass with at least
+ * {@code stepUpBelowConfidence}; a convincing pass makes it unnecessary.
+ */
+public record PlanStep(VerificationType type, Set<VerificationType> dependsOn, int stepUpBelowConfidence) {
+    public static final int NOT_STEP_UP = -1;
+
+    public PlanStep {
+        dependsOn = dependsOn.isEmpty() ? Set.of() : Collections.unmodifiableSet(EnumSet.copyOf(dependsOn));
+    }
+
+    public static PlanStep always(VerificationType type, VerificationType... dependsOn) {
+        return new PlanStep(type, Set.of(dependsOn), NOT_STEP_UP);
+    }
+
+    public static PlanStep stepUp(VerificationType type, int belowConfidence, VerificationType... dependsOn) {
+        return new PlanStep(type, Set.of(dependsOn), belowConfidence);
+    }
+
+    public boolean isStepUp() {
+        return stepUpBelowConfidence != NOT_STEP_UP;
+    }
+
+    /**
+     * Whether the step still has to run given its completed dependencies. Sanctions screening
+     * has no confidence to step up from and is not considered.
+     */
+    public boolean stepUpNeeded(Map<VerificationType, VerificationResult> completed) {
+        if (!isStepUp()) {
+            return true;
+        }
+        for (VerificationType dependency : dependsOn) {
+            if (dependency == VerificationType.SANCTIONS) {
+                continue;
+            }
+            VerificationResult result = completed.get(dependency);
+            // A pass without a confidence is not known to be conclusive
+            if (result == null || result.status() != VerificationStatus.PASS
+                    || result.confidence() < stepUpBelowConfidence) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder(type.name());
+        if (!dependsOn.isEmpty()) {
+            text.append(" after ").append(dependsOn);
+        }
+        if (isStepUp()) {
+            text.append(" if confidence < ").append(stepUpBelowConfidence).append('%');
+        }
+        return text.toString();
+    }
+}
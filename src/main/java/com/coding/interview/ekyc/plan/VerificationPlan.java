@@ -0,0 +1,53 @@
+package com.coding.interview.ekyc.plan;
+
+import com.coding.interview.ekyc.model.RiskTier;
+import com.coding.interview.ekyc.model.VerificationType;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The checks of one verification as a dependency graph. Checks whose dependencies have completed
+ * run concurrently; {@link PlanStep#isStepUp() step-up} checks are skipped when the checks they
+ * depend on were conclusive.
+ */
+public record VerificationPlan(RiskTier tier, Map<VerificationType, PlanStep> steps) {
+
+    public VerificationPlan {
+        Map<VerificationType, PlanStep> copy = new EnumMap<>(VerificationType.class);
+        copy.putAll(steps);
+        steps = Collections.unmodifiableMap(copy);
+    }
+
+    public static VerificationPlan of(RiskTier tier, PlanStep... steps) {
+        Map<VerificationType, PlanStep> byType = new EnumMap<>(VerificationType.class);
+        for (PlanStep step : steps) {
+            byType.put(step.type(), step);
+        }
+        for (PlanStep step : steps) {
+            if (!byType.keySet().containsAll(step.dependsOn())) {
+                throw new IllegalArgumentException("Plan step " + step + " depends on a check outside the plan");
+            }
+        }
+        return new VerificationPlan(tier, byType);
+    }
+
+    public boolean includes(VerificationType type) {
+        return steps.containsKey(type);
+    }
+
+    public PlanStep step(VerificationType type) {
+        return steps.get(type);
+    }
+
+    public Set<VerificationType> checks() {
+        return steps.keySet();
+    }
+
+    @Override
+    public String toString() {
+        return tier + " " + steps.values();
+    }
+}
@@ -0,0 +1,113 @@
+package com.coding.interview.ekyc.plan;
+
+import com.coding.interview.ekyc.model.Customer;
+import com.coding.interview.ekyc.model.RiskTier;
+import com.coding.interview.ekyc.model.VerificationRequest;
+import com.coding.interview.ekyc.model.VerificationType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import static com.coding.interview.ekyc.model.VerificationType.ADDRESS;
+import static com.coding.interview.ekyc.model.VerificationType.FACE_MATCH;
+import static com.coding.interview.ekyc.model.VerificationType.ID_DOCUMENT;
+import static com.coding.interview.ekyc.model.VerificationType.SANCTIONS;
+
+/**
+ * Builds the verification plan for a customer from their risk: the product's risk tier, raised to
+ * HIGH for high-risk nationalities, and from LOW to STANDARD for young customers or an unknown
+ * date of birth.
+ *
+ * <ul>
+ *   <li>LOW - sanctions, then the document; face match only as a step-up when the document is not
+ *       a strong pass. No address check.</li>
+ *   <li>STANDARD - sanctions, then document and address in parallel; face match as a step-up.</li>
+ *   <li>HIGH - sanctions, then document, face match and address in parallel.</li>
+ * </ul>
+ *
+ * <p>A request that lists {@code verificationTypes} gets exactly those checks, all after sanctions.
+ */
+@Slf4j
+@Component
+public class VerificationPlanCompiler {
+
+    @Value("${ekyc.plan.high-risk-nationalities:}")
+    private Set<String> highRiskNationalities = Set.of();
+
+    @Value("${ekyc.plan.min-established-age:25}")
+    private int minEstablishedAge = 25;
+
+    @Value("${ekyc.plan.step-up.low-tier-below:90}")
+    private int lowTierStepUpBelow = 90;
+
+    @Value("${ekyc.plan.step-up.standard-tier-below:95}")
+    private int standardTierStepUpBelow = 95;
+
+    private Clock clock = Clock.systemUTC();
+
+
+    public VerificationPlan compile(Customer customer, VerificationRequest request, String correlationId) {
+        RiskTier tier = assessTier(customer, request);
+        List<VerificationType> requestedTypes = request.getVerificationTypes();
+
+        VerificationPlan plan;
+        if (requestedTypes != null && !requestedTypes.isEmpty()) {
+            plan = fixedPlan(tier, requestedTypes);
+        } else {
+            plan = switch (tier) {
+                case LOW -> VerificationPlan.of(tier,
+                    PlanStep.always(SANCTIONS),
+                    PlanStep.always(ID_DOCUMENT, SANCTIONS),
+                    PlanStep.stepUp(FACE_MATCH, lowTierStepUpBelow, ID_DOCUMENT));
+                case STANDARD -> VerificationPlan.of(tier,
+                    PlanStep.always(SANCTIONS),
+                    PlanStep.always(ID_DOCUMENT, SANCTIONS),
+                    PlanStep.always(ADDRESS, SANCTIONS),
+                    PlanStep.stepUp(FACE_MATCH, standardTierStepUpBelow, ID_DOCUMENT));
+                case HIGH -> VerificationPlan.of(tier,
+                    PlanStep.always(SANCTIONS),
+                    PlanStep.always(ID_DOCUMENT, SANCTIONS),
+                    PlanStep.always(FACE_MATCH, SANCTIONS),
+                    PlanStep.always(ADDRESS, SANCTIONS));
+            };
+        }
+
+        log.info("[{}] Verification plan for customer: {} - {}", correlationId, customer.getCustomerId(), plan);
+        return plan;
+    }
+
+    private RiskTier assessTier(Customer customer, VerificationRequest request) {
+        RiskTier tier = request.getProductRiskTier() != null ? request.getProductRiskTier() : RiskTier.STANDARD;
+
+        String nationality = customer.getNationality();
+        if (nationality != null && highRiskNationalities.contains(nationality.trim().toUpperCase(Locale.ROOT))) {
+            return RiskTier.HIGH;
+        }
+        if (tier == RiskTier.LOW && !isEstablishedAge(customer.getDateOfBirth())) {
+            return RiskTier.STANDARD;
+        }
+        return tier;
+    }
+
+    private boolean isEstablishedAge(LocalDate dateOfBirth) {
+        return dateOfBirth != null
+            && Period.between(dateOfBirth, LocalDate.now(clock)).getYears() >= minEstablishedAge;
+    }
+
+    private static VerificationPlan fixedPlan(RiskTier tier, List<VerificationType> types) {
+        boolean sanctions = types.contains(SANCTIONS);
+        List<PlanStep> steps = new ArrayList<>();
+        for (VerificationType type : Set.copyOf(types)) {
+            steps.add(type == SANCTIONS || !sanctions ? PlanStep.always(type) : PlanStep.always(type, SANCTIONS));
+        }
+        return VerificationPlan.of(tier, steps.toArray(PlanStep[]::new));
+    }
+}
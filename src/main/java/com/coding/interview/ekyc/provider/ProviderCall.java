@@ -0,0 +1,16 @@
+package com.coding.interview.ekyc.provider;
+
+import com.coding.interview.ekyc.admission.Deadline;
+import com.coding.interview.ekyc.model.Customer;
+import com.coding.interview.ekyc.model.VerificationPriority;
+import com.coding.interview.ekyc.model.VerificationRequest;
+
+/**
+ * One verification of a customer by one provider.
+ */
+public record ProviderCall(Customer customer, VerificationRequest request, Deadline deadline, String correlationId) {
+
+    public VerificationPriority priority() {
+        return request.getPriority();
+    }
+}
@@ -0,0 +1,293 @@
+package com.coding.interview.ekyc.provider;
+
+import com.coding.interview.ekyc.admission.Deadline;
+import com.coding.interview.ekyc.blob.BlobReferenceResolver;
+import com.coding.interview.ekyc.bulkhead.Bulkhead;
+import com.coding.interview.ekyc.bulkhead.BulkheadRegistry;
+import com.coding.interview.ekyc.client.HttpClientWrapper;
+import com.coding.interview.ekyc.hedge.HedgedRequestExecutor;
+import com.coding.interview.ekyc.image.ImageRejectedException;
+import com.coding.interview.ekyc.jfr.ProviderCallEvent;
+import com.coding.interview.ekyc.model.Reasons;
+import com.coding.interview.ekyc.model.VerificationResult;
+import com.coding.interview.ekyc.model.VerificationStatus;
+import com.coding.interview.ekyc.model.VerificationType;
+import com.coding.interview.ekyc.ratelimit.RateLimitExceededException;
+import com.coding.interview.ekyc.ratelimit.RateLimiter;
+import com.coding.interview.ekyc.retry.RetryHandler;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Calls a {@link VerificationProvider}. In order:
+ * <ol>
+ *   <li>a cached result answers the call</li>
+ *   <li>a concurrent call with the same identity - the same request payload - is waited for and its
+ *   answer shared</li>
+ *   <li>local preparation, which may reject the call</li>
+ *   <li>a rate-limit permit, bounded by the deadline</li>
+ *   <li>the HTTP exchange, retried and optionally hedged per {@link ProviderPolicy}, inside the
+ *   provider's bulkhead</li>
+ * </ol>
+ * Never throws: cancellation, the deadline, rejected images and provider failures all come
+ * back as FAIL results, with an {@link Outcome} telling {@link ProviderRouter} whether another
+ * vendor could still answer. Every call is recorded as a {@link ProviderCallEvent}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProviderExecutor {
+    private final HttpClientWrapper httpClient;
+    private final RateLimiter rateLimiter;
+    private final RetryHandler retryHandler;
+    private final BulkheadRegistry bulkheads;
+    private final BlobReferenceResolver blobResolver;
+    private final HedgedRequestExecutor hedgedExecutor;
+    private final ProviderPolicies policies;
+
+    // service|identity -> answer of the provider call in flight for it, null if it got none
+    private final Map<String, CompletableFuture<VerificationResult>> inFlight = new ConcurrentHashMap<>();
+
+
+    public enum Outcome {
+        /** The provider answered, possibly from the cache or through a concurrent identical call. */
+        ANSWERED,
+        /** No permit was free and the call was not allowed to wait for one. */
+        THROTTLED,
+        /** The provider could not be reached or failed. */
+        UNAVAILABLE,
+        /** Cancelled, out of time or rejected locally - another vendor would not do better. */
+        STOPPED
+    }
+
+
+    public record Attempt(VerificationResult result, Outcome outcome) {
+    }
+
+
+    public <Q, R> VerificationResult execute(VerificationProvider<Q, R> provider, ProviderCall call) {
+        return attempt(provider, call, true).result();
+    }
+
+
+    /**
+     * Calls the provider. Without {@code waitForPermit} the call is THROTTLED instead of queueing
+     * when the provider's quota has no permit free.
+     */
+    public <Q, R> Attempt attempt(VerificationProvider<Q, R> provider, ProviderCall call, boolean waitForPermit) {
+        ProviderCallEvent event = ProviderCallEvent.start();
+        Attempt attempt = cachedOrCoalesced(provider, call, waitForPermit);
+        event.finish(provider.serviceName(), call.correlationId(), call.priority(), attempt.result().status());
+        return attempt;
+    }
+
+    private <Q, R> Attempt cachedOrCoalesced(
+            VerificationProvider<Q, R> provider,
+            ProviderCall call,
+            boolean waitForPermit
+    ) {
+        log.info("[{}] Starting {} verification for customer: {}",
+            call.correlationId(), provider.type(), call.customer().getCustomerId());
+
+        Optional<VerificationResult> cached = provider.cached(call);
+        if (cached.isPresent()) {
+            return new Attempt(cached.get(), Outcome.ANSWERED);
+        }
+
+        Optional<String> identity = provider.identity(call);
+        if (identity.isEmpty()) {
+            return call(provider, call, waitForPermit, new CompletableFuture<>());
+        }
+
+        String key = provider.serviceName() + '|' + identity.get();
+        CompletableFuture<VerificationResult> answer = new CompletableFuture<>();
+        CompletableFuture<VerificationResult> leader = inFlight.putIfAbsent(key, answer);
+        if (leader != null) {
+            Optional<Attempt> shared = await(leader, provider, call);
+            if (shared.isPresent()) {
+                return shared.get();
+            }
+            // The leader got no answer - call the provider unless it was cached meanwhile
+            return provider.cached(call)
+                .map(result -> new Attempt(result, Outcome.ANSWERED))
+                .orElseGet(() -> call(provider, call, waitForPermit, new CompletableFuture<>()));
+        }
+
+        try {
+            return call(provider, call, waitForPermit, answer);
+        } finally {
+            inFlight.remove(key, answer);
+            answer.complete(null);
+        }
+    }
+
+    private static Optional<Attempt> await(
+            CompletableFuture<VerificationResult> leader,
+            VerificationProvider<?, ?> provider,
+            ProviderCall call
+    ) {
+        try {
+            VerificationResult result = leader.get(call.deadline().remainingNanos(), TimeUnit.NANOSECONDS);
+            if (result != null) {
+                log.info("[{}] {} verification answered by a concurrent identical call",
+                    call.correlationId(), provider.type());
+            }
+            return Optional.ofNullable(result).map(answer -> new Attempt(answer, Outcome.ANSWERED));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.info("[{}] {} verification cancelled", call.correlationId(), provider.type());
+            return Optional.of(new Attempt(failure(provider.type(), Reasons.CANCELLED), Outcome.STOPPED));
+        } catch (TimeoutException | ExecutionException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Calls the provider and completes {@code answer} with the result when it answered.
+     */
+    private <Q, R> Attempt call(
+            VerificationProvider<Q, R> provider,
+            ProviderCall call,
+            boolean waitForPermit,
+            CompletableFuture<VerificationResult> answer
+    ) {
+        String serviceName = provider.serviceName();
+        String correlationId = call.correlationId();
+        ProviderPolicy policy = policies.forProvider(provider);
+
+        Bulkhead bulkhead = bulkheads.forService(serviceName);
+        boolean bulkheadEntered = false;
+        boolean permitAcquired = false;
+        // Set just before the first request goes out - from then on the provider counts the call
+        AtomicBoolean sent = new AtomicBoolean();
+        try {
+            // Reject hopeless input before it takes a rate-limit permit or bulkhead slot
+            VerificationProvider.RequestBuilder<Q> requestBuilder = provider.prepare(call);
+            // A blob without a media endpoint fails the same way on every retry
+            requestBuilder.build(image -> {
+                blobResolver.check(serviceName, image);
+                return image;
+            });
+
+            // The permit comes first: a caller waiting for its quota share must not hold a slot
+            // a higher-priority caller with a permit could use
+            if (waitForPermit) {
+                rateLimiter.acquire(serviceName, call.priority(), call.deadline());
+            } else if (!rateLimiter.tryAcquire(serviceName, call.priority())) {
+                throw new RateLimitExceededException("Rate limit reached for " + serviceName);
+            }
+            permitAcquired = true;
+
+            bulkhead.enter(call.priority());
+            bulkheadEntered = true;
+
+            R response = retryHandler.executeWithRetry(
+                () -> {
+                    try {
+                        Q request = requestBuilder.build(
+                            image -> blobResolver.resolve(serviceName, image, call.deadline(), correlationId));
+                        return send(serviceName, request, provider.responseType(), policy, call, sent);
+                    } catch (Exception e) {
+                        throw new RuntimeException(e);
+                    }
+                },
+                serviceName,
+                correlationId,
+                policy.maxRetries(),
+                call.deadline()
+            );
+
+            bulkhead.exit();
+            bulkheadEntered = false;
+
+            VerificationResult result = provider.toResult(response, call);
+            log.info("[{}] {} verification completed: {}", correlationId, provider.type(), result.status());
+            provider.store(call, result);
+            answer.complete(result);
+            return new Attempt(result, Outcome.ANSWERED);
+
+        } catch (Exception e) {
+            if (permitAcquired && !sent.get()) {
+                // Nothing reached the provider, so the permit goes back to the quota. Once a
+                // request was sent the provider has counted it, and the permit stays spent.
+                rateLimiter.release(serviceName, call.priority());
+            }
+
+            if (e instanceof InterruptedException || Thread.currentThread().isInterrupted()) {
+                // Cancelled by the orchestrator - the outcome no longer depends on this check
+                Thread.currentThread().interrupt();
+                log.info("[{}] {} verification cancelled", correlationId, provider.type());
+                return new Attempt(failure(provider.type(), Reasons.CANCELLED), Outcome.STOPPED);
+            }
+
+            if (Deadline.isExceeded(e)) {
+                log.warn("[{}] {} verification stopped at the deadline", correlationId, provider.type());
+                return new Attempt(failure(provider.type(), Reasons.DEADLINE_EXCEEDED), Outcome.STOPPED);
+            }
+
+            if (e instanceof ImageRejectedException) {
+                return new Attempt(failure(provider.type(), Reasons.withDetail(Reasons.IMAGE_REJECTED, e.getMessage())),
+                    Outcome.STOPPED);
+            }
+
+            if (e instanceof RateLimitExceededException) {
+                log.info("[{}] {} has no permit free - not waiting", correlationId, serviceName);
+                return new Attempt(failure(provider.type(), provider.unavailableReasons(e)), Outcome.THROTTLED);
+            }
+
+            log.error("[{}] {} verification failed", correlationId, provider.type(), e);
+            return new Attempt(failure(provider.type(), provider.unavailableReasons(e)), Outcome.UNAVAILABLE);
+        } finally {
+            if (bulkheadEntered) {
+                bulkhead.exit();
+            }
+        }
+    }
+
+    private <Q, R> R send(
+            String serviceName,
+            Q request,
+            Class<R> responseType,
+            ProviderPolicy policy,
+            ProviderCall call,
+            AtomicBoolean sent
+    ) throws Exception {
+        if (!policy.hedged()) {
+            sent.set(true);
+            return httpClient.post(serviceName, request, responseType,
+                call.deadline().cap(policy.timeout()), call.correlationId());
+        }
+        return hedgedExecutor.execute(
+            () -> {
+                sent.set(true);
+                return httpClient.postAsync(serviceName, request, responseType,
+                    call.deadline().cap(policy.timeout()), call.correlationId());
+            },
+            serviceName,
+            call.priority(),
+            call.correlationId()
+        );
+    }
+
+    private static VerificationResult failure(VerificationType type, List<String> reasons) {
+        return VerificationResult.builder()
+            .verificationType(type)
+            .status(VerificationStatus.FAIL)
+            .confidence(0)
+            .reasons(reasons)
+            .timestamp(Instant.now())
+            .build();
+    }
+}
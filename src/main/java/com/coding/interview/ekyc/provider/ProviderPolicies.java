@@ -0,0 +1,34 @@
+package com.coding.interview.ekyc.provider;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves the {@link ProviderPolicy} of each provider: the provider's defaults, overridden by
+ * {@code ekyc.provider.<service>.*} (timeout-ms, max-retries, hedged).
+ */
+@Component
+@RequiredArgsConstructor
+public class ProviderPolicies {
+    private final Environment environment;
+    private final Map<String, ProviderPolicy> policies = new ConcurrentHashMap<>();
+
+
+    public ProviderPolicy forProvider(VerificationProvider<?, ?> provider) {
+        return policies.computeIfAbsent(provider.serviceName(), service -> resolve(service, provider.defaultPolicy()));
+    }
+
+    private ProviderPolicy resolve(String serviceName, ProviderPolicy defaults) {
+        String prefix = "ekyc.provider." + serviceName + ".";
+        return new ProviderPolicy(
+            Duration.ofMillis(environment.getProperty(prefix + "timeout-ms", Long.class, defaults.timeout().toMillis())),
+            environment.getProperty(prefix + "max-retries", Integer.class, defaults.maxRetries()),
+            environment.getProperty(prefix + "hedged", Boolean.class, defaults.hedged())
+        );
+    }
+}
@@ -0,0 +1,15 @@
+package com.coding.interview.ekyc.provider;
+
+import java.time.Duration;
+
+/**
+ * How {@link ProviderExecutor} calls a provider: the timeout of one HTTP exchange (capped by the
+ * verification deadline), the number of attempts, and whether slow calls are hedged.
+ */
+public record ProviderPolicy(Duration timeout, int maxRetries, boolean hedged) {
+    public static final int DEFAULT_MAX_RETRIES = 3;
+
+    public static ProviderPolicy of(Duration timeout, boolean hedged) {
+        return new ProviderPolicy(timeout, DEFAULT_MAX_RETRIES, hedged);
+    }
+}
@@ -0,0 +1,282 @@
+package com.coding.interview.ekyc.provider;
+
+import com.coding.interview.ekyc.model.VerificationResult;
+import com.coding.interview.ekyc.model.VerificationType;
+import com.coding.interview.ekyc.ratelimit.AdaptiveConcurrencyLimiter;
+import com.coding.interview.ekyc.transport.ProviderTransport;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Spreads the calls of a verification type over several vendors. Every vendor has its own
+ * quota, bulkhead, endpoints and policy, keyed by its name; extra vendors reuse the built-in
+ * provider's request and response mapping.
+ *
+ * <pre>
+ * ekyc.routing.&lt;type&gt;.vendors=SanctionsScreeningService,SanctionsVendorB
+ * ekyc.routing.&lt;type&gt;.strategy=PRIMARY_FAILOVER | LOWEST_LATENCY | COST_WEIGHTED
+ * ekyc.vendor.&lt;vendor&gt;.url=...      (not for the built-in vendor)
+ * ekyc.vendor.&lt;vendor&gt;.cost=1.0
+ * </pre>
+ * with {@code <type>} one of document, biometric, address, sanctions. Without vendors the
+ * built-in provider is called alone, exactly as before.
+ *
+ * <p>The strategy orders the vendors for each call; vendors failing at least half of their
+ * recent calls go last until they have had a rest. The call goes to the first vendor and fails
+ * over to the next when that one is unavailable - or, except for the last vendor, when its
+ * quota has no permit free, so an exhausted quota sends traffic elsewhere instead of queueing.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProviderRouter {
+    private static final double ERROR_SMOOTHING = 0.1;
+    private static final double UNHEALTHY_ERROR_RATE = 0.5;
+    private static final Duration RECOVERY_TIME = Duration.ofSeconds(30);
+    private static final double DEFAULT_COST = 1.0;
+
+    private final ProviderExecutor executor;
+    private final ProviderTransport transport;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final Environment environment;
+
+    private final Map<VerificationType, Routing> routings = new EnumMap<>(VerificationType.class);
+    private final Map<String, Double> costs = new ConcurrentHashMap<>();
+    private final Map<String, VendorHealth> health = new ConcurrentHashMap<>();
+    // vendor -> the built-in provider bound to the vendor's name
+    private final Map<String, VerificationProvider<?, ?>> vendors = new ConcurrentHashMap<>();
+
+
+    public enum Strategy {
+        /** The configured order. */
+        PRIMARY_FAILOVER,
+        /** Lowest smoothed latency first; vendors not called yet go first to get measured. */
+        LOWEST_LATENCY,
+        /** A random vendor, picked in inverse proportion to its cost, then the cheapest. */
+        COST_WEIGHTED
+    }
+
+
+    private record Routing(Strategy strategy, List<String> vendors) {
+    }
+
+
+    @PostConstruct
+    void registerVendors() {
+        for (VerificationType type : VerificationType.values()) {
+            String prefix = "ekyc.routing." + routingKey(type) + ".";
+            List<String> names = List.of(environment.getProperty(prefix + "vendors", String[].class, new String[0]))
+                .stream().map(String::trim).filter(name -> !name.isEmpty()).toList();
+            if (names.isEmpty()) {
+                continue;
+            }
+            Strategy strategy = Strategy.valueOf(environment.getProperty(prefix + "strategy",
+                Strategy.PRIMARY_FAILOVER.name()).trim().toUpperCase(Locale.ROOT));
+            routings.put(type, new Routing(strategy, names));
+
+            for (String name : names) {
+                costs.put(name, environment.getProperty("ekyc.vendor." + name + ".cost", Double.class, DEFAULT_COST));
+                String[] urls = environment.getProperty("ekyc.vendor." + name + ".url", String[].class);
+                if (urls != null) {
+                    transport.registerEndpoints(name, List.of(urls));
+                }
+            }
+            log.info("Routing {} over vendors {} ({})", type, names, strategy);
+        }
+    }
+
+
+    public <Q, R> VerificationResult execute(VerificationProvider<Q, R> provider, ProviderCall call) {
+        List<VerificationProvider<Q, R>> candidates = candidates(provider);
+
+        ProviderExecutor.Attempt attempt = null;
+        for (int i = 0; i < candidates.size(); i++) {
+            VerificationProvider<Q, R> vendor = candidates.get(i);
+            boolean lastVendor = i == candidates.size() - 1;
+
+            attempt = executor.attempt(vendor, call, lastVendor);
+            record(vendor.serviceName(), attempt.outcome());
+
+            ProviderExecutor.Outcome outcome = attempt.outcome();
+            if (lastVendor || (outcome != ProviderExecutor.Outcome.UNAVAILABLE
+                    && outcome != ProviderExecutor.Outcome.THROTTLED)) {
+                break;
+            }
+            log.warn("[{}] {} {} - failing over to {}", call.correlationId(), vendor.serviceName(),
+                outcome == ProviderExecutor.Outcome.THROTTLED ? "has no quota left" : "is unavailable",
+                candidates.get(i + 1).serviceName());
+        }
+        return attempt.result();
+    }
+
+
+    /** Share of recent calls to the vendor that failed, 0 before the first. */
+    public double getErrorRate(String vendor) {
+        VendorHealth vendorHealth = health.get(vendor);
+        return vendorHealth == null ? 0 : vendorHealth.errorRate();
+    }
+
+    private <Q, R> List<VerificationProvider<Q, R>> candidates(VerificationProvider<Q, R> provider) {
+        Routing routing = routings.get(provider.type());
+        if (routing == null) {
+            return List.of(provider);
+        }
+
+        List<VerificationProvider<Q, R>> candidates = new ArrayList<>(routing.vendors().size());
+        for (String name : routing.vendors()) {
+            candidates.add(vendor(provider, name));
+        }
+        switch (routing.strategy()) {
+            case PRIMARY_FAILOVER -> { }
+            case LOWEST_LATENCY -> candidates.sort(Comparator.comparing(
+                vendor -> concurrencyLimiter.getLatency(vendor.serviceName())));
+            case COST_WEIGHTED -> candidates.sort(Comparator.comparingDouble(vendor -> cost(vendor.serviceName())));
+        }
+
+        // Healthy vendors first, otherwise in the strategy's order
+        long now = System.nanoTime();
+        candidates.sort(Comparator.comparing(vendor -> !isHealthy(vendor.serviceName(), now)));
+
+        if (routing.strategy() == Strategy.COST_WEIGHTED) {
+            candidates.addFirst(candidates.remove(pickByCost(candidates, now)));
+        }
+        return candidates;
+    }
+
+    /** Index of a healthy vendor, picked with probability inversely proportional to its cost. */
+    private int pickByCost(List<? extends VerificationProvider<?, ?>> candidates, long now) {
+        double[] weights = new double[candidates.size()];
+        double total = 0;
+        for (int i = 0; i < candidates.size() && isHealthy(candidates.get(i).serviceName(), now); i++) {
+            weights[i] = 1 / Math.max(cost(candidates.get(i).serviceName()), 1e-6);
+            total += weights[i];
+        }
+        double pick = ThreadLocalRandom.current().nextDouble() * total;
+        for (int i = 0; i < weights.length; i++) {
+            pick -= weights[i];
+            if (weights[i] > 0 && pick < 0) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <Q, R> VerificationProvider<Q, R> vendor(VerificationProvider<Q, R> provider, String name) {
+        if (name.equals(provider.serviceName())) {
+            return provider;
+        }
+        transport.endpoints(name); // fails fast without ekyc.vendor.<name>.url
+        return (VerificationProvider<Q, R>) vendors.computeIfAbsent(name, vendor -> new Vendor<>(provider, vendor));
+    }
+
+    private void record(String vendor, ProviderExecutor.Outcome outcome) {
+        if (outcome == ProviderExecutor.Outcome.ANSWERED || outcome == ProviderExecutor.Outcome.UNAVAILABLE) {
+            health.computeIfAbsent(vendor, name -> new VendorHealth())
+                .record(outcome == ProviderExecutor.Outcome.UNAVAILABLE, System.nanoTime());
+        }
+    }
+
+    private boolean isHealthy(String vendor, long now) {
+        return Optional.ofNullable(health.get(vendor)).map(vendorHealth -> vendorHealth.isHealthy(now)).orElse(true);
+    }
+
+    private double cost(String vendor) {
+        return costs.getOrDefault(vendor, DEFAULT_COST);
+    }
+
+    private static String routingKey(VerificationType type) {
+        return switch (type) {
+            case ID_DOCUMENT -> "document";
+            case FACE_MATCH -> "biometric";
+            case ADDRESS -> "address";
+            case SANCTIONS -> "sanctions";
+        };
+    }
+
+
+    /** Exponentially smoothed failure rate of a vendor's calls. */
+    private static final class VendorHealth {
+        private double errorRate;
+        private long updatedNanos;
+
+        synchronized void record(boolean failed, long now) {
+            errorRate += ERROR_SMOOTHING * ((failed ? 1 : 0) - errorRate);
+            updatedNanos = now;
+        }
+
+        synchronized double errorRate() {
+            return errorRate;
+        }
+
+        /** Unhealthy vendors are tried again first once they have not been called for a while. */
+        synchronized boolean isHealthy(long now) {
+            return errorRate < UNHEALTHY_ERROR_RATE || now - updatedNanos > RECOVERY_TIME.toNanos();
+        }
+    }
+
+
+    /** A further vendor for the provider's verification type, speaking the same API. */
+    private record Vendor<Q, R>(VerificationProvider<Q, R> provider, String serviceName)
+            implements VerificationProvider<Q, R> {
+
+        @Override
+        public VerificationType type() {
+            return provider.type();
+        }
+
+        @Override
+        public ProviderPolicy defaultPolicy() {
+            return provider.defaultPolicy();
+        }
+
+        @Override
+        public Class<R> responseType() {
+            return provider.responseType();
+        }
+
+        @Override
+        public RequestBuilder<Q> prepare(ProviderCall call) throws Exception {
+            return provider.prepare(call);
+        }
+
+        @Override
+        public VerificationResult toResult(R response, ProviderCall call) {
+            return provider.toResult(response, call);
+        }
+
+        @Override
+        public Optional<VerificationResult> cached(ProviderCall call) {
+            return provider.cached(call);
+        }
+
+        @Override
+        public void store(ProviderCall call, VerificationResult result) {
+            provider.store(call, result);
+        }
+
+        @Override
+        public Optional<String> identity(ProviderCall call) {
+            return provider.identity(call);
+        }
+
+        @Override
+        public List<String> unavailableReasons(Exception error) {
+            return provider.unavailableReasons(error);
+        }
+    }
+}
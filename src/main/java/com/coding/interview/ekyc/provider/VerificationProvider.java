@@ -0,0 +1,83 @@
+package com.coding.interview.ekyc.provider;
+
+import com.coding.interview.ekyc.model.Reasons;
+import com.coding.interview.ekyc.model.VerificationResult;
+import com.coding.interview.ekyc.model.VerificationType;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A verification provider as seen by {@link ProviderExecutor}: what it is called, how its
+ * request and response map to the domain, and its call policy. Bulkheads, rate limiting,
+ * retries, hedging, caching, coalescing and failure handling are applied by the executor.
+ *
+ * @param <Q> request DTO
+ * @param <R> response DTO
+ */
+public interface VerificationProvider<Q, R> {
+
+    /** Name the bulkhead, quota, concurrency limit, endpoints and policy are keyed by. */
+    String serviceName();
+
+    VerificationType type();
+
+    ProviderPolicy defaultPolicy();
+
+    Class<R> responseType();
+
+    /**
+     * Local preparation that can reject the call before it takes a bulkhead slot or rate-limit
+     * permit, e.g. image preprocessing. Returns how to build the request for each attempt.
+     */
+    RequestBuilder<Q> prepare(ProviderCall call) throws Exception;
+
+    VerificationResult toResult(R response, ProviderCall call);
+
+    /** A result that answers the call without contacting the provider. */
+    default Optional<VerificationResult> cached(ProviderCall call) {
+        return Optional.empty();
+    }
+
+    /** Called with every result the provider answered. */
+    default void store(ProviderCall call, VerificationResult result) {
+    }
+
+    /**
+     * Everything the provider is sent, when calls with the same identity always get the same
+     * answer. Concurrent calls with the same identity share one provider call - and its answer,
+     * FAIL included - so the identity must cover every field of the request DTO.
+     */
+    default Optional<String> identity(ProviderCall call) {
+        return Optional.empty();
+    }
+
+    /** Reasons reported when the provider could not be reached or did not answer usefully. */
+    default List<String> unavailableReasons(Exception error) {
+        return Reasons.withDetail(Reasons.SERVICE_UNAVAILABLE, error.getMessage());
+    }
+
+
+    /** An identity made of the given request fields, in order. */
+    static Optional<String> payloadIdentity(Object... fields) {
+        StringBuilder identity = new StringBuilder();
+        for (Object field : fields) {
+            // NUL cannot appear in the fields, so no two payloads join to the same identity
+            identity.append(field).append('\0');
+        }
+        return Optional.of(identity.toString());
+    }
+
+
+    @FunctionalInterface
+    interface RequestBuilder<Q> {
+        Q build(ImageUploads uploads) throws Exception;
+    }
+
+
+    /** Turns a prepared local image into a URL the provider can fetch. */
+    @FunctionalInterface
+    interface ImageUploads {
+        String upload(String image) throws Exception;
+    }
+}
@@ -0,0 +1,200 @@
+package com.coding.interview.ekyc.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limits the number of in-flight calls per service, adjusting the limit from observed
+ * behaviour (AIMD): each healthy response grows the limit by roughly one per round trip,
+ * while errors, throttling or latency well above the smoothed average cut it by 30%.
+ * Calls over the limit wait in a bounded queue and are shed when it is full or they
+ * have waited too long. Works alongside {@link RateLimiter}, which enforces the quota.
+ */
+@Slf4j
+@Component
+public class AdaptiveConcurrencyLimiter {
+    private static final int INITIAL_LIMIT = 4;
+    private static final int MIN_LIMIT = 1;
+    private static final int MAX_LIMIT = 64;
+    private static final double BACKOFF_RATIO = 0.7;
+    private static final double LATENCY_TOLERANCE = 2.0;
+    private static final double SMOOTHING = 0.05;
+    private static final int MAX_QUEUED = 32;
+    private static final Duration MAX_QUEUE_WAIT = Duration.ofSeconds(2);
+
+    private final Map<String, Limit> limits = new ConcurrentHashMap<>();
+
+
+    public void acquire(String serviceName) throws InterruptedException, ConcurrencyLimitExceededException {
+        limitFor(serviceName).acquire(serviceName);
+    }
+
+
+    /** Releases a permit for a call that returned a healthy response after {@code latency}. */
+    public void onSuccess(String serviceName, Duration latency) {
+        limitFor(serviceName).release(serviceName, latency.toNanos(), false);
+    }
+
+
+    /** Releases a permit for a call that failed with a sign of overload (timeout, 429, 5xx). */
+    public void onDropped(String serviceName) {
+        limitFor(serviceName).release(serviceName, 0, true);
+    }
+
+
+    /** Releases a permit without adjusting the limit, e.g. for cancelled calls. */
+    public void onIgnored(String serviceName) {
+        limitFor(serviceName).release(serviceName, -1, false);
+    }
+
+
+    public int getLimit(String serviceName) {
+        return limitFor(serviceName).currentLimit();
+    }
+
+
+    public int getInFlight(String serviceName) {
+        return limitFor(serviceName).currentInFlight();
+    }
+
+
+    /** Smoothed latency of healthy calls, zero until the first one completes. */
+    public Duration getLatency(String serviceName) {
+        return Duration.ofNanos(limitFor(serviceName).currentLatencyNanos());
+    }
+
+
+    /**
+     * Restores the initial limit and forgets the observed latency. Calls in flight keep their
+     * permits and release them as usual.
+     */
+    public void reset(String serviceName) {
+        Limit limit = limits.get(serviceName);
+        if (limit != null) {
+            limit.reset();
+        }
+    }
+
+    private Limit limitFor(String serviceName) {
+        return limits.computeIfAbsent(serviceName, k -> new Limit());
+    }
+
+
+    private static final class Limit {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition permitAvailable = lock.newCondition();
+        private double limit = INITIAL_LIMIT;
+        private double smoothedLatencyNanos;
+        private int inFlight;
+        private int queued;
+
+        void acquire(String serviceName) throws InterruptedException, ConcurrencyLimitExceededException {
+            lock.lock();
+            try {
+                if (inFlight < (int) limit) {
+                    inFlight++;
+                    return;
+                }
+
+                if (queued >= MAX_QUEUED) {
+                    log.warn("Concurrency limit reached for service: {} (in-flight: {}, limit: {}), queue full - shedding",
+                        serviceName, inFlight, (int) limit);
+                    throw new ConcurrencyLimitExceededException("Concurrency limit exceeded for " + serviceName);
+                }
+
+                queued++;
+                try {
+                    long remainingNanos = MAX_QUEUE_WAIT.toNanos();
+                    while (inFlight >= (int) limit) {
+                        if (remainingNanos <= 0) {
+                            log.warn("Concurrency limit wait timed out for service: {} (in-flight: {}, limit: {})",
+                                serviceName, inFlight, (int) limit);
+                            throw new ConcurrencyLimitExceededException(
+                                "Timed out waiting for concurrency permit for " + serviceName);
+                        }
+                        remainingNanos = permitAvailable.awaitNanos(remainingNanos);
+                    }
+                    inFlight++;
+                } finally {
+                    queued--;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void release(String serviceName, long latencyNanos, boolean dropped) {
+            lock.lock();
+            try {
+                inFlight--;
+                double previous = limit;
+
+                if (dropped) {
+                    limit = Math.max(MIN_LIMIT, limit * BACKOFF_RATIO);
+                } else if (latencyNanos >= 0) {
+                    boolean slow = smoothedLatencyNanos > 0
+                        && latencyNanos > smoothedLatencyNanos * LATENCY_TOLERANCE;
+                    smoothedLatencyNanos = smoothedLatencyNanos == 0
+                        ? latencyNanos
+                        : smoothedLatencyNanos * (1 - SMOOTHING) + latencyNanos * SMOOTHING;
+
+                    limit = slow
+                        ? Math.max(MIN_LIMIT, limit * BACKOFF_RATIO)
+                        : Math.min(MAX_LIMIT, limit + 1.0 / limit);
+                }
+
+                if ((int) previous != (int) limit) {
+                    log.debug("Concurrency limit for service: {} changed {} -> {}",
+                        serviceName, (int) previous, (int) limit);
+                }
+                permitAvailable.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void reset() {
+            lock.lock();
+            try {
+                limit = INITIAL_LIMIT;
+                smoothedLatencyNanos = 0;
+                permitAvailable.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int currentLimit() {
+            lock.lock();
+            try {
+                return (int) limit;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int currentInFlight() {
+            lock.lock();
+            try {
+                return inFlight;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        long currentLatencyNanos() {
+            lock.lock();
+            try {
+                return (long) smoothedLatencyNanos;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.coding.interview.ekyc.ratelimit;
+
+/**
+ * Thrown when a provider call is shed because the service's concurrency limit is
+ * reached and the wait queue is full or the queueing time ran out.
+ */
+public class ConcurrencyLimitExceededException extends Exception {
+
+    public ConcurrencyLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,86 @@
+package com.coding.interview.ekyc.ratelimit;
+
+import com.coding.interview.ekyc.model.VerificationPriority;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sliding-window quota held in this process only.
+ */
+@Component
+@ConditionalOnProperty(name = "ekyc.ratelimit.backend", havingValue = "memory", matchIfMissing = true)
+public class InMemoryRateLimitBackend implements RateLimitBackend {
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+
+    @Override
+    public boolean tryAcquire(String serviceName, VerificationPriority priority, boolean higherPriorityWaiting) {
+        return windows.computeIfAbsent(serviceName, k -> new Window())
+            .tryAcquire(priority, higherPriorityWaiting, Instant.now());
+    }
+
+
+    @Override
+    public boolean release(String serviceName, VerificationPriority priority) {
+        Window window = windows.get(serviceName);
+        return window != null && window.release(priority);
+    }
+
+
+    @Override
+    public void reset(String serviceName) {
+        windows.remove(serviceName);
+    }
+
+
+    @Override
+    public void resetAll() {
+        windows.clear();
+    }
+
+
+    private record Grant(Instant timestamp, VerificationPriority priority) {
+    }
+
+
+    private static final class Window {
+        private final Deque<Grant> grants = new ArrayDeque<>();
+
+        synchronized boolean tryAcquire(VerificationPriority priority, boolean higherPriorityWaiting, Instant now) {
+            Instant windowStart = now.minus(PriorityQuota.WINDOW_SIZE);
+            while (!grants.isEmpty() && grants.peekFirst().timestamp().isBefore(windowStart)) {
+                grants.pollFirst();
+            }
+
+            int[] used = new int[VerificationPriority.values().length];
+            for (Grant grant : grants) {
+                used[grant.priority().ordinal()]++;
+            }
+
+            if (PriorityQuota.grantable(used, priority, higherPriorityWaiting, 1) == 0) {
+                return false;
+            }
+
+            grants.addLast(new Grant(now, priority));
+            return true;
+        }
+
+        synchronized boolean release(VerificationPriority priority) {
+            Iterator<Grant> iterator = grants.descendingIterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().priority() == priority) {
+                    iterator.remove();
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.coding.interview.ekyc.ratelimit;
+
+import com.coding.interview.ekyc.model.VerificationPriority;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Quota shared by every replica through a database table, so the provider sees one
+ * 10/minute budget however many instances run.
+ *
+ * <p>Replicas lease permits in batches: one transaction locks the window's rows, takes up to
+ * {@code leaseSize} permits of the class's reserved share, and the replica then hands them out
+ * locally without touching the database. Shared-pool permits are leased one per call under the
+ * same priority rules as the in-memory backend, so a background class never holds shared
+ * permits that a higher class starts waiting for. Windows are fixed, minute-aligned buckets
+ * rather than a sliding log, so the whole lease is a single counter update. Permits leased but
+ * not used expire with their window.
+ *
+ * <p>An embedded database would give every replica a private quota, so the backend refuses
+ * to start on one.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "ekyc.ratelimit.backend", havingValue = "jdbc")
+public class JdbcRateLimitBackend implements RateLimitBackend {
+    private static final String CREATE_TABLE = """
+        CREATE TABLE IF NOT EXISTS ekyc_rate_limit_usage (
+            service_name VARCHAR(100) NOT NULL,
+            window_start BIGINT NOT NULL,
+            priority VARCHAR(20) NOT NULL,
+            used INT NOT NULL,
+            PRIMARY KEY (service_name, window_start, priority)
+        )""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int leaseSize;
+    private final Clock clock;
+    private final Map<String, Lease> leases = new ConcurrentHashMap<>();
+
+    @Autowired
+    public JdbcRateLimitBackend(DataSource dataSource, @Value("${ekyc.ratelimit.jdbc.lease-size:2}") int leaseSize) {
+        this(dataSource, leaseSize, Clock.systemUTC());
+        if (EmbeddedDatabaseConnection.isEmbedded(dataSource)) {
+            throw new IllegalStateException("ekyc.ratelimit.backend=jdbc needs a database shared by all replicas, "
+                + "not an embedded one - configure spring.datasource.url");
+        }
+    }
+
+    /** Accepts any datasource, embedded ones included, e.g. for tests with a fixed clock. */
+    public JdbcRateLimitBackend(DataSource dataSource, int leaseSize, Clock clock) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.leaseSize = Math.max(1, leaseSize);
+        this.clock = clock;
+    }
+
+    @PostConstruct
+    public void createTable() {
+        jdbcTemplate.execute(CREATE_TABLE);
+    }
+
+
+    @Override
+    public boolean tryAcquire(String serviceName, VerificationPriority priority, boolean higherPriorityWaiting) {
+        Lease lease = leases.computeIfAbsent(serviceName, k -> new Lease());
+        long windowStart = currentWindowStart();
+
+        synchronized (lease) {
+            if (lease.windowStart != windowStart) {
+                openWindow(serviceName, windowStart);
+                lease.renew(windowStart);
+            }
+            int p = priority.ordinal();
+            if (lease.reserved[p] > 0) {
+                lease.reserved[p]--;
+                return true;
+            }
+            if (lease.shared[p] > 0 && !higherPriorityWaiting) {
+                lease.shared[p]--;
+                lease.sharedInUse[p]++;
+                return true;
+            }
+
+            Leased leased = leasePermits(serviceName, windowStart, priority, higherPriorityWaiting);
+            if (leased.permits() == 0) {
+                return false;
+            }
+            if (leased.shared()) {
+                lease.sharedInUse[p]++;
+            } else {
+                lease.reserved[p] += leased.permits() - 1;
+            }
+            return true;
+        }
+    }
+
+
+    @Override
+    public boolean release(String serviceName, VerificationPriority priority) {
+        Lease lease = leases.get(serviceName);
+        if (lease == null) {
+            return false;
+        }
+        synchronized (lease) {
+            if (lease.windowStart != currentWindowStart()) {
+                return false;
+            }
+            // Back into the local lease; the shared counter keeps it until the window ends
+            int p = priority.ordinal();
+            if (lease.sharedInUse[p] > 0) {
+                lease.sharedInUse[p]--;
+                lease.shared[p]++;
+            } else {
+                lease.reserved[p]++;
+            }
+            return true;
+        }
+    }
+
+
+    @Override
+    public void reset(String serviceName) {
+        leases.remove(serviceName);
+        jdbcTemplate.update("DELETE FROM ekyc_rate_limit_usage WHERE service_name = ?", serviceName);
+    }
+
+
+    @Override
+    public void resetAll() {
+        leases.clear();
+        jdbcTemplate.update("DELETE FROM ekyc_rate_limit_usage");
+    }
+
+    private Leased leasePermits(String serviceName, long windowStart, VerificationPriority priority,
+                                boolean higherPriorityWaiting) {
+        Leased leased = transactionTemplate.execute(status -> {
+            int[] used = new int[VerificationPriority.values().length];
+            jdbcTemplate.query(
+                "SELECT priority, used FROM ekyc_rate_limit_usage "
+                    + "WHERE service_name = ? AND window_start = ? FOR UPDATE",
+                rs -> {
+                    used[VerificationPriority.valueOf(rs.getString("priority")).ordinal()] = rs.getInt("used");
+                },
+                serviceName, windowStart);
+
+            // A batch only ever comes out of the class's reserved share
+            int reservedLeft = PriorityQuota.reservedLeft(used, priority);
+            int requested = reservedLeft > 0 ? Math.min(leaseSize, reservedLeft) : 1;
+            int granted = PriorityQuota.grantable(used, priority, higherPriorityWaiting, requested);
+            if (granted > 0) {
+                jdbcTemplate.update(
+                    "UPDATE ekyc_rate_limit_usage SET used = used + ? "
+                        + "WHERE service_name = ? AND window_start = ? AND priority = ?",
+                    granted, serviceName, windowStart, priority.name());
+            }
+            return new Leased(granted, reservedLeft == 0);
+        });
+
+        log.debug("Leased {} permit(s) for service: {} (priority: {}, window: {})",
+            leased != null ? leased.permits() : 0, serviceName, priority, windowStart);
+        return leased != null ? leased : new Leased(0, false);
+    }
+
+    /**
+     * Creates the window's counter rows on first use, so lease transactions can lock them,
+     * and drops the rows of earlier windows.
+     */
+    private void openWindow(String serviceName, long windowStart) {
+        for (VerificationPriority p : VerificationPriority.values()) {
+            try {
+                jdbcTemplate.update(
+                    "INSERT INTO ekyc_rate_limit_usage (service_name, window_start, priority, used) VALUES (?, ?, ?, 0)",
+                    serviceName, windowStart, p.name());
+            } catch (DuplicateKeyException e) {
+                // Another replica opened the window first
+            }
+        }
+        jdbcTemplate.update("DELETE FROM ekyc_rate_limit_usage WHERE service_name = ? AND window_start < ?",
+            serviceName, windowStart);
+    }
+
+    private long currentWindowStart() {
+        long windowMillis = PriorityQuota.WINDOW_SIZE.toMillis();
+        return clock.millis() / windowMillis * windowMillis;
+    }
+
+
+    private record Leased(int permits, boolean shared) {
+    }
+
+    /**
+     * Permits this replica holds in the current window, per class. Reserved ones can be handed
+     * out at any time; shared-pool ones only come back here on release, and only go out again
+     * while no higher class waits.
+     */
+    private static final class Lease {
+        private final int[] reserved = new int[VerificationPriority.values().length];
+        private final int[] shared = new int[VerificationPriority.values().length];
+        private final int[] sharedInUse = new int[VerificationPriority.values().length];
+        private long windowStart = -1;
+
+        void renew(long windowStart) {
+            this.windowStart = windowStart;
+            Arrays.fill(reserved, 0);
+            Arrays.fill(shared, 0);
+            Arrays.fill(sharedInUse, 0);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.coding.interview.ekyc.ratelimit;
+
+import com.coding.interview.ekyc.model.VerificationPriority;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Provider quota split between priority classes. Each class has a reserved minimum share of
+ * the window that nobody else can take; the rest is a shared pool handed out by strict
+ * priority, so background work only uses it while no higher class waits.
+ */
+final class PriorityQuota {
+    static final int MAX_REQUESTS_PER_MINUTE = 10;
+    static final Duration WINDOW_SIZE = Duration.ofMinutes(1);
+    private static final Map<VerificationPriority, Integer> RESERVED_PER_MINUTE = new EnumMap<>(Map.of(
+        VerificationPriority.INTERACTIVE, 3,
+        VerificationPriority.REVERIFICATION, 1,
+        VerificationPriority.BATCH, 1
+    ));
+    private static final int SHARED_PER_MINUTE = MAX_REQUESTS_PER_MINUTE
+        - RESERVED_PER_MINUTE.values().stream().mapToInt(Integer::intValue).sum();
+
+    private PriorityQuota() {
+    }
+
+
+    /**
+     * Returns how many of {@code requested} permits the class may take, given the permits
+     * already used in the window per class (indexed by ordinal).
+     */
+    static int grantable(int[] used, VerificationPriority priority, boolean higherPriorityWaiting, int requested) {
+        int sharedUsed = 0;
+        for (VerificationPriority p : VerificationPriority.values()) {
+            sharedUsed += Math.max(0, used[p.ordinal()] - RESERVED_PER_MINUTE.get(p));
+        }
+
+        int reservedLeft = reservedLeft(used, priority);
+        int sharedLeft = higherPriorityWaiting ? 0 : Math.max(0, SHARED_PER_MINUTE - sharedUsed);
+        return Math.min(requested, reservedLeft + sharedLeft);
+    }
+
+    /** Returns how much of the class's reserved share is left in the window. */
+    static int reservedLeft(int[] used, VerificationPriority priority) {
+        return Math.max(0, RESERVED_PER_MINUTE.get(priority) - used[priority.ordinal()]);
+    }
+}
@@ -0,0 +1,25 @@
+package com.coding.interview.ekyc.ratelimit;
+
+import com.coding.interview.ekyc.model.VerificationPriority;
+
+/**
+ * Where {@link RateLimiter} keeps its quota accounting. The in-memory backend limits a
+ * single process; a shared backend makes all replicas draw from one provider quota.
+ */
+public interface RateLimitBackend {
+
+    /**
+     * Takes one permit for the class if its quota allows it. {@code higherPriorityWaiting}
+     * tells the backend that a higher class is queued, so the shared pool is not available.
+     */
+    boolean tryAcquire(String serviceName, VerificationPriority priority, boolean higherPriorityWaiting);
+
+    /**
+     * Gives back a permit taken for the class, returning whether there was one to give back.
+     */
+    boolean release(String serviceName, VerificationPriority priority);
+
+    void reset(String serviceName);
+
+    void resetAll();
+}
@@ -0,0 +1,12 @@
+package com.coding.interview.ekyc.ratelimit;
+
+/**
+ * Thrown when a provider call is not made because the service's quota has no permit free
+ * right now and the caller chose not to wait for one.
+ */
+public class RateLimitExceededException extends Exception {
+
+    public RateLimitExceededException(String message) {
+        super(message);
+    }
+}
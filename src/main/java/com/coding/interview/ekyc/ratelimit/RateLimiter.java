@@ -1,64 +1,168 @@
 package com.coding.interview.ekyc.ratelimit;
 
+import com.coding.interview.ekyc.admission.Deadline;
+import com.coding.interview.ekyc.admission.DeadlineExceededException;
+import com.coding.interview.ekyc.jfr.RateLimitWaitEvent;
+import com.coding.interview.ekyc.model.VerificationPriority;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
-import java.time.Instant;
 import java.util.Map;
-import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 
 
+/**
+ * Per-provider quota with priority lanes (see {@link PriorityQuota}). The accounting lives in a
+ * {@link RateLimitBackend}; this class queues callers and tracks which classes are waiting.
+ */
 @Slf4j
 @Component
 public class RateLimiter {
-    private static final int MAX_REQUESTS_PER_MINUTE = 10;
-    private static final Duration WINDOW_SIZE = Duration.ofMinutes(1);
+    private final RateLimitBackend backend;
+    private final Map<String, AtomicIntegerArray> waiting = new ConcurrentHashMap<>();
 
-    private final Map<String, Queue<Instant>> requestTimestamps = new ConcurrentHashMap<>();
+    public RateLimiter() {
+        this(new InMemoryRateLimitBackend());
+    }
+
+    @Autowired
+    public RateLimiter(RateLimitBackend backend) {
+        this.backend = backend;
+    }
 
 
     public boolean tryAcquire(String serviceName) {
-        Queue<Instant> timestamps = requestTimestamps.computeIfAbsent(
-            serviceName,
-            k -> new ConcurrentLinkedQueue<>()
-        );
+        return tryAcquire(serviceName, VerificationPriority.INTERACTIVE);
+    }
 
-        Instant now = Instant.now();
-        Instant windowStart = now.minus(WINDOW_SIZE);
 
-        timestamps.removeIf(timestamp -> timestamp.isBefore(windowStart));
+    public boolean tryAcquire(String serviceName, VerificationPriority priority) {
+        VerificationPriority effective = effective(priority);
 
-        if (timestamps.size() >= MAX_REQUESTS_PER_MINUTE) {
-            log.warn("Rate limit exceeded for service: {} (current: {}, max: {})",
-                serviceName, timestamps.size(), MAX_REQUESTS_PER_MINUTE);
+        if (!backend.tryAcquire(serviceName, effective, higherPriorityWaiting(serviceName, effective))) {
+            log.warn("Rate limit exceeded for service: {} (priority: {}, max: {})",
+                serviceName, effective, PriorityQuota.MAX_REQUESTS_PER_MINUTE);
             return false;
         }
 
-        timestamps.offer(now);
-        log.debug("Request allowed for service: {} (current: {}/{}, window: {})",
-            serviceName, timestamps.size(), MAX_REQUESTS_PER_MINUTE, WINDOW_SIZE);
+        log.debug("Request allowed for service: {} (priority: {}, max: {}, window: {})",
+            serviceName, effective, PriorityQuota.MAX_REQUESTS_PER_MINUTE, PriorityQuota.WINDOW_SIZE);
         return true;
     }
 
 
     public void acquire(String serviceName) throws InterruptedException {
-        while (!tryAcquire(serviceName)) {
-            log.info("Rate limit reached for {}, waiting 1 second...", serviceName);
-            Thread.sleep(1000);
+        acquire(serviceName, VerificationPriority.INTERACTIVE);
+    }
+
+
+    public void acquire(String serviceName, VerificationPriority priority) throws InterruptedException {
+        try {
+            acquire(serviceName, priority, Deadline.none());
+        } catch (DeadlineExceededException e) {
+            // Deadline.none() never expires
+            throw new IllegalStateException(e);
+        }
+    }
+
+
+    /**
+     * Waits for a permit, but not beyond {@code deadline}: a permit that cannot be had in time
+     * would only be spent on a result nobody waits for any more.
+     */
+    public void acquire(String serviceName, VerificationPriority priority, Deadline deadline)
+            throws InterruptedException, DeadlineExceededException {
+        VerificationPriority effective = effective(priority);
+        AtomicIntegerArray waiters = waiters(serviceName);
+
+        RateLimitWaitEvent event = RateLimitWaitEvent.start();
+        int polls = 0;
+        waiters.incrementAndGet(effective.ordinal());
+        try {
+            while (!tryAcquire(serviceName, effective)) {
+                long remainingMs = deadline.remainingNanos() / 1_000_000;
+                if (remainingMs == 0) {
+                    event.finish(serviceName, effective, polls, "DEADLINE_EXCEEDED");
+                    throw new DeadlineExceededException("Deadline passed waiting for a " + serviceName + " permit");
+                }
+                polls++;
+                log.info("Rate limit reached for {} ({}), waiting 1 second...", serviceName, effective);
+                Thread.sleep(Math.min(1000, remainingMs));
+            }
+            event.finish(serviceName, effective, polls, "ACQUIRED");
+        } catch (InterruptedException e) {
+            event.finish(serviceName, effective, polls, "INTERRUPTED");
+            throw e;
+        } finally {
+            waiters.decrementAndGet(effective.ordinal());
+        }
+    }
+
+
+    /**
+     * Rough time a new caller of the class would queue for a permit: every caller of the same or
+     * a higher class already waiting in this process takes one permit of the provider quota first.
+     */
+    public Duration estimatedWait(String serviceName, VerificationPriority priority) {
+        AtomicIntegerArray waiters = waiting.get(serviceName);
+        if (waiters == null) {
+            return Duration.ZERO;
+        }
+        int ahead = 0;
+        for (int i = 0; i <= effective(priority).ordinal(); i++) {
+            ahead += waiters.get(i);
+        }
+        return PriorityQuota.WINDOW_SIZE.multipliedBy(ahead).dividedBy(PriorityQuota.MAX_REQUESTS_PER_MINUTE);
+    }
+
+
+    /**
+     * Gives back the most recently acquired permit, e.g. when the call it was acquired
+     * for is cancelled before completing, so the quota is not charged for it.
+     */
+    public void release(String serviceName) {
+        release(serviceName, VerificationPriority.INTERACTIVE);
+    }
+
+
+    public void release(String serviceName, VerificationPriority priority) {
+        VerificationPriority effective = effective(priority);
+        if (backend.release(serviceName, effective)) {
+            log.debug("Permit released for service: {} (priority: {})", serviceName, effective);
         }
     }
 
 
     public void reset(String serviceName) {
-        requestTimestamps.remove(serviceName);
+        backend.reset(serviceName);
     }
 
 
     public void resetAll() {
-        requestTimestamps.clear();
+        backend.resetAll();
+    }
+
+    private AtomicIntegerArray waiters(String serviceName) {
+        return waiting.computeIfAbsent(serviceName, k -> new AtomicIntegerArray(VerificationPriority.values().length));
+    }
+
+    private boolean higherPriorityWaiting(String serviceName, VerificationPriority priority) {
+        AtomicIntegerArray waiters = waiting.get(serviceName);
+        if (waiters == null) {
+            return false;
+        }
+        for (int i = 0; i < priority.ordinal(); i++) {
+            if (waiters.get(i) > 0) {
+                return true;
+            }
+        }
+        return false;
     }
-}
 
+    private static VerificationPriority effective(VerificationPriority priority) {
+        return priority != null ? priority : VerificationPriority.INTERACTIVE;
+    }
+}
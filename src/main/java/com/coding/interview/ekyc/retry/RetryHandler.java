@@ -1,5 +1,8 @@
 package com.coding.interview.ekyc.retry;
 
+import com.coding.interview.ekyc.admission.Deadline;
+import com.coding.interview.ekyc.jfr.RetryAttemptEvent;
+import com.coding.interview.ekyc.jfr.RetryBackoffEvent;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
@@ -19,39 +22,31 @@ public class RetryHandler {
             String serviceName,
             String correlationId
     ) throws Exception {
-        Exception lastException = null;
-        long backoffMs = INITIAL_BACKOFF_MS;
-
-        for (int attempt = 1; attempt <= MAX_RETRIES; attempt++) {
-            try {
-                log.debug("[{}] Attempt {}/{} for service: {}",
-                    correlationId, attempt, MAX_RETRIES, serviceName);
-                return operation.get();
-            } catch (Exception e) {
-                lastException = e;
-
-                if (attempt == MAX_RETRIES) {
-                    log.error("[{}] All {} attempts failed for service: {}",
-                        correlationId, MAX_RETRIES, serviceName, e);
-                    break;
-                }
+        return executeWithRetry(operation, serviceName, correlationId, MAX_RETRIES);
+    }
 
-                log.warn("[{}] Attempt {}/{} failed for service: {}, retrying in {}ms - Error: {}",
-                    correlationId, attempt, MAX_RETRIES, serviceName, backoffMs, e.getMessage());
 
-                try {
-                    Thread.sleep(backoffMs);
-                } catch (InterruptedException ie) {
-                    Thread.currentThread().interrupt();
-                    throw new Exception("Retry interrupted", ie);
-                }
+    public <T> T executeWithRetry(
+            Supplier<T> operation,
+            String serviceName,
+            String correlationId,
+            int maxRetries
+    ) throws Exception {
+        return executeWithRetry(operation, serviceName, correlationId, maxRetries, Deadline.none());
+    }
 
-                // Exponential backoff
-                backoffMs = (long) (backoffMs * BACKOFF_MULTIPLIER);
-            }
-        }
 
-        throw lastException != null ? lastException : new Exception("Operation failed");
+    /**
+     * Retries until {@code deadline}: an attempt is not retried when the deadline has passed or
+     * the backoff would end after it.
+     */
+    public <T> T executeWithRetry(
+            Supplier<T> operation,
+            String serviceName,
+            String correlationId,
+            Deadline deadline
+    ) throws Exception {
+        return executeWithRetry(operation, serviceName, correlationId, MAX_RETRIES, deadline);
     }
 
 
@@ -59,35 +54,55 @@ public class RetryHandler {
             Supplier<T> operation,
             String serviceName,
             String correlationId,
-            int maxRetries
+            int maxRetries,
+            Deadline deadline
     ) throws Exception {
         Exception lastException = null;
         long backoffMs = INITIAL_BACKOFF_MS;
 
         for (int attempt = 1; attempt <= maxRetries; attempt++) {
+            RetryAttemptEvent attemptEvent = RetryAttemptEvent.start();
             try {
                 log.debug("[{}] Attempt {}/{} for service: {}",
                     correlationId, attempt, maxRetries, serviceName);
-                return operation.get();
+                T result = operation.get();
+                attemptEvent.finish(serviceName, correlationId, attempt, "SUCCESS");
+                return result;
             } catch (Exception e) {
+                attemptEvent.finish(serviceName, correlationId, attempt, e.getClass().getSimpleName());
                 lastException = e;
 
+                // Cancelled by the caller - don't burn more attempts on a discarded result
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new Exception("Retry interrupted", e);
+                }
+
                 if (attempt == maxRetries) {
                     log.error("[{}] All {} attempts failed for service: {}",
                         correlationId, maxRetries, serviceName, e);
                     break;
                 }
 
+                if (deadline.remainingNanos() <= backoffMs * 1_000_000) {
+                    log.warn("[{}] Attempt {}/{} failed for service: {}, no time left to retry before the deadline - Error: {}",
+                        correlationId, attempt, maxRetries, serviceName, e.getMessage());
+                    break;
+                }
+
                 log.warn("[{}] Attempt {}/{} failed for service: {}, retrying in {}ms - Error: {}",
                     correlationId, attempt, maxRetries, serviceName, backoffMs, e.getMessage());
 
+                RetryBackoffEvent backoffEvent = RetryBackoffEvent.start();
                 try {
                     Thread.sleep(backoffMs);
                 } catch (InterruptedException ie) {
+                    backoffEvent.finish(serviceName, correlationId, attempt, backoffMs, "INTERRUPTED");
                     Thread.currentThread().interrupt();
                     throw new Exception("Retry interrupted", ie);
                 }
+                backoffEvent.finish(serviceName, correlationId, attempt, backoffMs, "COMPLETED");
 
+                // Exponential backoff
                 backoffMs = (long) (backoffMs * BACKOFF_MULTIPLIER);
             }
         }
@@ -95,4 +110,3 @@ public class RetryHandler {
         throw lastException != null ? lastException : new Exception("Operation failed");
     }
 }
-
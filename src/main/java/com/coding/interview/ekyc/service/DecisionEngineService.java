@@ -1,5 +1,6 @@
 package com.coding.interview.ekyc.service;
 
+import com.coding.interview.ekyc.jfr.DecisionEvaluationEvent;
 import com.coding.interview.ekyc.model.KYCDecision;
 import com.coding.interview.ekyc.model.VerificationResult;
 import com.coding.interview.ekyc.model.VerificationStatus;
@@ -8,6 +9,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 
 @Slf4j
@@ -18,21 +21,44 @@ public class DecisionEngineService {
     private static final int MIN_BIOMETRIC_CONFIDENCE = 85;
     private static final double MIN_SIMILARITY_SCORE = 85.0;
     private static final int MIN_ADDRESS_CONFIDENCE = 80;
+    private static final String EXPIRED = "expired";
 
 
     public KYCDecision makeDecision(List<VerificationResult> results, String correlationId) {
+        DecisionEvaluationEvent event = DecisionEvaluationEvent.start();
+        KYCDecision decision = decide(results, correlationId);
+        event.finish(correlationId, false, results.size(), decision);
+        return decision;
+    }
+
+    /**
+     * Evaluates a partial set of results while other checks are still running. Returns a decision only
+     * when no outcome of the {@code pendingTypes} checks could change it, so the caller can cancel them.
+     */
+    public Optional<KYCDecision> decideEarly(
+            List<VerificationResult> results,
+            Set<VerificationType> pendingTypes,
+            String correlationId
+    ) {
+        DecisionEvaluationEvent event = DecisionEvaluationEvent.start();
+        KYCDecision decision = decideEarlyOrNull(results, pendingTypes, correlationId);
+        event.finish(correlationId, true, results.size(), decision);
+        return Optional.ofNullable(decision);
+    }
+
+    private KYCDecision decide(List<VerificationResult> results, String correlationId) {
         log.info("[{}] Making KYC decision based on {} verification results",
             correlationId, results.size());
 
         // Check sanctions first (CRITICAL - immediate rejection)
         VerificationResult sanctionsResult = findResult(results, VerificationType.SANCTIONS);
-        if (sanctionsResult != null && sanctionsResult.getStatus() == VerificationStatus.HIT) {
+        if (sanctionsResult != null && sanctionsResult.status() == VerificationStatus.HIT) {
             log.warn("[{}] Decision: REJECTED - Sanctions hit detected", correlationId);
             return KYCDecision.REJECTED;
         }
 
         // Check if sanctions check failed (must succeed)
-        if (sanctionsResult != null && sanctionsResult.getStatus() == VerificationStatus.FAIL) {
+        if (sanctionsResult != null && sanctionsResult.status() == VerificationStatus.FAIL) {
             log.warn("[{}] Decision: MANUAL_REVIEW - Sanctions check failed (critical service)", correlationId);
             return KYCDecision.MANUAL_REVIEW;
         }
@@ -42,7 +68,7 @@ public class DecisionEngineService {
 
         // Evaluate each verification result
         for (VerificationResult result : results) {
-            switch (result.getVerificationType()) {
+            switch (result.verificationType()) {
                 case ID_DOCUMENT:
                     KYCDecision docDecision = evaluateDocumentVerification(result, correlationId);
                     if (docDecision == KYCDecision.REJECTED) {
@@ -50,7 +76,7 @@ public class DecisionEngineService {
                     } else if (docDecision == KYCDecision.MANUAL_REVIEW) {
                         hasManualReview = true;
                         allPassed = false;
-                    } else if (result.getStatus() != VerificationStatus.PASS) {
+                    } else if (result.status() != VerificationStatus.PASS) {
                         allPassed = false;
                     }
                     break;
@@ -62,7 +88,7 @@ public class DecisionEngineService {
                     } else if (biometricDecision == KYCDecision.MANUAL_REVIEW) {
                         hasManualReview = true;
                         allPassed = false;
-                    } else if (result.getStatus() != VerificationStatus.PASS) {
+                    } else if (result.status() != VerificationStatus.PASS) {
                         allPassed = false;
                     }
                     break;
@@ -74,7 +100,7 @@ public class DecisionEngineService {
                     } else if (addressDecision == KYCDecision.MANUAL_REVIEW) {
                         hasManualReview = true;
                         allPassed = false;
-                    } else if (result.getStatus() != VerificationStatus.PASS) {
+                    } else if (result.status() != VerificationStatus.PASS) {
                         allPassed = false;
                     }
                     break;
@@ -86,7 +112,7 @@ public class DecisionEngineService {
         }
 
         // Make final decision
-        if (allPassed && sanctionsResult != null && sanctionsResult.getStatus() == VerificationStatus.CLEAR) {
+        if (allPassed && sanctionsResult != null && sanctionsResult.status() == VerificationStatus.CLEAR) {
             log.info("[{}] Decision: APPROVED - All verifications passed", correlationId);
             return KYCDecision.APPROVED;
         } else if (hasManualReview) {
@@ -98,9 +124,47 @@ public class DecisionEngineService {
         }
     }
 
+    private KYCDecision decideEarlyOrNull(
+            List<VerificationResult> results,
+            Set<VerificationType> pendingTypes,
+            String correlationId
+    ) {
+        // Sanctions outcomes short-circuit makeDecision before any other check is looked at
+        VerificationResult sanctionsResult = findResult(results, VerificationType.SANCTIONS);
+        if (sanctionsResult != null && sanctionsResult.status() == VerificationStatus.HIT) {
+            log.info("[{}] Early decision: REJECTED - Sanctions hit detected", correlationId);
+            return KYCDecision.REJECTED;
+        }
+        if (sanctionsResult != null && sanctionsResult.status() == VerificationStatus.FAIL) {
+            log.info("[{}] Early decision: MANUAL_REVIEW - Sanctions check failed", correlationId);
+            return KYCDecision.MANUAL_REVIEW;
+        }
+
+        // A pending sanctions check could still turn a rejection into MANUAL_REVIEW
+        if (pendingTypes.contains(VerificationType.SANCTIONS)) {
+            return null;
+        }
+
+        for (VerificationResult result : results) {
+            KYCDecision decision = switch (result.verificationType()) {
+                case ID_DOCUMENT -> evaluateDocumentVerification(result, correlationId);
+                case FACE_MATCH -> evaluateBiometricVerification(result, correlationId);
+                case ADDRESS -> evaluateAddressVerification(result, correlationId);
+                case SANCTIONS -> null;
+            };
+            if (decision == KYCDecision.REJECTED) {
+                log.info("[{}] Early decision: REJECTED - {} check is conclusive, {} checks pending",
+                    correlationId, result.verificationType(), pendingTypes.size());
+                return KYCDecision.REJECTED;
+            }
+        }
+
+        return null;
+    }
+
     private KYCDecision evaluateDocumentVerification(VerificationResult result, String correlationId) {
-        if (result.getStatus() == VerificationStatus.FAIL) {
-            if (result.getReasons().stream().anyMatch(r -> r.toLowerCase().contains("expired"))) {
+        if (result.status() == VerificationStatus.FAIL) {
+            if (mentionsExpiry(result.reasons())) {
                 log.warn("[{}] Document is expired - recommending REJECTION", correlationId);
                 return KYCDecision.REJECTED;
             }
@@ -108,56 +172,69 @@ public class DecisionEngineService {
             return KYCDecision.MANUAL_REVIEW;
         }
 
-        if (result.getConfidence() != null && result.getConfidence() < MIN_DOCUMENT_CONFIDENCE) {
+        if (result.hasConfidence() && result.confidence() < MIN_DOCUMENT_CONFIDENCE) {
             log.info("[{}] Document confidence {}% is below threshold {}% - recommending MANUAL_REVIEW",
-                correlationId, result.getConfidence(), MIN_DOCUMENT_CONFIDENCE);
+                correlationId, result.confidence(), MIN_DOCUMENT_CONFIDENCE);
             return KYCDecision.MANUAL_REVIEW;
         }
 
-        return result.getStatus() == VerificationStatus.PASS ? KYCDecision.APPROVED : KYCDecision.MANUAL_REVIEW;
+        return result.status() == VerificationStatus.PASS ? KYCDecision.APPROVED : KYCDecision.MANUAL_REVIEW;
     }
 
     private KYCDecision evaluateBiometricVerification(VerificationResult result, String correlationId) {
-        if (result.getStatus() == VerificationStatus.FAIL) {
+        if (result.status() == VerificationStatus.FAIL) {
             log.info("[{}] Biometric verification failed - recommending MANUAL_REVIEW", correlationId);
             return KYCDecision.MANUAL_REVIEW;
         }
 
-        if (result.getConfidence() != null && result.getConfidence() < MIN_BIOMETRIC_CONFIDENCE) {
+        if (result.hasConfidence() && result.confidence() < MIN_BIOMETRIC_CONFIDENCE) {
             log.info("[{}] Biometric confidence {}% is below threshold {}% - recommending MANUAL_REVIEW",
-                correlationId, result.getConfidence(), MIN_BIOMETRIC_CONFIDENCE);
+                correlationId, result.confidence(), MIN_BIOMETRIC_CONFIDENCE);
             return KYCDecision.MANUAL_REVIEW;
         }
 
-        if (result.getSimilarityScore() != null && result.getSimilarityScore() < MIN_SIMILARITY_SCORE) {
+        if (result.hasSimilarityScore() && result.similarityScore() < MIN_SIMILARITY_SCORE) {
             log.info("[{}] Similarity score {}% is below threshold {}% - recommending MANUAL_REVIEW",
-                correlationId, result.getSimilarityScore(), MIN_SIMILARITY_SCORE);
+                correlationId, result.similarityScore(), MIN_SIMILARITY_SCORE);
             return KYCDecision.MANUAL_REVIEW;
         }
 
-        return result.getStatus() == VerificationStatus.PASS ? KYCDecision.APPROVED : KYCDecision.MANUAL_REVIEW;
+        return result.status() == VerificationStatus.PASS ? KYCDecision.APPROVED : KYCDecision.MANUAL_REVIEW;
     }
 
     private KYCDecision evaluateAddressVerification(VerificationResult result, String correlationId) {
-        if (result.getStatus() == VerificationStatus.FAIL) {
+        if (result.status() == VerificationStatus.FAIL) {
             log.info("[{}] Address verification failed - recommending MANUAL_REVIEW", correlationId);
             return KYCDecision.MANUAL_REVIEW;
         }
 
-        if (result.getConfidence() != null && result.getConfidence() < MIN_ADDRESS_CONFIDENCE) {
+        if (result.hasConfidence() && result.confidence() < MIN_ADDRESS_CONFIDENCE) {
             log.info("[{}] Address confidence {}% is below threshold {}% - recommending MANUAL_REVIEW",
-                correlationId, result.getConfidence(), MIN_ADDRESS_CONFIDENCE);
+                correlationId, result.confidence(), MIN_ADDRESS_CONFIDENCE);
             return KYCDecision.MANUAL_REVIEW;
         }
 
-        return result.getStatus() == VerificationStatus.PASS ? KYCDecision.APPROVED : KYCDecision.MANUAL_REVIEW;
+        return result.status() == VerificationStatus.PASS ? KYCDecision.APPROVED : KYCDecision.MANUAL_REVIEW;
+    }
+
+    private static boolean mentionsExpiry(List<String> reasons) {
+        for (String reason : reasons) {
+            for (int i = 0; i + EXPIRED.length() <= reason.length(); i++) {
+                if (reason.regionMatches(true, i, EXPIRED, 0, EXPIRED.length())) {
+                    return true;
+                }
+            }
+        }
+        return false;
     }
 
     private VerificationResult findResult(List<VerificationResult> results, VerificationType type) {
-        return results.stream()
-            .filter(r -> r.getVerificationType() == type)
-            .findFirst()
-            .orElse(null);
+        for (VerificationResult result : results) {
+            if (result.verificationType() == type) {
+                return result;
+            }
+        }
+        return null;
     }
 }
 
@@ -0,0 +1,52 @@
+package com.coding.interview.ekyc.service;
+
+import com.coding.interview.ekyc.journal.PendingVerification;
+import com.coding.interview.ekyc.journal.VerificationJournal;
+import com.coding.interview.ekyc.model.KYCDecisionResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+
+/**
+ * Resumes the verifications the journal found unfinished once the application is up and
+ * publishes each outcome as a {@link VerificationResumedEvent}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class JournalRecoveryService {
+
+    private final VerificationJournal journal;
+    private final KYCOrchestrationService orchestrationService;
+    private final ExecutorService verificationExecutor;
+    private final ApplicationEventPublisher eventPublisher;
+
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumePending() {
+        List<PendingVerification> pending = journal.takePending();
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        log.info("Resuming {} verification(s) interrupted by the last shutdown", pending.size());
+        for (PendingVerification verification : pending) {
+            verificationExecutor.submit(() -> {
+                try {
+                    KYCDecisionResult result = orchestrationService.resume(verification);
+                    log.info("[{}] Resumed verification finished: {}", verification.verificationId(), result.decision());
+                    eventPublisher.publishEvent(new VerificationResumedEvent(verification.verificationId(), result));
+                } catch (Exception e) {
+                    log.error("[{}] Resumed verification failed", verification.verificationId(), e);
+                }
+            });
+        }
+    }
+}
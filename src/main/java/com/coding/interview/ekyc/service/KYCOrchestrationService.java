@@ -1,22 +1,48 @@
 package com.coding.interview.ekyc.service;
 
+import com.coding.interview.ekyc.admission.AdmissionController;
+import com.coding.interview.ekyc.admission.AdmissionRejectedException;
+import com.coding.interview.ekyc.admission.Deadline;
 import com.coding.interview.ekyc.client.AddressVerificationClient;
 import com.coding.interview.ekyc.client.BiometricVerificationClient;
 import com.coding.interview.ekyc.client.DocumentVerificationClient;
 import com.coding.interview.ekyc.client.SanctionsScreeningClient;
+import com.coding.interview.ekyc.journal.PendingVerification;
+import com.coding.interview.ekyc.journal.VerificationJournal;
+import com.coding.interview.ekyc.jfr.VerificationEvent;
 import com.coding.interview.ekyc.model.*;
+import com.coding.interview.ekyc.plan.PlanStep;
+import com.coding.interview.ekyc.plan.VerificationPlan;
+import com.coding.interview.ekyc.plan.VerificationPlanCompiler;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 
 @Slf4j
 @Service
+@RegisterReflectionForBinding(KYCDecisionResult.class)
 @RequiredArgsConstructor
 public class KYCOrchestrationService {
 
@@ -25,6 +51,16 @@ public class KYCOrchestrationService {
     private final AddressVerificationClient addressClient;
     private final SanctionsScreeningClient sanctionsClient;
     private final DecisionEngineService decisionEngine;
+    private final ExecutorService verificationExecutor;
+    private final VerificationJournal journal;
+    private final VerificationPlanCompiler planCompiler;
+    private final AdmissionController admissionController;
+
+    @Value("${ekyc.orchestration.speculative-sanctions:false}")
+    private boolean speculativeSanctions;
+
+    @Value("${ekyc.admission.default-timeout-ms:30000}")
+    private long defaultTimeoutMs = 30000;
 
 
     public KYCDecisionResult performVerification(Customer customer, VerificationRequest request) {
@@ -32,57 +68,86 @@ public class KYCOrchestrationService {
         String correlationId = request.getRequestId() != null ?
             request.getRequestId() : UUID.randomUUID().toString();
 
+        VerificationEvent event = VerificationEvent.start();
+        VerificationPlan plan = planCompiler.compile(customer, request, correlationId);
+        Deadline deadline;
+        try {
+            deadline = admissionController.admit(plan, request, correlationId);
+        } catch (AdmissionRejectedException e) {
+            KYCDecisionResult deferred = deferredResult(customer, request, e.getRetryAfter(), correlationId);
+            event.finish(correlationId, customer.getCustomerId(), request.getPriority(), false, deferred.decision());
+            return deferred;
+        }
+
+        journal.started(correlationId, customer, request);
+        KYCDecisionResult decisionResult =
+            verify(customer, request, plan, deadline, new EnumMap<>(VerificationType.class), correlationId);
+        journal.finished(correlationId, decisionResult.decision());
+        event.finish(correlationId, customer.getCustomerId(), request.getPriority(), false, decisionResult.decision());
+        return decisionResult;
+    }
+
+
+    /**
+     * Continues a verification interrupted by a restart, reusing the checks the journal
+     * recorded as completed instead of calling their providers again. It was admitted before
+     * the restart, so it is not shed now and gets the default timeout.
+     */
+    public KYCDecisionResult resume(PendingVerification pending) {
+        Map<VerificationType, VerificationResult> completedChecks = new EnumMap<>(VerificationType.class);
+        pending.completedChecks().forEach(result -> completedChecks.put(result.verificationType(), result));
+
+        log.info("[{}] Resuming KYC verification with completed checks: {}",
+            pending.verificationId(), completedChecks.keySet());
+        VerificationEvent event = VerificationEvent.start();
+        VerificationPlan plan = planCompiler.compile(pending.customer(), pending.request(), pending.verificationId());
+        KYCDecisionResult decisionResult = verify(pending.customer(), pending.request(), plan,
+            Deadline.after(Duration.ofMillis(defaultTimeoutMs)), completedChecks, pending.verificationId());
+        journal.finished(pending.verificationId(), decisionResult.decision());
+        event.finish(pending.verificationId(), pending.customer().getCustomerId(), pending.request().getPriority(),
+            true, decisionResult.decision());
+        return decisionResult;
+    }
+
+    private KYCDecisionResult verify(
+            Customer customer,
+            VerificationRequest request,
+            VerificationPlan plan,
+            Deadline deadline,
+            Map<VerificationType, VerificationResult> completedChecks,
+            String correlationId
+    ) {
         log.info("[{}] ========== Starting KYC verification for customer: {} ==========",
             correlationId, customer.getCustomerId());
-        log.info("[{}] Verification types requested: {}", correlationId, request.getVerificationTypes());
+        log.info("[{}] Verification priority: {}", correlationId, request.getPriority());
 
         List<VerificationResult> results = new ArrayList<>();
         Instant startTime = Instant.now();
 
         try {
-            if (request.getVerificationTypes().contains(VerificationType.SANCTIONS)) {
-                try {
+            boolean sanctionsRequested = plan.includes(VerificationType.SANCTIONS);
+            VerificationResult journaledSanctions = completedChecks.get(VerificationType.SANCTIONS);
+
+            if (sanctionsRequested && (journaledSanctions != null || !speculativeSanctions)) {
+                VerificationResult sanctionsResult = journaledSanctions;
+                if (sanctionsResult == null) {
                     log.info("[{}] Performing CRITICAL sanctions screening", correlationId);
-                    VerificationResult sanctionsResult = sanctionsClient.verify(customer, correlationId);
-                    results.add(sanctionsResult);
+                    sanctionsResult = screenSanctions(customer, request, deadline, correlationId);
+                    journal.checkCompleted(correlationId, sanctionsResult);
+                }
+                results.add(sanctionsResult);
 
-                    if (sanctionsResult.getStatus() == VerificationStatus.HIT) {
-                        log.warn("[{}] SANCTIONS HIT - Stopping verification immediately", correlationId);
-                        return buildDecisionResult(customer, request, results, correlationId);
-                    }
-                } catch (Exception e) {
-                    log.error("[{}] CRITICAL: Sanctions screening failed - cannot proceed", correlationId, e);
-                    results.add(VerificationResult.builder()
-                        .verificationType(VerificationType.SANCTIONS)
-                        .status(VerificationStatus.FAIL)
-                        .confidence(0)
-                        .reasons(List.of("Sanctions service unavailable"))
-                        .timestamp(Instant.now())
-                        .build());
+                // A FAIL status stops the flow like an unavailable provider does, so no other
+                // check runs on an unscreened customer - the same rule as the speculative gate
+                if (sanctionsResult.status() == VerificationStatus.HIT
+                        || sanctionsResult.status() == VerificationStatus.FAIL) {
                     return buildDecisionResult(customer, request, results, correlationId);
                 }
             }
 
-            // Perform document verification
-            if (request.getVerificationTypes().contains(VerificationType.ID_DOCUMENT)) {
-                log.info("[{}] Performing document verification", correlationId);
-                VerificationResult docResult = documentClient.verify(customer, request, correlationId);
-                results.add(docResult);
-            }
-
-            // Perform biometric verification
-            if (request.getVerificationTypes().contains(VerificationType.FACE_MATCH)) {
-                log.info("[{}] Performing biometric verification", correlationId);
-                VerificationResult biometricResult = biometricClient.verify(customer, request, correlationId);
-                results.add(biometricResult);
-            }
-
-            // Perform address verification
-            if (request.getVerificationTypes().contains(VerificationType.ADDRESS)) {
-                log.info("[{}] Performing address verification", correlationId);
-                VerificationResult addressResult = addressClient.verify(customer, request, correlationId);
-                results.add(addressResult);
-            }
+            // Run the remaining checks as the plan allows, re-evaluating as each one completes
+            runChecks(customer, request, plan, sanctionsRequested && journaledSanctions == null && speculativeSanctions,
+                deadline, completedChecks, results, correlationId);
 
             // Build and return decision
             return buildDecisionResult(customer, request, results, correlationId);
@@ -97,6 +162,287 @@ public class KYCOrchestrationService {
         }
     }
 
+    /**
+     * Screens the customer against sanctions lists. A provider failure comes back as a FAIL
+     * result, which stops the verification because the check is critical.
+     */
+    private VerificationResult screenSanctions(
+            Customer customer,
+            VerificationRequest request,
+            Deadline deadline,
+            String correlationId
+    ) {
+        VerificationResult sanctionsResult = sanctionsClient.verify(customer, request, deadline, correlationId);
+        if (sanctionsResult.status() == VerificationStatus.HIT) {
+            log.warn("[{}] SANCTIONS HIT - Stopping verification immediately", correlationId);
+        } else if (sanctionsResult.status() == VerificationStatus.FAIL) {
+            log.error("[{}] CRITICAL: Sanctions screening failed - cannot proceed", correlationId);
+        }
+        return sanctionsResult;
+    }
+
+    /**
+     * Runs the planned document, biometric and address checks and collects their results in
+     * completion order. A check starts as soon as the checks it depends on have completed, so
+     * independent checks run concurrently; a step-up check is dropped when its dependencies were
+     * conclusive. Once the decision engine reports that the outcome is settled, the checks still
+     * in flight are cancelled and the ones not yet started are never run.
+     *
+     * <p>With {@code gateOnSanctions} the sanctions screening runs alongside the other checks,
+     * but acts as a commit gate: nothing is returned before it completes, and a HIT or failure
+     * discards the speculative results and cancels the rest, exactly as the sequential flow would.
+     *
+     * <p>When the deadline passes, every check still outstanding is recorded as a FAIL and cancelled.
+     */
+    private void runChecks(
+            Customer customer,
+            VerificationRequest request,
+            VerificationPlan plan,
+            boolean gateOnSanctions,
+            Deadline deadline,
+            Map<VerificationType, VerificationResult> completedChecks,
+            List<VerificationResult> results,
+            String correlationId
+    ) throws InterruptedException {
+        CompletionService<VerificationResult> completionService =
+            new ExecutorCompletionService<>(verificationExecutor);
+        Map<VerificationType, Future<VerificationResult>> pending = new EnumMap<>(VerificationType.class);
+        Map<VerificationType, VerificationResult> done = new EnumMap<>(VerificationType.class);
+        results.forEach(result -> done.put(result.verificationType(), result));
+
+        // Planned checks not started yet
+        Set<VerificationType> waiting = EnumSet.noneOf(VerificationType.class);
+        for (VerificationType type : plan.checks()) {
+            if (type == VerificationType.SANCTIONS) {
+                continue;
+            }
+            VerificationResult completed = completedChecks.get(type);
+            if (completed != null) {
+                results.add(completed);
+                done.put(type, completed);
+            } else {
+                waiting.add(type);
+            }
+        }
+
+        Set<VerificationType> toRun = EnumSet.copyOf(waiting);
+        if (gateOnSanctions) {
+            toRun.add(VerificationType.SANCTIONS);
+        }
+
+        if (!toRun.isEmpty() && decisionEngine.decideEarly(results, toRun, correlationId).isPresent()) {
+            log.info("[{}] Outcome already settled by completed checks - skipping: {}", correlationId, toRun);
+            return;
+        }
+
+        if (gateOnSanctions) {
+            log.info("[{}] Performing CRITICAL sanctions screening (speculative)", correlationId);
+            pending.put(VerificationType.SANCTIONS, submitCheck(completionService, VerificationType.SANCTIONS,
+                () -> screenSanctions(customer, request, deadline, correlationId), correlationId));
+        }
+        submitReadyChecks(customer, request, plan, gateOnSanctions, deadline, waiting, done, pending,
+            completionService, correlationId);
+
+        try {
+            while (!pending.isEmpty()) {
+                Future<VerificationResult> completed =
+                    completionService.poll(deadline.remainingNanos(), TimeUnit.NANOSECONDS);
+                if (completed == null) {
+                    abandonAtDeadline(outstanding(pending, waiting), results, correlationId);
+                    break;
+                }
+                if (completed.isCancelled()) {
+                    continue;
+                }
+
+                VerificationResult result = completed.get();
+                pending.remove(result.verificationType());
+                results.add(result);
+                done.put(result.verificationType(), result);
+                journal.checkCompleted(correlationId, result);
+
+                if (result.verificationType() == VerificationType.SANCTIONS
+                        && (result.status() == VerificationStatus.HIT
+                            || result.status() == VerificationStatus.FAIL)) {
+                    results.removeIf(r -> r.verificationType() != VerificationType.SANCTIONS);
+                    log.warn("[{}] Sanctions gate closed ({}) - discarding speculative checks: {}",
+                        correlationId, result.status(), outstanding(pending, waiting));
+                    break;
+                }
+
+                Set<VerificationType> outstanding = outstanding(pending, waiting);
+                Optional<KYCDecision> earlyDecision =
+                    decisionEngine.decideEarly(results, outstanding, correlationId);
+                if (earlyDecision.isPresent() && !outstanding.isEmpty()) {
+                    log.info("[{}] Outcome settled as {} - cancelling outstanding checks: {}",
+                        correlationId, earlyDecision.get(), outstanding);
+                    break;
+                }
+
+                if (pending.containsKey(VerificationType.SANCTIONS) && outstanding.size() > 1) {
+                    cancelChecksSettledPendingSanctions(pending, waiting, results, correlationId);
+                }
+
+                submitReadyChecks(customer, request, plan, gateOnSanctions, deadline, waiting, done, pending,
+                    completionService, correlationId);
+            }
+        } catch (ExecutionException e) {
+            // submitCheck never completes exceptionally; treat it as an unexpected error
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            pending.values().forEach(future -> future.cancel(true));
+        }
+    }
+
+    /**
+     * Starts every waiting check whose dependencies have completed. A sanctions dependency counts
+     * as met while the sanctions gate is open. Step-up checks whose dependencies were conclusive are
+     * dropped, as is anything depending on a dropped check.
+     */
+    private void submitReadyChecks(
+            Customer customer,
+            VerificationRequest request,
+            VerificationPlan plan,
+            boolean gateOnSanctions,
+            Deadline deadline,
+            Set<VerificationType> waiting,
+            Map<VerificationType, VerificationResult> done,
+            Map<VerificationType, Future<VerificationResult>> pending,
+            CompletionService<VerificationResult> completionService,
+            String correlationId
+    ) {
+        boolean dropped = true;
+        while (dropped) {
+            dropped = false;
+            for (Iterator<VerificationType> it = waiting.iterator(); it.hasNext(); ) {
+                PlanStep step = plan.step(it.next());
+                boolean ready = true;
+                boolean blocked = false;
+                for (VerificationType dependency : step.dependsOn()) {
+                    if (done.containsKey(dependency)
+                            || (dependency == VerificationType.SANCTIONS && gateOnSanctions)) {
+                        continue;
+                    }
+                    ready = false;
+                    blocked |= !pending.containsKey(dependency) && !waiting.contains(dependency);
+                }
+
+                if (blocked) {
+                    log.info("[{}] Skipping {} - a check it depends on did not run", correlationId, step.type());
+                    it.remove();
+                    dropped = true;
+                } else if (ready && !step.stepUpNeeded(done)) {
+                    log.info("[{}] Skipping step-up {} - {} conclusive", correlationId, step.type(), step.dependsOn());
+                    it.remove();
+                    dropped = true;
+                } else if (ready) {
+                    it.remove();
+                    log.info("[{}] Performing {} verification{}", correlationId, step.type(),
+                        step.isStepUp() ? " (step-up)" : "");
+                    pending.put(step.type(), submitCheck(completionService, step.type(),
+                        check(step.type(), customer, request, deadline, correlationId), correlationId));
+                }
+            }
+        }
+    }
+
+    private Callable<VerificationResult> check(
+            VerificationType type,
+            Customer customer,
+            VerificationRequest request,
+            Deadline deadline,
+            String correlationId
+    ) {
+        return switch (type) {
+            case ID_DOCUMENT -> () -> documentClient.verify(customer, request, deadline, correlationId);
+            case FACE_MATCH -> () -> biometricClient.verify(customer, request, deadline, correlationId);
+            case ADDRESS -> () -> addressClient.verify(customer, request, deadline, correlationId);
+            case SANCTIONS -> () -> screenSanctions(customer, request, deadline, correlationId);
+        };
+    }
+
+    /**
+     * Records the checks still outstanding at the deadline as failed. Speculative results are
+     * discarded when sanctions is among them, as they would be had the screening failed.
+     */
+    private static void abandonAtDeadline(
+            Set<VerificationType> outstanding,
+            List<VerificationResult> results,
+            String correlationId
+    ) {
+        log.warn("[{}] Deadline passed - abandoning outstanding checks: {}", correlationId, outstanding);
+        Set<VerificationType> failed = outstanding;
+        if (outstanding.contains(VerificationType.SANCTIONS)) {
+            results.removeIf(r -> r.verificationType() != VerificationType.SANCTIONS);
+            failed = EnumSet.of(VerificationType.SANCTIONS);
+        }
+        for (VerificationType type : failed) {
+            results.add(VerificationResult.builder()
+                .verificationType(type)
+                .status(VerificationStatus.FAIL)
+                .confidence(0)
+                .reasons(Reasons.DEADLINE_EXCEEDED)
+                .timestamp(Instant.now())
+                .build());
+        }
+    }
+
+    private static Set<VerificationType> outstanding(
+            Map<VerificationType, Future<VerificationResult>> pending,
+            Set<VerificationType> waiting
+    ) {
+        Set<VerificationType> outstanding = EnumSet.copyOf(waiting);
+        outstanding.addAll(pending.keySet());
+        return outstanding;
+    }
+
+    /**
+     * While the sanctions gate is open, the other checks can already be settled: whatever sanctions
+     * returns, a conclusive rejection among them makes the rest irrelevant.
+     */
+    private void cancelChecksSettledPendingSanctions(
+            Map<VerificationType, Future<VerificationResult>> pending,
+            Set<VerificationType> waiting,
+            List<VerificationResult> results,
+            String correlationId
+    ) {
+        Set<VerificationType> otherChecks = outstanding(pending, waiting);
+        otherChecks.remove(VerificationType.SANCTIONS);
+
+        if (decisionEngine.decideEarly(results, otherChecks, correlationId).isPresent()) {
+            log.info("[{}] Checks settled ahead of sanctions - cancelling: {}", correlationId, otherChecks);
+            waiting.clear();
+            for (VerificationType type : otherChecks) {
+                Future<VerificationResult> future = pending.remove(type);
+                if (future != null) {
+                    future.cancel(true);
+                }
+            }
+        }
+    }
+
+    private Future<VerificationResult> submitCheck(
+            CompletionService<VerificationResult> completionService,
+            VerificationType type,
+            Callable<VerificationResult> check,
+            String correlationId
+    ) {
+        return completionService.submit(() -> {
+            try {
+                return check.call();
+            } catch (Exception e) {
+                log.error("[{}] {} check failed unexpectedly", correlationId, type, e);
+                return VerificationResult.builder()
+                    .verificationType(type)
+                    .status(VerificationStatus.FAIL)
+                    .confidence(0)
+                    .reasons(Reasons.withDetail(Reasons.VERIFICATION_ERROR, e.getMessage()))
+                    .timestamp(Instant.now())
+                    .build();
+            }
+        });
+    }
+
     private KYCDecisionResult buildDecisionResult(
             Customer customer,
             VerificationRequest request,
@@ -121,14 +467,31 @@ public class KYCOrchestrationService {
         return decisionResult;
     }
 
+    private KYCDecisionResult deferredResult(
+            Customer customer,
+            VerificationRequest request,
+            Duration retryAfter,
+            String correlationId
+    ) {
+        log.info("[{}] Final KYC Decision: {} for customer: {} - retry after {}ms",
+            correlationId, KYCDecision.DEFERRED, customer.getCustomerId(), retryAfter.toMillis());
+        return KYCDecisionResult.builder()
+            .decision(KYCDecision.DEFERRED)
+            .timestamp(Instant.now())
+            .requestId(request.getRequestId())
+            .customerId(customer.getCustomerId())
+            .retryAfter(retryAfter)
+            .build();
+    }
+
     private void logVerificationSummary(List<VerificationResult> results, String correlationId) {
         log.info("[{}] Verification Summary:", correlationId);
         for (VerificationResult result : results) {
             log.info("[{}]   - {}: {} (confidence: {}%)",
                 correlationId,
-                result.getVerificationType(),
-                result.getStatus(),
-                result.getConfidence() != null ? result.getConfidence() : "N/A");
+                result.verificationType(),
+                result.status(),
+                result.confidence());
         }
     }
 }
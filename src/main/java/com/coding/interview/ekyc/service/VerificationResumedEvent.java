@@ -0,0 +1,10 @@
+package com.coding.interview.ekyc.service;
+
+import com.coding.interview.ekyc.model.KYCDecisionResult;
+
+/**
+ * Published when a verification interrupted by a restart has been resumed and decided. Its
+ * original caller is gone, so listeners are where the outcome reaches the customer record.
+ */
+public record VerificationResumedEvent(String verificationId, KYCDecisionResult result) {
+}
@@ -0,0 +1,88 @@
+package com.coding.interview.ekyc.transport;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The endpoints serving one provider. Requests are spread round-robin over the healthy ones;
+ * an endpoint that fails several times in a row is ejected for a while. If every endpoint is
+ * ejected the pool fails open to the one due back soonest rather than refusing to send.
+ */
+@Slf4j
+public class EndpointPool {
+    private static final int MAX_CONSECUTIVE_FAILURES = 3;
+    private static final Duration EJECTION_TIME = Duration.ofSeconds(30);
+
+    @Getter
+    private final String serviceName;
+    @Getter
+    private final List<Endpoint> endpoints;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public EndpointPool(String serviceName, List<String> urls) {
+        this.serviceName = serviceName;
+        this.endpoints = urls == null ? List.of() : urls.stream()
+            .map(String::trim)
+            .filter(url -> !url.isEmpty())
+            .map(url -> new Endpoint(serviceName, URI.create(url)))
+            .toList();
+        if (endpoints.isEmpty()) {
+            throw new IllegalArgumentException("No endpoints configured for " + serviceName);
+        }
+    }
+
+
+    public Endpoint select() {
+        long now = System.nanoTime();
+        int size = endpoints.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+
+        for (int i = 0; i < size; i++) {
+            Endpoint endpoint = endpoints.get((start + i) % size);
+            if (endpoint.isAvailable(now)) {
+                return endpoint;
+            }
+        }
+
+        return endpoints.stream()
+            .min(Comparator.comparingLong(endpoint -> endpoint.ejectedUntilNanos - now))
+            .orElseThrow();
+    }
+
+
+    public static final class Endpoint {
+        private final String serviceName;
+        @Getter
+        private final URI uri;
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        private volatile long ejectedUntilNanos = System.nanoTime();
+
+        private Endpoint(String serviceName, URI uri) {
+            this.serviceName = serviceName;
+            this.uri = uri;
+        }
+
+        public void recordSuccess() {
+            consecutiveFailures.set(0);
+        }
+
+        public void recordFailure() {
+            if (consecutiveFailures.incrementAndGet() >= MAX_CONSECUTIVE_FAILURES) {
+                consecutiveFailures.set(0);
+                ejectedUntilNanos = System.nanoTime() + EJECTION_TIME.toNanos();
+                log.warn("Ejecting endpoint {} of service: {} for {}s after {} consecutive failures",
+                    uri, serviceName, EJECTION_TIME.toSeconds(), MAX_CONSECUTIVE_FAILURES);
+            }
+        }
+
+        public boolean isAvailable(long nowNanos) {
+            return nowNanos - ejectedUntilNanos >= 0;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.coding.interview.ekyc.transport;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Owns the HTTP transport towards the providers: one {@link HttpClient} per provider with
+ * its own connection pool and executor, HTTP/2 by default (the client falls back to HTTP/1.1
+ * when the provider does not negotiate it), the provider's {@link EndpointPool}, and
+ * connection warm-up once the application is ready.
+ *
+ * <p>Settings come from {@code ekyc.transport.<service>.*}, falling back to {@code ekyc.transport.*}.
+ * Keep-alive and pool size are JDK-wide and only applied if not already set as system properties.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProviderTransport {
+    private static final String DEFAULT_HTTP_VERSION = "HTTP_2";
+    private static final int DEFAULT_THREADS_PER_PROVIDER = 4;
+    private static final long DEFAULT_CONNECT_TIMEOUT_MS = 10_000;
+    private static final long DEFAULT_KEEP_ALIVE_SECONDS = 120;
+    private static final int DEFAULT_CONNECTION_POOL_SIZE = 0;   // 0 = unbounded (JDK default)
+    private static final Duration WARM_UP_TIMEOUT = Duration.ofSeconds(2);
+
+    private final Environment environment;
+    private final Map<String, HttpClient> httpClients = new ConcurrentHashMap<>();
+    private final Map<String, ExecutorService> executors = new ConcurrentHashMap<>();
+    private final Map<String, EndpointPool> endpointPools = new ConcurrentHashMap<>();
+
+
+    @PostConstruct
+    void tuneConnectionPool() {
+        long keepAlive = environment.getProperty("ekyc.transport.keep-alive-seconds", Long.class,
+            DEFAULT_KEEP_ALIVE_SECONDS);
+        int poolSize = environment.getProperty("ekyc.transport.connection-pool-size", Integer.class,
+            DEFAULT_CONNECTION_POOL_SIZE);
+
+        setIfAbsent("jdk.httpclient.keepalive.timeout", String.valueOf(keepAlive));
+        setIfAbsent("jdk.httpclient.keepalive.timeout.h2", String.valueOf(keepAlive));
+        setIfAbsent("jdk.httpclient.connectionPoolSize", String.valueOf(poolSize));
+    }
+
+
+    public void registerEndpoints(String serviceName, List<String> urls) {
+        EndpointPool pool = new EndpointPool(serviceName, urls);
+        endpointPools.put(serviceName, pool);
+        log.info("Registered {} endpoint(s) for service: {}", pool.getEndpoints().size(), serviceName);
+    }
+
+
+    public EndpointPool endpoints(String serviceName) {
+        EndpointPool pool = endpointPools.get(serviceName);
+        if (pool == null) {
+            throw new IllegalStateException("No endpoints registered for " + serviceName);
+        }
+        return pool;
+    }
+
+
+    public HttpClient client(String serviceName) {
+        return httpClients.computeIfAbsent(serviceName, this::createClient);
+    }
+
+
+    /**
+     * Opens a connection to every endpoint ahead of the first real request, so the first
+     * verifications do not pay for TCP/TLS setup and HTTP/2 negotiation. A connection failure
+     * counts against the endpoint's health; any HTTP response counts as reachable.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!environment.getProperty("ekyc.transport.warm-up.enabled", Boolean.class, true)) {
+            return;
+        }
+
+        endpointPools.forEach((serviceName, pool) -> {
+            HttpClient client = client(serviceName);
+            for (EndpointPool.Endpoint endpoint : pool.getEndpoints()) {
+                HttpRequest request = HttpRequest.newBuilder(endpoint.getUri())
+                    .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                    .timeout(WARM_UP_TIMEOUT)
+                    .build();
+
+                client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        if (error == null) {
+                            log.info("Warmed up connection to {} ({}, status {})",
+                                endpoint.getUri(), response.version(), response.statusCode());
+                        } else {
+                            log.warn("Warm-up of {} for service: {} failed - Error: {}",
+                                endpoint.getUri(), serviceName, error.getMessage());
+                            Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                            if (cause instanceof IOException) {
+                                endpoint.recordFailure();
+                            }
+                        }
+                    });
+            }
+        });
+    }
+
+
+    @PreDestroy
+    public void close() {
+        httpClients.values().forEach(HttpClient::shutdownNow);
+        executors.values().forEach(ExecutorService::shutdownNow);
+    }
+
+    private HttpClient createClient(String serviceName) {
+        HttpClient.Version version = HttpClient.Version.valueOf(
+            property(serviceName, "http-version", String.class, DEFAULT_HTTP_VERSION));
+        int threads = property(serviceName, "threads", Integer.class, DEFAULT_THREADS_PER_PROVIDER);
+        long connectTimeoutMs = property(serviceName, "connect-timeout-ms", Long.class, DEFAULT_CONNECT_TIMEOUT_MS);
+
+        ExecutorService executor = executors.computeIfAbsent(serviceName, name ->
+            Executors.newFixedThreadPool(threads, Thread.ofPlatform().name("http-" + name + "-", 0).daemon(true).factory()));
+
+        log.info("Creating HTTP client for service: {} (version: {}, threads: {})", serviceName, version, threads);
+        return HttpClient.newBuilder()
+            .version(version)
+            .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+            .executor(executor)
+            .build();
+    }
+
+    private <T> T property(String serviceName, String key, Class<T> type, T defaultValue) {
+        T fallback = environment.getProperty("ekyc.transport." + key, type, defaultValue);
+        return environment.getProperty("ekyc.transport." + serviceName + "." + key, type, fallback);
+    }
+
+    private static void setIfAbsent(String key, String value) {
+        if (System.getProperty(key) == null) {
+            System.setProperty(key, value);
+        }
+    }
+}
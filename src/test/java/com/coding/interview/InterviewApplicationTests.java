@@ -3,7 +3,8 @@ package com.coding.interview;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+// H2 is on the test classpath only; production configures its own datasource
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:interview")
 class InterviewApplicationTests {
 
 	@Test
@@ -0,0 +1,94 @@
+package com.coding.interview.address;
+
+import com.coding.interview.ekyc.address.AddressNormalizer;
+import com.coding.interview.ekyc.address.VerifiedAddressIndex;
+import com.coding.interview.ekyc.model.Customer;
+import com.coding.interview.ekyc.model.VerificationResult;
+import com.coding.interview.ekyc.model.VerificationStatus;
+import com.coding.interview.ekyc.model.VerificationType;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VerifiedAddressIndexTest {
+    private static final Instant NOW = Instant.parse("2030-12-01T00:00:00Z");
+    private static final Customer CUSTOMER = Customer.builder().customerId("CUST-001").build();
+
+    @Test
+    void formattingVariantsShareOneCanonicalForm() {
+        String canonical = AddressNormalizer.canonicalize("12 North Main Street, Apartment 4B, Springfield");
+
+        assertThat(AddressNormalizer.canonicalize("12 n. main st., apt 4b springfield")).isEqualTo(canonical);
+        assertThat(AddressNormalizer.canonicalize("  12  N MAIN ST  #  APT 4B,,Springfield ")).isEqualTo(canonical);
+        assertThat(AddressNormalizer.canonicalize("12 St Kilda Rd")).isEqualTo("12 SAINT KILDA ROAD");
+        assertThat(AddressNormalizer.canonicalize("Rue de l'Église 12-14")).isEqualTo("RUE DE L EGLISE 12-14");
+        assertThat(AddressNormalizer.clean("12 n. main st., apt 4b")).isEqualTo("12 N MAIN ST APT 4B");
+        assertThat(AddressNormalizer.canonicalize(" ,. ")).isEmpty();
+    }
+
+    @Test
+    void passResultIsServedForTheSameAddressUntilItExpires() {
+        VerifiedAddressIndex index = open(NOW, 10);
+        index.put(CUSTOMER, AddressNormalizer.canonicalize("1 High St"), result(VerificationStatus.PASS), "c1");
+        index.put(CUSTOMER, AddressNormalizer.canonicalize("2 High St"), result(VerificationStatus.FAIL), "c2");
+
+        assertThat(index.get(CUSTOMER, AddressNormalizer.canonicalize("1 high street"), "c3")).isPresent();
+        assertThat(index.get(CUSTOMER, AddressNormalizer.canonicalize("2 High Street"), "c4")).isEmpty();
+
+        ReflectionTestUtils.setField(index, "clock", Clock.fixed(NOW.plusSeconds(25 * 3600), ZoneOffset.UTC));
+        assertThat(index.get(CUSTOMER, AddressNormalizer.canonicalize("1 High St"), "c5")).isEmpty();
+    }
+
+    @Test
+    void leastRecentlyUsedAddressIsDroppedWhenFull() {
+        VerifiedAddressIndex index = open(NOW, 2);
+        index.put(CUSTOMER, "1 HIGH STREET", result(VerificationStatus.PASS), "c1");
+        index.put(CUSTOMER, "2 HIGH STREET", result(VerificationStatus.PASS), "c2");
+        index.get(CUSTOMER, "1 HIGH STREET", "c3");
+        index.put(CUSTOMER, "3 HIGH STREET", result(VerificationStatus.PASS), "c4");
+
+        assertThat(index.get(CUSTOMER, "1 HIGH STREET", "c5")).isPresent();
+        assertThat(index.get(CUSTOMER, "2 HIGH STREET", "c6")).isEmpty();
+        assertThat(index.get(CUSTOMER, "3 HIGH STREET", "c7")).isPresent();
+    }
+
+    @Test
+    void addressIsOnlyServedToTheSameCustomerOrALinkedAccountAndOnlyWhenEnabled() {
+        VerifiedAddressIndex index = open(NOW, 10);
+        index.put(CUSTOMER, "1 HIGH STREET", result(VerificationStatus.PASS), "c1");
+
+        Customer linked = Customer.builder().customerId("CUST-002").linkedCustomerId("CUST-001").build();
+        Customer neighbour = Customer.builder().customerId("CUST-003").build();
+        assertThat(index.get(linked, "1 HIGH STREET", "c2")).isPresent();
+        assertThat(index.get(neighbour, "1 HIGH STREET", "c3")).isEmpty();
+
+        VerifiedAddressIndex byDefault = new VerifiedAddressIndex();
+        byDefault.put(CUSTOMER, "1 HIGH STREET", result(VerificationStatus.PASS), "c4");
+        assertThat(byDefault.get(CUSTOMER, "1 HIGH STREET", "c5")).isEmpty();
+    }
+
+    private static VerifiedAddressIndex open(Instant now, int maxEntries) {
+        VerifiedAddressIndex index = new VerifiedAddressIndex();
+        ReflectionTestUtils.setField(index, "enabled", true);
+        ReflectionTestUtils.setField(index, "maxEntries", maxEntries);
+        ReflectionTestUtils.setField(index, "ttlHours", 24L);
+        ReflectionTestUtils.setField(index, "clock", Clock.fixed(now, ZoneOffset.UTC));
+        return index;
+    }
+
+    private static VerificationResult result(VerificationStatus status) {
+        return VerificationResult.builder()
+            .verificationType(VerificationType.ADDRESS)
+            .status(status)
+            .confidence(status == VerificationStatus.PASS ? 92 : 0)
+            .reasons(List.of("Address verified"))
+            .timestamp(NOW)
+            .build();
+    }
+}
@@ -0,0 +1,88 @@
+package com.coding.interview.admission;
+
+import com.coding.interview.ekyc.admission.AdmissionController;
+import com.coding.interview.ekyc.admission.AdmissionRejectedException;
+import com.coding.interview.ekyc.admission.Deadline;
+import com.coding.interview.ekyc.admission.DeadlineExceededException;
+import com.coding.interview.ekyc.client.SanctionsScreeningClient;
+import com.coding.interview.ekyc.model.RiskTier;
+import com.coding.interview.ekyc.model.VerificationPriority;
+import com.coding.interview.ekyc.model.VerificationRequest;
+import com.coding.interview.ekyc.model.VerificationType;
+import com.coding.interview.ekyc.plan.PlanStep;
+import com.coding.interview.ekyc.plan.VerificationPlan;
+import com.coding.interview.ekyc.ratelimit.AdaptiveConcurrencyLimiter;
+import com.coding.interview.ekyc.ratelimit.RateLimiter;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdmissionControllerTest {
+    private static final String SANCTIONS = SanctionsScreeningClient.SERVICE_NAME;
+    private static final VerificationPlan PLAN = VerificationPlan.of(RiskTier.LOW,
+        PlanStep.always(VerificationType.SANCTIONS),
+        PlanStep.always(VerificationType.ID_DOCUMENT, VerificationType.SANCTIONS),
+        PlanStep.stepUp(VerificationType.FACE_MATCH, 90, VerificationType.ID_DOCUMENT));
+
+    private final RateLimiter rateLimiter = new RateLimiter();
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter = new AdaptiveConcurrencyLimiter();
+    private final AdmissionController admissionController = new AdmissionController(rateLimiter, concurrencyLimiter);
+
+    @Test
+    void admitsWithTheRequestedDeadlineWhenProvidersAreIdle() throws Exception {
+        Deadline deadline = admissionController.admit(PLAN, request(Instant.now().plusSeconds(5)), "test");
+
+        assertThat(deadline.remainingNanos()).isBetween(Duration.ofSeconds(4).toNanos(), Duration.ofSeconds(5).toNanos());
+    }
+
+    @Test
+    void shedsWhenTheSanctionsBacklogOutlastsTheDeadline() throws Exception {
+        while (rateLimiter.tryAcquire(SANCTIONS, VerificationPriority.INTERACTIVE)) {
+            // exhaust the window
+        }
+        Thread queued = Thread.ofVirtual().start(() -> {
+            try {
+                rateLimiter.acquire(SANCTIONS, VerificationPriority.INTERACTIVE);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        Thread.sleep(200);
+
+        try {
+            // One caller ahead takes a tenth of the minute window: 6s of backlog plus 2 x 500ms of
+            // assumed latency overrun the 5s budget by 2s
+            assertThatThrownBy(() -> admissionController.admit(PLAN, request(Instant.now().plusSeconds(5)), "test"))
+                .isInstanceOfSatisfying(AdmissionRejectedException.class, e ->
+                    assertThat(e.getRetryAfter()).isBetween(Duration.ofSeconds(2), Duration.ofMillis(2500)));
+            admissionController.admit(PLAN, request(Instant.now().plusSeconds(30)), "test");
+        } finally {
+            queued.interrupt();
+        }
+    }
+
+    @Test
+    void rateLimitWaitStopsAtTheDeadline() {
+        while (rateLimiter.tryAcquire(SANCTIONS, VerificationPriority.INTERACTIVE)) {
+            // exhaust the window
+        }
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> rateLimiter.acquire(SANCTIONS, VerificationPriority.INTERACTIVE,
+            Deadline.after(Duration.ofMillis(300))))
+            .isInstanceOf(DeadlineExceededException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+    }
+
+    private static VerificationRequest request(Instant deadline) {
+        return VerificationRequest.builder()
+            .requestId("REQ-001")
+            .customerId("CUST-001")
+            .deadline(deadline)
+            .build();
+    }
+}
@@ -0,0 +1,62 @@
+package com.coding.interview.blob;
+
+import com.coding.interview.ekyc.blob.BlobStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BlobStoreTest {
+
+    @TempDir
+    Path root;
+
+    private BlobStore blobStore;
+
+    @BeforeEach
+    void setUp() {
+        blobStore = new BlobStore();
+        ReflectionTestUtils.setField(blobStore, "root", root);
+        ReflectionTestUtils.setField(blobStore, "maxBytes", 2048L);
+        ReflectionTestUtils.invokeMethod(blobStore, "loadIndex");
+    }
+
+    @Test
+    void identicalContentIsStoredOnce() throws Exception {
+        String first = blobStore.put(new ByteArrayInputStream(new byte[]{1, 2, 3}));
+        String second = blobStore.put(new ByteArrayInputStream(new byte[]{1, 2, 3}));
+
+        assertThat(first).isEqualTo(second).startsWith(BlobStore.REFERENCE_PREFIX);
+        assertThat(blobStore.getTotalBytes()).isEqualTo(3);
+
+        MappedByteBuffer mapped = blobStore.map(first).orElseThrow();
+        assertThat(mapped.remaining()).isEqualTo(3);
+        assertThat(mapped.get(2)).isEqualTo((byte) 3);
+    }
+
+    @Test
+    void leastRecentlyUsedBlobIsEvictedOverCapacity() throws Exception {
+        String a = blobStore.put(new ByteArrayInputStream(filled(1000, (byte) 'a')));
+        String b = blobStore.put(new ByteArrayInputStream(filled(1000, (byte) 'b')));
+        blobStore.resolve(a);   // a is now more recently used than b
+        String c = blobStore.put(new ByteArrayInputStream(filled(1000, (byte) 'c')));
+
+        assertThat(blobStore.resolve(a)).isPresent();
+        assertThat(blobStore.resolve(b)).isEmpty();
+        assertThat(blobStore.resolve(c)).isPresent();
+        assertThat(blobStore.getTotalBytes()).isEqualTo(2000);
+    }
+
+    private static byte[] filled(int size, byte value) {
+        byte[] bytes = new byte[size];
+        Arrays.fill(bytes, value);
+        return bytes;
+    }
+}
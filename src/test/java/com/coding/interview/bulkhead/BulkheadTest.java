@@ -0,0 +1,105 @@
+package com.coding.interview.bulkhead;
+
+import com.coding.interview.ekyc.bulkhead.Bulkhead;
+import com.coding.interview.ekyc.bulkhead.BulkheadFullException;
+import com.coding.interview.ekyc.bulkhead.BulkheadRegistry;
+import com.coding.interview.ekyc.model.VerificationPriority;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BulkheadTest {
+    private static final String SERVICE_NAME = "BiometricService";
+
+    @Test
+    void callersOverTheConcurrencyCapWaitAndAreRejectedAfterTheMaxWait() throws Exception {
+        Bulkhead bulkhead = new Bulkhead(SERVICE_NAME, 2, 5, Duration.ofMillis(100));
+        bulkhead.enter();
+        bulkhead.enter();
+        assertThat(bulkhead.getActiveCount()).isEqualTo(2);
+
+        long start = System.nanoTime();
+        assertThatThrownBy(bulkhead::enter)
+            .isInstanceOf(BulkheadFullException.class)
+            .hasMessageContaining("timed out after 100ms");
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(100));
+        assertThat(bulkhead.getQueuedCount()).isZero();
+
+        bulkhead.exit();
+        bulkhead.enter();
+        assertThat(bulkhead.getAcceptedCount()).isEqualTo(3);
+        assertThat(bulkhead.getRejectedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void callersFindingTheQueueFullAreRejectedAtOnce() throws Exception {
+        Bulkhead bulkhead = new Bulkhead(SERVICE_NAME, 1, 2, Duration.ofSeconds(10));
+        bulkhead.enter();
+        CompletableFuture<Void> waiter = enterInBackground(bulkhead, VerificationPriority.BATCH);
+        waitUntil(() -> bulkhead.getQueuedCount() == 1);
+
+        // Background callers only get half of the queue, interactive ones all of it
+        assertThatThrownBy(() -> bulkhead.enter(VerificationPriority.BATCH))
+            .isInstanceOf(BulkheadFullException.class)
+            .hasMessageContaining("queue full");
+        CompletableFuture<Void> interactive = enterInBackground(bulkhead, VerificationPriority.INTERACTIVE);
+        waitUntil(() -> bulkhead.getQueuedCount() == 2);
+        assertThatThrownBy(bulkhead::enter)
+            .isInstanceOf(BulkheadFullException.class)
+            .hasMessageContaining("queue full");
+
+        bulkhead.exit();
+        bulkhead.exit();
+        CompletableFuture.allOf(waiter, interactive).get(5, TimeUnit.SECONDS);
+        assertThat(bulkhead.getRejectedCount()).isEqualTo(2);
+    }
+
+    @Test
+    void serviceSettingsOverrideTheDefaultsWhichOverrideTheBuiltIns() {
+        MockEnvironment environment = new MockEnvironment()
+            .withProperty("ekyc.bulkhead.default.max-concurrent", "5")
+            .withProperty("ekyc.bulkhead.default.max-queued", "7")
+            .withProperty("ekyc.bulkhead." + SERVICE_NAME + ".max-concurrent", "3");
+        BulkheadRegistry registry = new BulkheadRegistry(environment);
+
+        Bulkhead overridden = registry.forService(SERVICE_NAME);
+        assertThat(overridden.getMaxConcurrent()).isEqualTo(3);
+        assertThat(overridden.getMaxQueued()).isEqualTo(7);
+        assertThat(registry.forService(SERVICE_NAME)).isSameAs(overridden);
+
+        Bulkhead defaulted = registry.forService("SanctionsScreeningService");
+        assertThat(defaulted.getMaxConcurrent()).isEqualTo(5);
+        assertThat(defaulted.getMaxQueued()).isEqualTo(7);
+
+        Bulkhead builtIn = new BulkheadRegistry(new MockEnvironment()).forService(SERVICE_NAME);
+        assertThat(builtIn.getMaxConcurrent()).isEqualTo(10);
+        assertThat(builtIn.getMaxQueued()).isEqualTo(20);
+        assertThat(registry.getAll()).containsExactlyInAnyOrder(overridden, defaulted);
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met within 5s").isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    private static CompletableFuture<Void> enterInBackground(Bulkhead bulkhead, VerificationPriority priority) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                bulkhead.enter(priority);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }, Executors.newVirtualThreadPerTaskExecutor());
+    }
+}
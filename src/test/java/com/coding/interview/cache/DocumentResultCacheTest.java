@@ -0,0 +1,124 @@
+package com.coding.interview.cache;
+
+import com.coding.interview.ekyc.cache.DocumentResultCache;
+import com.coding.interview.ekyc.config.EKYCConfiguration;
+import com.coding.interview.ekyc.model.Customer;
+import com.coding.interview.ekyc.model.VerificationRequest;
+import com.coding.interview.ekyc.model.VerificationResult;
+import com.coding.interview.ekyc.model.VerificationStatus;
+import com.coding.interview.ekyc.model.VerificationType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DocumentResultCacheTest {
+    private static final Instant NOW = Instant.parse("2030-12-01T00:00:00Z");
+    private static final String IMAGE = "blob:sha256:aaaa";
+    private static final Customer CUSTOMER = Customer.builder().customerId("CUST-001").build();
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void passResultIsServedForTheSameNormalizedDocument() {
+        DocumentResultCache cache = open(NOW, 10);
+        cache.put(CUSTOMER, request("PASSPORT", "AB 123-456", "2031-06-30"), result(VerificationStatus.PASS), "c1");
+        cache.put(CUSTOMER, request("PASSPORT", "XY999", "2031-06-30"), result(VerificationStatus.FAIL), "c2");
+
+        assertThat(cache.get(CUSTOMER, request(" passport", "ab123456", "2031-06-30"), "c3")).isPresent();
+        assertThat(cache.get(CUSTOMER, request("PASSPORT", "AB123456", "2032-06-30"), "c4")).isEmpty();
+        assertThat(cache.get(CUSTOMER, request("PASSPORT", "XY999", "2031-06-30"), "c5")).isEmpty();
+    }
+
+    @Test
+    void entriesEvictedFromHeapAndAfterRestartAreReadFromDisk() throws Exception {
+        DocumentResultCache cache = open(NOW, 1);
+        cache.put(CUSTOMER, request("PASSPORT", "A1", "2031-06-30"), result(VerificationStatus.PASS), "c1");
+        cache.put(CUSTOMER, request("PASSPORT", "A2", "2031-06-30"), result(VerificationStatus.PASS), "c2");
+
+        assertThat(cache.get(CUSTOMER, request("PASSPORT", "A1", "2031-06-30"), "c3")).isPresent();
+        assertThat(open(NOW, 1).get(CUSTOMER, request("PASSPORT", "A2", "2031-06-30"), "c4"))
+            .hasValueSatisfying(result -> assertThat(result.reasons()).containsExactly("Document authentic"));
+        try (Stream<Path> files = Files.walk(dir)) {
+            assertThat(files.map(Path::toString)).noneMatch(name -> name.contains("A1") || name.contains("A2"));
+        }
+    }
+
+    @Test
+    void entriesExpireWithTheDocumentAndCanBeInvalidated() {
+        cacheAt(NOW).put(CUSTOMER, request("PASSPORT", "A1", "2030-12-10"), result(VerificationStatus.PASS), "c1");
+        cacheAt(NOW).put(CUSTOMER, request("PASSPORT", "A2", "2031-06-30"), result(VerificationStatus.PASS), "c2");
+
+        DocumentResultCache later = cacheAt(Instant.parse("2030-12-10T00:00:00Z"));
+        assertThat(later.get(CUSTOMER, request("PASSPORT", "A1", "2030-12-10"), "c3")).isEmpty();
+        assertThat(later.get(CUSTOMER, request("PASSPORT", "A2", "2031-06-30"), "c4")).isPresent();
+
+        later.invalidate("PASSPORT", "A2", "2031-06-30");
+        assertThat(later.get(CUSTOMER, request("PASSPORT", "A2", "2031-06-30"), "c5")).isEmpty();
+        assertThat(cacheAt(NOW).get(CUSTOMER, request("PASSPORT", "A2", "2031-06-30"), "c6")).isEmpty();
+    }
+
+    @Test
+    void resultIsOnlyServedForTheSameImageAndCustomerOrALinkedAccount() {
+        DocumentResultCache cache = open(NOW, 10);
+        cache.put(CUSTOMER, request("PASSPORT", "A1", "2031-06-30"), result(VerificationStatus.PASS), "c1");
+
+        Customer linked = Customer.builder().customerId("CUST-002").linkedCustomerId("CUST-001").build();
+        Customer stranger = Customer.builder().customerId("CUST-003").build();
+        VerificationRequest otherImage = request("PASSPORT", "A1", "2031-06-30");
+        otherImage.setDocumentImageUrl("blob:sha256:bbbb");
+
+        assertThat(cache.get(linked, request("PASSPORT", "A1", "2031-06-30"), "c2")).isPresent();
+        assertThat(cache.get(stranger, request("PASSPORT", "A1", "2031-06-30"), "c3")).isEmpty();
+        assertThat(cache.get(CUSTOMER, otherImage, "c4")).isEmpty();
+
+        VerificationRequest remoteImage = request("PASSPORT", "A2", "2031-06-30");
+        remoteImage.setDocumentImageUrl("https://images.example.com/a2.jpg");
+        cache.put(CUSTOMER, remoteImage, result(VerificationStatus.PASS), "c5");
+        assertThat(cache.get(CUSTOMER, remoteImage, "c6")).isEmpty();
+    }
+
+    private DocumentResultCache cacheAt(Instant now) {
+        return open(now, 10);
+    }
+
+    private DocumentResultCache open(Instant now, int heapEntries) {
+        DocumentResultCache cache = new DocumentResultCache(new EKYCConfiguration().objectMapper());
+        ReflectionTestUtils.setField(cache, "dir", dir);
+        ReflectionTestUtils.setField(cache, "heapEntries", heapEntries);
+        ReflectionTestUtils.setField(cache, "diskEntries", 100);
+        ReflectionTestUtils.setField(cache, "maxTtlHours", 24 * 30L);
+        ReflectionTestUtils.setField(cache, "clock", Clock.fixed(now, ZoneOffset.UTC));
+        ReflectionTestUtils.invokeMethod(cache, "loadIndex");
+        return cache;
+    }
+
+    private static VerificationRequest request(String type, String number, String expiry) {
+        return VerificationRequest.builder()
+            .documentType(type)
+            .documentNumber(number)
+            .expiryDate(expiry)
+            .documentImageUrl(IMAGE)
+            .build();
+    }
+
+    private static VerificationResult result(VerificationStatus status) {
+        return VerificationResult.builder()
+            .verificationType(VerificationType.ID_DOCUMENT)
+            .status(status)
+            .confidence(95)
+            .reasons(List.of("Document authentic"))
+            .timestamp(NOW)
+            .build();
+    }
+}
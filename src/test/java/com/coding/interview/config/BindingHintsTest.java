@@ -0,0 +1,51 @@
+package com.coding.interview.config;
+
+import com.coding.interview.ekyc.client.AddressVerificationClient;
+import com.coding.interview.ekyc.client.BiometricVerificationClient;
+import com.coding.interview.ekyc.client.DocumentVerificationClient;
+import com.coding.interview.ekyc.client.SanctionsScreeningClient;
+import com.coding.interview.ekyc.client.dto.BiometricResponseDto;
+import com.coding.interview.ekyc.client.dto.DocumentVerificationResponseDto;
+import com.coding.interview.ekyc.client.dto.SanctionsRequestDto;
+import com.coding.interview.ekyc.journal.VerificationJournal;
+import com.coding.interview.ekyc.model.Customer;
+import com.coding.interview.ekyc.model.Reasons;
+import com.coding.interview.ekyc.model.VerificationRequest;
+import com.coding.interview.ekyc.model.VerificationResult;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.annotation.ReflectiveRuntimeHintsRegistrar;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The reflection hints AOT records for the types the service binds with Jackson, which a
+ * native image needs at runtime.
+ */
+class BindingHintsTest {
+
+    @Test
+    void providerDtosAndJournalledModelAreRegisteredForBinding() throws Exception {
+        RuntimeHints hints = new RuntimeHints();
+        new ReflectiveRuntimeHintsRegistrar().registerRuntimeHints(hints,
+            DocumentVerificationClient.class, BiometricVerificationClient.class,
+            AddressVerificationClient.class, SanctionsScreeningClient.class, VerificationJournal.class);
+
+        assertThat(RuntimeHintsPredicates.reflection().onType(DocumentVerificationResponseDto.class)
+            .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethodInvocation(
+            BiometricResponseDto.class.getMethod("setSimilarityScore", Double.class))).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethodInvocation(
+            SanctionsRequestDto.class.getMethod("getFullName"))).accepts(hints);
+
+        // Reached through the journal record's components
+        assertThat(RuntimeHintsPredicates.reflection().onType(Customer.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(VerificationRequest.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(VerificationResult.class)).accepts(hints);
+
+        // Custom (de)serializers named in @JsonDeserialize/@JsonSerialize are instantiated reflectively
+        assertThat(RuntimeHintsPredicates.reflection().onType(Reasons.Deserializer.class)).accepts(hints);
+    }
+}
@@ -0,0 +1,192 @@
+package com.coding.interview.hedge;
+
+import com.coding.interview.ekyc.hedge.HedgedRequestExecutor;
+import com.coding.interview.ekyc.metrics.LatencyTracker;
+import com.coding.interview.ekyc.model.VerificationPriority;
+import com.coding.interview.ekyc.ratelimit.RateLimiter;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HedgedRequestExecutorTest {
+    private static final String SERVICE_NAME = "BiometricService";
+
+    private final LatencyTracker latencyTracker = new LatencyTracker();
+    private final RateLimiter rateLimiter = new RateLimiter();
+    private final HedgedRequestExecutor executor = new HedgedRequestExecutor(latencyTracker, rateLimiter);
+
+    @Test
+    void slowPrimaryIsHedgedOnceTheP95IsKnown() throws Exception {
+        SlowPrimary beforeSamples = new SlowPrimary();
+        assertThat(executor.execute(beforeSamples, SERVICE_NAME, VerificationPriority.INTERACTIVE, "c1"))
+            .isEqualTo("primary");
+        assertThat(beforeSamples.starts).hasValue(1);
+
+        learnP95(Duration.ofMillis(10));
+        SlowPrimary afterSamples = new SlowPrimary();
+        assertThat(executor.execute(afterSamples, SERVICE_NAME, VerificationPriority.INTERACTIVE, "c2"))
+            .isEqualTo("hedge");
+        assertThat(afterSamples.starts).hasValue(2);
+        assertThat(afterSamples.primary).isCancelled();
+    }
+
+    @Test
+    void failedHedgeFallsBackToThePrimaryAndTwoFailuresFailTheCall() throws Exception {
+        learnP95(Duration.ofMillis(10));
+
+        assertThat(executor.execute(failingHedge(primaryAfter(Duration.ofMillis(100))), SERVICE_NAME,
+            VerificationPriority.INTERACTIVE, "c1")).isEqualTo("primary");
+
+        CompletableFuture<String> failingPrimary = CompletableFuture.supplyAsync(() -> {
+            throw new IllegalStateException("primary down");
+        }, CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS));
+        assertThatThrownBy(() -> executor.execute(failingHedge(failingPrimary), SERVICE_NAME,
+            VerificationPriority.INTERACTIVE, "c2")).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void hedgesStopWhenTheBudgetIsSpent() throws Exception {
+        RateLimiter unlimited = new RateLimiter() {
+            @Override
+            public boolean tryAcquire(String serviceName, VerificationPriority priority) {
+                return true;
+            }
+        };
+        HedgedRequestExecutor budgeted = new HedgedRequestExecutor(latencyTracker, unlimited);
+        learnP95(Duration.ofMillis(10));
+
+        // A full budget of 100 pays 10 per hedge and earns 1 per call: 11 hedges in a row
+        int hedges = 0;
+        for (int i = 0; i < 15; i++) {
+            SlowPrimary call = new SlowPrimary(Duration.ofMillis(30));
+            budgeted.execute(call, SERVICE_NAME, VerificationPriority.INTERACTIVE, "c" + i);
+            hedges += call.starts.get() - 1;
+        }
+
+        assertThat(hedges).isEqualTo(11);
+    }
+
+    @Test
+    void hedgesRefusedAPermitDoNotSpendTheBudget() throws Exception {
+        AtomicBoolean permits = new AtomicBoolean();
+        RateLimiter switchable = new RateLimiter() {
+            @Override
+            public boolean tryAcquire(String serviceName, VerificationPriority priority) {
+                return permits.get();
+            }
+        };
+        HedgedRequestExecutor budgeted = new HedgedRequestExecutor(latencyTracker, switchable);
+        // Enough samples that the unhedged primaries below do not move the p95
+        for (int i = 0; i < 200; i++) {
+            latencyTracker.record(SERVICE_NAME, Duration.ofMillis(10));
+        }
+
+        for (int i = 0; i < 5; i++) {
+            SlowPrimary call = new SlowPrimary(Duration.ofMillis(30));
+            budgeted.execute(call, SERVICE_NAME, VerificationPriority.INTERACTIVE, "refused-" + i);
+            assertThat(call.starts).hasValue(1);
+        }
+
+        permits.set(true);
+        int hedges = 0;
+        for (int i = 0; i < 15; i++) {
+            SlowPrimary call = new SlowPrimary(Duration.ofMillis(30));
+            budgeted.execute(call, SERVICE_NAME, VerificationPriority.INTERACTIVE, "c" + i);
+            hedges += call.starts.get() - 1;
+        }
+
+        assertThat(hedges).isEqualTo(11);
+    }
+
+    @Test
+    void hedgeThatCannotBeSentGivesItsPermitBack() throws Exception {
+        learnP95(Duration.ofMillis(10));
+        int free = freePermits(new RateLimiter());
+        AtomicInteger starts = new AtomicInteger();
+        HedgedRequestExecutor.AsyncCall<String> call = () -> {
+            if (starts.incrementAndGet() == 1) {
+                return primaryAfter(Duration.ofMillis(100));
+            }
+            throw new IllegalStateException("connection refused");
+        };
+
+        assertThat(executor.execute(call, SERVICE_NAME, VerificationPriority.INTERACTIVE, "c1")).isEqualTo("primary");
+
+        assertThat(starts).hasValue(2);
+        assertThat(freePermits(rateLimiter)).isEqualTo(free);
+    }
+
+    @Test
+    void backgroundHedgeDoesNotDrawOnTheInteractiveReservation() throws Exception {
+        learnP95(Duration.ofMillis(10));
+        while (rateLimiter.tryAcquire(SERVICE_NAME, VerificationPriority.BATCH)) {
+            // use up the batch lane and the shared pool, leaving the interactive reservation
+        }
+
+        SlowPrimary batch = new SlowPrimary();
+        assertThat(executor.execute(batch, SERVICE_NAME, VerificationPriority.BATCH, "c1")).isEqualTo("primary");
+        assertThat(batch.starts).hasValue(1);
+
+        SlowPrimary interactive = new SlowPrimary();
+        assertThat(executor.execute(interactive, SERVICE_NAME, VerificationPriority.INTERACTIVE, "c2"))
+            .isEqualTo("hedge");
+        assertThat(interactive.starts).hasValue(2);
+    }
+
+    private void learnP95(Duration latency) {
+        for (int i = 0; i < 20; i++) {
+            latencyTracker.record(SERVICE_NAME, latency);
+        }
+    }
+
+    private static int freePermits(RateLimiter limiter) {
+        int free = 0;
+        while (limiter.tryAcquire(SERVICE_NAME, VerificationPriority.INTERACTIVE)) {
+            free++;
+        }
+        return free;
+    }
+
+    private static CompletableFuture<String> primaryAfter(Duration delay) {
+        return CompletableFuture.supplyAsync(() -> "primary",
+            CompletableFuture.delayedExecutor(delay.toMillis(), TimeUnit.MILLISECONDS));
+    }
+
+    private static HedgedRequestExecutor.AsyncCall<String> failingHedge(CompletableFuture<String> primary) {
+        AtomicInteger starts = new AtomicInteger();
+        return () -> starts.incrementAndGet() == 1
+            ? primary
+            : CompletableFuture.failedFuture(new IllegalStateException("hedge down"));
+    }
+
+    /** A primary answering well after the p95, and a hedge answering at once. */
+    private static class SlowPrimary implements HedgedRequestExecutor.AsyncCall<String> {
+        private final AtomicInteger starts = new AtomicInteger();
+        private final Duration primaryDelay;
+        private CompletableFuture<String> primary;
+
+        SlowPrimary() {
+            this(Duration.ofMillis(200));
+        }
+
+        SlowPrimary(Duration primaryDelay) {
+            this.primaryDelay = primaryDelay;
+        }
+
+        @Override
+        public CompletableFuture<String> start() {
+            if (starts.incrementAndGet() == 1) {
+                primary = primaryAfter(primaryDelay);
+                return primary;
+            }
+            return CompletableFuture.completedFuture("hedge");
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.coding.interview.image;
+
+import com.coding.interview.ekyc.blob.BlobStore;
+import com.coding.interview.ekyc.image.ImagePreprocessor;
+import com.coding.interview.ekyc.image.ImageRejectedException;
+import com.coding.interview.ekyc.image.ImageRequirements;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ImagePreprocessorTest {
+
+    @TempDir
+    Path root;
+
+    private BlobStore blobStore;
+    private ImagePreprocessor preprocessor;
+
+    @BeforeEach
+    void setUp() {
+        blobStore = new BlobStore();
+        ReflectionTestUtils.setField(blobStore, "root", root);
+        ReflectionTestUtils.setField(blobStore, "maxBytes", 64L * 1024 * 1024);
+        ReflectionTestUtils.invokeMethod(blobStore, "loadIndex");
+        preprocessor = new ImagePreprocessor(blobStore, 1, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        preprocessor.shutdown();
+    }
+
+    @Test
+    void oversizedImageIsDownscaledToProviderMaximum() throws Exception {
+        String original = store(noise(3000, 2000), "png");
+
+        String prepared = preprocessor.prepare(original, ImageRequirements.FACE, "test");
+
+        assertThat(prepared).isNotEqualTo(original);
+        BufferedImage scaled = ImageIO.read(blobStore.resolve(prepared).orElseThrow().toFile());
+        assertThat(Math.max(scaled.getWidth(), scaled.getHeight())).isEqualTo(ImageRequirements.FACE.maxEdge());
+    }
+
+    @Test
+    void evictedDownscaledCopyIsPreparedAgain() throws Exception {
+        String original = store(noise(3000, 2000), "png");
+        String prepared = preprocessor.prepare(original, ImageRequirements.FACE, "test");
+        long originalBytes = Files.size(blobStore.resolve(original).orElseThrow());
+
+        // Leave the downscaled copy least recently used, then push it out with another blob
+        blobStore.resolve(original);
+        byte[] filler = new byte[1024];
+        ReflectionTestUtils.setField(blobStore, "maxBytes", originalBytes + filler.length);
+        blobStore.put(new ByteArrayInputStream(filler));
+        assertThat(blobStore.resolve(prepared)).isEmpty();
+
+        String preparedAgain = preprocessor.prepare(original, ImageRequirements.FACE, "test");
+
+        assertThat(blobStore.resolve(preparedAgain)).isPresent();
+    }
+
+    @Test
+    void undersizedImageIsRejected() throws Exception {
+        String tiny = store(noise(100, 80), "png");
+
+        assertThatThrownBy(() -> preprocessor.prepare(tiny, ImageRequirements.FACE, "test"))
+            .isInstanceOf(ImageRejectedException.class)
+            .hasMessageContaining("below minimum");
+    }
+
+    @Test
+    void blankImageIsRejectedAsBlurry() throws Exception {
+        String blank = store(new BufferedImage(800, 600, BufferedImage.TYPE_INT_RGB), "png");
+
+        assertThatThrownBy(() -> preprocessor.prepare(blank, ImageRequirements.DOCUMENT, "test"))
+            .isInstanceOf(ImageRejectedException.class)
+            .hasMessageContaining("blurry");
+    }
+
+    @Test
+    void unknownFormatIsRejected() throws Exception {
+        String garbage = blobStore.put(new ByteArrayInputStream("not an image".getBytes()));
+
+        assertThatThrownBy(() -> preprocessor.prepare(garbage, ImageRequirements.DOCUMENT, "test"))
+            .isInstanceOf(ImageRejectedException.class);
+    }
+
+    @Test
+    void remoteUrlsPassThrough() throws Exception {
+        assertThat(preprocessor.prepare("https://cdn.example.com/selfie.jpg", ImageRequirements.FACE, "test"))
+            .isEqualTo("https://cdn.example.com/selfie.jpg");
+    }
+
+    private String store(BufferedImage image, String format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, format, out);
+        return blobStore.put(new ByteArrayInputStream(out.toByteArray()));
+    }
+
+    private static BufferedImage noise(int width, int height) {
+        Random random = new Random(42);
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image.setRGB(x, y, random.nextInt(0xFFFFFF));
+            }
+        }
+        return image;
+    }
+}
@@ -0,0 +1,121 @@
+package com.coding.interview.jfr;
+
+import com.coding.interview.ekyc.model.KYCDecision;
+import com.coding.interview.ekyc.model.VerificationResult;
+import com.coding.interview.ekyc.model.VerificationStatus;
+import com.coding.interview.ekyc.model.VerificationType;
+import com.coding.interview.ekyc.retry.RetryHandler;
+import com.coding.interview.ekyc.service.DecisionEngineService;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FlightRecorderEventsTest {
+    private static final String DECISION_EVALUATION = "com.coding.interview.ekyc.DecisionEvaluation";
+    private static final String RETRY_ATTEMPT = "com.coding.interview.ekyc.RetryAttempt";
+    private static final String RETRY_BACKOFF = "com.coding.interview.ekyc.RetryBackoff";
+
+    @TempDir
+    Path dir;
+
+    private Recording recording;
+
+    @BeforeEach
+    void startRecording() {
+        recording = new Recording();
+        recording.enable(DECISION_EVALUATION).withThreshold(Duration.ZERO);
+        recording.enable(RETRY_ATTEMPT).withThreshold(Duration.ZERO);
+        recording.enable(RETRY_BACKOFF).withThreshold(Duration.ZERO);
+        recording.start();
+    }
+
+    @AfterEach
+    void closeRecording() {
+        recording.close();
+    }
+
+    @Test
+    void decisionEvaluationsAreRecordedWithTheirOutcome() throws Exception {
+        DecisionEngineService decisionEngine = new DecisionEngineService();
+        List<VerificationResult> results = List.of(result(VerificationType.SANCTIONS, VerificationStatus.HIT));
+
+        decisionEngine.makeDecision(results, "jfr-1");
+        decisionEngine.decideEarly(List.of(), EnumSet.of(VerificationType.SANCTIONS), "jfr-2");
+
+        List<RecordedEvent> events = events(DECISION_EVALUATION);
+        assertThat(events).hasSize(2);
+        assertThat(events.get(0).getString("correlationId")).isEqualTo("jfr-1");
+        assertThat(events.get(0).getBoolean("early")).isFalse();
+        assertThat(events.get(0).getInt("results")).isEqualTo(1);
+        assertThat(events.get(0).getString("outcome")).isEqualTo(KYCDecision.REJECTED.name());
+        assertThat(events.get(1).getString("correlationId")).isEqualTo("jfr-2");
+        assertThat(events.get(1).getBoolean("early")).isTrue();
+        assertThat(events.get(1).getString("outcome")).isEqualTo("UNDECIDED");
+    }
+
+    @Test
+    void retryAttemptsAndBackoffsAreRecorded() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String answer = new RetryHandler().executeWithRetry(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("transient");
+            }
+            return "ok";
+        }, "TestService", "jfr-1");
+
+        assertThat(answer).isEqualTo("ok");
+        List<RecordedEvent> attemptEvents = events(RETRY_ATTEMPT);
+        assertThat(attemptEvents).extracting(event -> event.getInt("attempt")).containsExactly(1, 2);
+        assertThat(attemptEvents).extracting(event -> event.getString("outcome"))
+            .containsExactly("IllegalStateException", "SUCCESS");
+        assertThat(attemptEvents).allSatisfy(event -> {
+            assertThat(event.getString("serviceName")).isEqualTo("TestService");
+            assertThat(event.getString("correlationId")).isEqualTo("jfr-1");
+        });
+
+        List<RecordedEvent> backoffEvents = events(RETRY_BACKOFF);
+        assertThat(backoffEvents).singleElement().satisfies(event -> {
+            assertThat(event.getInt("attempt")).isEqualTo(1);
+            assertThat(event.getLong("backoff")).isEqualTo(100);
+            assertThat(event.getString("outcome")).isEqualTo("COMPLETED");
+            assertThat(event.getDuration()).isGreaterThanOrEqualTo(Duration.ofMillis(100));
+        });
+    }
+
+    private List<RecordedEvent> events(String name) throws Exception {
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+        }
+        Path file = dir.resolve("events.jfr");
+        recording.dump(file);
+        return RecordingFile.readAllEvents(file).stream()
+            .filter(event -> event.getEventType().getName().equals(name))
+            // Only this test's events, whatever else the JVM is running
+            .filter(event -> event.getString("correlationId").startsWith("jfr-"))
+            .toList();
+    }
+
+    private static VerificationResult result(VerificationType type, VerificationStatus status) {
+        return VerificationResult.builder()
+            .verificationType(type)
+            .status(status)
+            .confidence(100)
+            .timestamp(Instant.now())
+            .build();
+    }
+}
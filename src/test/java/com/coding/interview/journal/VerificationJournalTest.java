@@ -0,0 +1,197 @@
+package com.coding.interview.journal;
+
+import com.coding.interview.ekyc.journal.PendingVerification;
+import com.coding.interview.ekyc.journal.VerificationJournal;
+import com.coding.interview.ekyc.model.Customer;
+import com.coding.interview.ekyc.model.KYCDecision;
+import com.coding.interview.ekyc.model.VerificationRequest;
+import com.coding.interview.ekyc.model.VerificationResult;
+import com.coding.interview.ekyc.model.VerificationStatus;
+import com.coding.interview.ekyc.model.VerificationType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class VerificationJournalTest {
+    private static final String KEY = Base64.getEncoder().encodeToString(new byte[32]);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void unfinishedVerificationResumesWithItsCompletedChecks() throws Exception {
+        VerificationJournal journal = open(1 << 20);
+        journal.started("REQ-1", customer(), request());
+        journal.checkCompleted("REQ-1", result(VerificationType.SANCTIONS, VerificationStatus.CLEAR));
+        journal.checkCompleted("REQ-1", result(VerificationType.ID_DOCUMENT, VerificationStatus.PASS));
+        journal.started("REQ-2", customer(), request());
+        journal.finished("REQ-2", KYCDecision.APPROVED);
+        journal.close();
+
+        List<PendingVerification> pending = open(1 << 20).takePending();
+
+        assertThat(pending).hasSize(1);
+        PendingVerification verification = pending.get(0);
+        assertThat(verification.verificationId()).isEqualTo("REQ-1");
+        assertThat(verification.customer().getDateOfBirth()).isEqualTo(LocalDate.of(1990, 1, 15));
+        assertThat(verification.request().getVerificationTypes()).contains(VerificationType.FACE_MATCH);
+        assertThat(verification.completedChecks())
+            .extracting(VerificationResult::verificationType)
+            .containsExactly(VerificationType.ID_DOCUMENT, VerificationType.SANCTIONS);
+    }
+
+    @Test
+    void tornTailIsIgnoredAndOverwritten() throws Exception {
+        VerificationJournal journal = open(1 << 20);
+        journal.started("REQ-1", customer(), request());
+        journal.close();
+
+        // Simulate a crash mid-write: a length with a payload that does not match its checksum
+        Path segment = segments().get(0);
+        long end = validEnd(segment);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(12).putInt(4).putInt(12345).putInt(42).flip(), end);
+        }
+
+        journal = open(1 << 20);
+        journal.checkCompleted("REQ-1", result(VerificationType.SANCTIONS, VerificationStatus.CLEAR));
+        journal.close();
+
+        List<PendingVerification> pending = open(1 << 20).takePending();
+        assertThat(pending).hasSize(1);
+        assertThat(pending.get(0).completedChecks()).hasSize(1);
+    }
+
+    @Test
+    void concurrentAppendsRollSegmentsAndDropFinishedOnes() throws Exception {
+        VerificationJournal journal = open(8192);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                String id = "REQ-" + i;
+                boolean finish = i % 10 != 0;
+                futures.add(executor.submit(() -> {
+                    journal.started(id, customer(), request());
+                    journal.checkCompleted(id, result(VerificationType.SANCTIONS, VerificationStatus.CLEAR));
+                    if (finish) {
+                        journal.finished(id, KYCDecision.APPROVED);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        journal.close();
+
+        List<PendingVerification> pending = open(8192).takePending();
+        assertThat(pending).hasSize(20);
+        assertThat(pending).allSatisfy(verification -> assertThat(verification.completedChecks()).hasSize(1));
+    }
+
+    @Test
+    void recordsAreEncryptedAndNeedAnExplicitDirectoryAndKey() throws Exception {
+        VerificationJournal journal = open(1 << 20);
+        journal.started("REQ-1", customer(), request());
+        journal.close();
+
+        byte[] segment = Files.readAllBytes(segments().get(0));
+        assertThat(new String(segment, StandardCharsets.ISO_8859_1)).doesNotContain("John Doe", "CUST-001", "1990");
+
+        VerificationJournal unconfigured = new VerificationJournal(new ObjectMapper());
+        ReflectionTestUtils.setField(unconfigured, "enabled", true);
+        ReflectionTestUtils.setField(unconfigured, "key", KEY);
+        assertThatThrownBy(unconfigured::open).isInstanceOf(IllegalStateException.class);
+
+        VerificationJournal wrongKey = journal(1 << 20);
+        ReflectionTestUtils.setField(wrongKey, "key", Base64.getEncoder().encodeToString(new byte[16]));
+        assertThatThrownBy(wrongKey::open).isInstanceOf(IOException.class);
+    }
+
+    private VerificationJournal open(int segmentBytes) throws IOException {
+        VerificationJournal journal = journal(segmentBytes);
+        journal.open();
+        return journal;
+    }
+
+    private VerificationJournal journal(int segmentBytes) {
+        ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        VerificationJournal journal = new VerificationJournal(objectMapper);
+        ReflectionTestUtils.setField(journal, "enabled", true);
+        ReflectionTestUtils.setField(journal, "dir", dir);
+        ReflectionTestUtils.setField(journal, "key", KEY);
+        ReflectionTestUtils.setField(journal, "segmentBytes", segmentBytes);
+        return journal;
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.sorted().toList();
+        }
+    }
+
+    private static long validEnd(Path segment) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(segment));
+        int position = 0;
+        while (buffer.getInt(position) > 0) {
+            position += 8 + buffer.getInt(position);
+        }
+        return position;
+    }
+
+    private static Customer customer() {
+        return Customer.builder()
+            .customerId("CUST-001")
+            .fullName("John Doe")
+            .dateOfBirth(LocalDate.of(1990, 1, 15))
+            .nationality("US")
+            .build();
+    }
+
+    private static VerificationRequest request() {
+        return VerificationRequest.builder()
+            .requestId("REQ")
+            .customerId("CUST-001")
+            .verificationTypes(List.of(VerificationType.SANCTIONS, VerificationType.ID_DOCUMENT, VerificationType.FACE_MATCH))
+            .timestamp(Instant.now())
+            .build();
+    }
+
+    private static VerificationResult result(VerificationType type, VerificationStatus status) {
+        return VerificationResult.builder()
+            .verificationType(type)
+            .status(status)
+            .confidence(95)
+            .reasons(List.of())
+            .timestamp(Instant.now())
+            .build();
+    }
+}
@@ -0,0 +1,139 @@
+package com.coding.interview.load;
+
+import com.coding.interview.ekyc.client.BiometricVerificationClient;
+import com.coding.interview.ekyc.client.HttpClientWrapper;
+import com.coding.interview.ekyc.client.dto.BiometricRequestDto;
+import com.coding.interview.ekyc.client.dto.BiometricResponseDto;
+import com.coding.interview.ekyc.hedge.HedgedRequestExecutor;
+import com.coding.interview.ekyc.metrics.LatencyTracker;
+import com.coding.interview.ekyc.model.VerificationPriority;
+import com.coding.interview.ekyc.ratelimit.AdaptiveConcurrencyLimiter;
+import com.coding.interview.ekyc.ratelimit.RateLimiter;
+import com.coding.interview.ekyc.transport.ProviderTransport;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Latency benchmark for hedged requests: the biometric stub answers in a few milliseconds but
+ * stalls on a small share of requests, and p50/p99 are compared with and without hedging. Only
+ * runs with {@code -Dload.run=true}, like {@link VerificationLoadTest}, e.g.
+ *
+ * <pre>
+ * mvn test -Dtest=HedgingLoadTest -Dload.run=true -Dload.requests=2000 -Dload.biometric.tail-ratio=0.02
+ * </pre>
+ *
+ * <p>The provider quota is lifted so hedges are only limited by the hedge budget.
+ */
+@EnabledIfSystemProperty(named = "load.run", matches = "true")
+class HedgingLoadTest {
+    private static final String SERVICE_NAME = BiometricVerificationClient.SERVICE_NAME;
+
+    @Test
+    void hedgingCutsTheTailLatency() throws Exception {
+        int requests = Integer.getInteger("load.requests", 500);
+        int concurrency = Integer.getInteger("load.concurrency", 4);
+        ProviderStubs.Profile profile = ProviderStubs.Profile.of("biometric",
+            new ProviderStubs.Profile(10, 15, 0, 0, 0, 0.04, 300));
+
+        try (ProviderStubs stubs = new ProviderStubs(Map.of("biometric", profile))) {
+            MockEnvironment environment = new MockEnvironment()
+                // The stubs only speak HTTP/1.1
+                .withProperty("ekyc.transport.http-version", "HTTP_1_1");
+            ProviderTransport transport = new ProviderTransport(environment);
+            try {
+                transport.registerEndpoints(SERVICE_NAME, List.of(stubs.url("biometric")));
+                HttpClientWrapper httpClient =
+                    new HttpClientWrapper(transport, new ObjectMapper(), new AdaptiveConcurrencyLimiter());
+
+                long[] plain = run(httpClient, executor(false), requests, concurrency);
+                long[] hedged = run(httpClient, executor(true), requests, concurrency);
+
+                System.out.println("Provider profile: " + profile);
+                System.out.printf("No hedging (%d requests, %d in flight): p50=%dms p99=%dms%n",
+                    requests, concurrency, percentile(plain, 0.50), percentile(plain, 0.99));
+                System.out.printf("Hedging    (%d requests, %d in flight): p50=%dms p99=%dms%n",
+                    requests, concurrency, percentile(hedged, 0.50), percentile(hedged, 0.99));
+
+                assertThat(percentile(hedged, 0.99)).isLessThan(percentile(plain, 0.99) / 2);
+            } finally {
+                transport.close();
+            }
+        }
+    }
+
+    private static HedgedRequestExecutor executor(boolean hedging) {
+        RateLimiter unlimited = new RateLimiter() {
+            @Override
+            public boolean tryAcquire(String serviceName, VerificationPriority priority) {
+                return true;
+            }
+        };
+        LatencyTracker latencyTracker = hedging ? new LatencyTracker() : new LatencyTracker() {
+            @Override
+            public void record(String serviceName, Duration latency) {
+                // Never learn a p95, so no request is ever hedged
+            }
+        };
+        return new HedgedRequestExecutor(latencyTracker, unlimited);
+    }
+
+    private static long[] run(HttpClientWrapper httpClient, HedgedRequestExecutor executor,
+                              int requests, int concurrency) throws Exception {
+        // Warm-up: JIT, connections and, when hedging, the p95
+        for (int i = 0; i < 40; i++) {
+            call(httpClient, executor);
+        }
+
+        long[] latencies = new long[requests];
+        Future<?>[] futures = new Future<?>[requests];
+        Semaphore inFlight = new Semaphore(concurrency);
+        try (ExecutorService load = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < requests; i++) {
+                int n = i;
+                inFlight.acquire();
+                futures[i] = load.submit(() -> {
+                    try {
+                        long start = System.nanoTime();
+                        call(httpClient, executor);
+                        latencies[n] = (System.nanoTime() - start) / 1_000_000;
+                    } finally {
+                        inFlight.release();
+                    }
+                    return null;
+                });
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        Arrays.sort(latencies);
+        return latencies;
+    }
+
+    private static void call(HttpClientWrapper httpClient, HedgedRequestExecutor executor) throws Exception {
+        BiometricRequestDto request = BiometricRequestDto.builder().customerId("CUST-001").build();
+        executor.execute(
+            () -> httpClient.postAsync(SERVICE_NAME, request, BiometricResponseDto.class, Duration.ofSeconds(8), "load"),
+            SERVICE_NAME,
+            VerificationPriority.INTERACTIVE,
+            "load");
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)];
+    }
+}
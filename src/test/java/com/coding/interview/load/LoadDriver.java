@@ -0,0 +1,120 @@
+package com.coding.interview.load;
+
+import com.coding.interview.ekyc.model.Customer;
+import com.coding.interview.ekyc.model.KYCDecision;
+import com.coding.interview.ekyc.model.KYCDecisionResult;
+import com.coding.interview.ekyc.model.VerificationRequest;
+import com.coding.interview.ekyc.model.VerificationType;
+import com.coding.interview.ekyc.service.KYCOrchestrationService;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Drives {@code performVerification} with a fixed number of verifications in flight and
+ * reports throughput, latency percentiles and the decision mix.
+ */
+class LoadDriver {
+
+    record Report(int verifications, double seconds, long[] sortedLatencyMicros, Map<KYCDecision, Integer> decisions) {
+
+        double throughput() {
+            return verifications / seconds;
+        }
+
+        double percentileMs(double percentile) {
+            int index = (int) Math.ceil(percentile * sortedLatencyMicros.length) - 1;
+            return sortedLatencyMicros[Math.max(0, index)] / 1000.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                "%d verifications in %.1fs: %.1f/s, p50=%.1fms p99=%.1fms p999=%.1fms, decisions=%s",
+                verifications, seconds, throughput(),
+                percentileMs(0.50), percentileMs(0.99), percentileMs(0.999), decisions);
+        }
+    }
+
+    private final KYCOrchestrationService orchestrationService;
+
+    LoadDriver(KYCOrchestrationService orchestrationService) {
+        this.orchestrationService = orchestrationService;
+    }
+
+    Report run(String runId, int verifications, int concurrency) throws Exception {
+        long[] latencies = new long[verifications];
+        Future<?>[] futures = new Future<?>[verifications];
+        KYCDecision[] decisions = new KYCDecision[verifications];
+        Semaphore inFlight = new Semaphore(concurrency);
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < verifications; i++) {
+                int n = i;
+                inFlight.acquire();
+                futures[i] = executor.submit(() -> {
+                    try {
+                        long begin = System.nanoTime();
+                        KYCDecisionResult result = orchestrationService.performVerification(
+                            customer(n), request(runId, n));
+                        latencies[n] = (System.nanoTime() - begin) / 1000;
+                        decisions[n] = result.decision();
+                    } finally {
+                        inFlight.release();
+                    }
+                    return null;
+                });
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        Arrays.sort(latencies);
+        Map<KYCDecision, Integer> decisionCounts = new EnumMap<>(KYCDecision.class);
+        for (KYCDecision decision : decisions) {
+            decisionCounts.merge(decision, 1, Integer::sum);
+        }
+        return new Report(verifications, seconds, latencies, decisionCounts);
+    }
+
+    private static Customer customer(int n) {
+        return Customer.builder()
+            .customerId("CUST-" + n)
+            .fullName("Customer " + n)
+            .dateOfBirth(LocalDate.of(1990, 1, 1).plusDays(n % 10_000))
+            .email("customer" + n + "@example.com")
+            .address(n + " Main Street, Springfield")
+            .nationality("US")
+            .build();
+    }
+
+    private static VerificationRequest request(String runId, int n) {
+        return VerificationRequest.builder()
+            .requestId(runId + "-" + n)
+            .customerId("CUST-" + n)
+            .verificationTypes(List.of(VerificationType.SANCTIONS, VerificationType.ID_DOCUMENT,
+                VerificationType.FACE_MATCH, VerificationType.ADDRESS))
+            .timestamp(Instant.now())
+            .documentType("PASSPORT")
+            .documentNumber("P" + n)
+            .expiryDate("2030-12-31")
+            .documentImageUrl("https://example.com/documents/" + n + ".jpg")
+            .selfieUrl("https://example.com/selfies/" + n + ".jpg")
+            .idPhotoUrl("https://example.com/id-photos/" + n + ".jpg")
+            .proofType("UTILITY_BILL")
+            .proofDate("2026-01-15")
+            .proofUrl("https://example.com/proofs/" + n + ".pdf")
+            .build();
+    }
+}
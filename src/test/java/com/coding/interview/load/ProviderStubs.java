@@ -0,0 +1,125 @@
+package com.coding.interview.load;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Embedded stand-ins for the four providers, each on its own port with its own
+ * {@link Profile} of latency and faults.
+ */
+class ProviderStubs implements AutoCloseable {
+
+    /**
+     * Latency is log-normal, fitted to the given median and p99, and {@code tailRatio} of the
+     * requests instead stall for {@code tailMs}. Faults are drawn per request: {@code errorRate}
+     * answers 500, {@code throttleRate} answers 429, and for sanctions {@code hitRatio} of the
+     * successful answers are a HIT.
+     */
+    record Profile(double medianMs, double p99Ms, double errorRate, double throttleRate, double hitRatio,
+                   double tailRatio, double tailMs) {
+
+        Profile(double medianMs, double p99Ms, double errorRate, double throttleRate, double hitRatio) {
+            this(medianMs, p99Ms, errorRate, throttleRate, hitRatio, 0, 0);
+        }
+
+        static Profile of(String provider, Profile defaults) {
+            String prefix = "load." + provider + ".";
+            return new Profile(
+                Double.parseDouble(System.getProperty(prefix + "median-ms", String.valueOf(defaults.medianMs))),
+                Double.parseDouble(System.getProperty(prefix + "p99-ms", String.valueOf(defaults.p99Ms))),
+                Double.parseDouble(System.getProperty(prefix + "error-rate", String.valueOf(defaults.errorRate))),
+                Double.parseDouble(System.getProperty(prefix + "throttle-rate", String.valueOf(defaults.throttleRate))),
+                Double.parseDouble(System.getProperty(prefix + "hit-ratio", String.valueOf(defaults.hitRatio))),
+                Double.parseDouble(System.getProperty(prefix + "tail-ratio", String.valueOf(defaults.tailRatio))),
+                Double.parseDouble(System.getProperty(prefix + "tail-ms", String.valueOf(defaults.tailMs))));
+        }
+
+        long sampleLatencyMs(ThreadLocalRandom random) {
+            if (random.nextDouble() < tailRatio) {
+                return Math.round(tailMs);
+            }
+            // z(0.99) = 2.326
+            double sigma = p99Ms > medianMs ? Math.log(p99Ms / medianMs) / 2.326 : 0;
+            return Math.round(medianMs * Math.exp(sigma * random.nextGaussian()));
+        }
+    }
+
+    private static final Map<String, String> PASS_BODIES = Map.of(
+        "document", "{\"status\":\"PASS\",\"confidence\":95,\"reasons\":[\"Document authentic\"]}",
+        "biometric", "{\"status\":\"PASS\",\"confidence\":92,\"similarityScore\":92.5}",
+        "address", "{\"status\":\"PASS\",\"confidence\":90,\"reasons\":[\"Address verified\"]}",
+        "sanctions", "{\"status\":\"CLEAR\",\"matchCount\":0,\"matches\":[]}");
+    private static final String HIT_BODY = "{\"status\":\"HIT\",\"matchCount\":1,\"matches\":[\"OFAC SDN: John Doe\"]}";
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, HttpServer> servers = new LinkedHashMap<>();
+
+    ProviderStubs(Map<String, Profile> profiles) throws IOException {
+        // Without TCP_NODELAY delayed ACKs add ~40ms to every stub response
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        for (Map.Entry<String, Profile> entry : profiles.entrySet()) {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+            server.createContext("/", exchange -> handle(exchange, entry.getKey(), entry.getValue()));
+            server.setExecutor(executor);
+            server.start();
+            servers.put(entry.getKey(), server);
+        }
+    }
+
+    String url(String provider) {
+        return "http://localhost:" + servers.get(provider).getAddress().getPort() + "/api/v1/" + provider;
+    }
+
+    @Override
+    public void close() {
+        servers.values().forEach(server -> server.stop(0));
+        executor.shutdownNow();
+    }
+
+    private static void handle(HttpExchange exchange, String provider, Profile profile) throws IOException {
+        try (exchange; InputStream body = exchange.getRequestBody()) {
+            body.readAllBytes();
+            if ("HEAD".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            try {
+                Thread.sleep(profile.sampleLatencyMs(random));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            double fault = random.nextDouble();
+            if (fault < profile.errorRate()) {
+                respond(exchange, 500, "{\"error\":\"Internal provider error\"}");
+            } else if (fault < profile.errorRate() + profile.throttleRate()) {
+                exchange.getResponseHeaders().add("Retry-After", "1");
+                respond(exchange, 429, "{\"error\":\"Too many requests\"}");
+            } else if ("sanctions".equals(provider) && random.nextDouble() < profile.hitRatio()) {
+                respond(exchange, 200, HIT_BODY);
+            } else {
+                respond(exchange, 200, PASS_BODIES.get(provider));
+            }
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+}
@@ -0,0 +1,118 @@
+package com.coding.interview.load;
+
+import com.coding.interview.ekyc.model.KYCDecision;
+import com.coding.interview.ekyc.model.VerificationPriority;
+import com.coding.interview.ekyc.ratelimit.RateLimitBackend;
+import com.coding.interview.ekyc.service.KYCOrchestrationService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.io.support.ResourcePropertySource;
+
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End-to-end load test: the real service wiring from {@code application.properties} against
+ * embedded provider stubs. Only runs with {@code -Dload.run=true}, so it stays out of the unit
+ * suite. Sizes and stub behaviour come from system properties, e.g.
+ *
+ * <pre>
+ * mvn test -Dtest=VerificationLoadTest -Dload.run=true -Dload.verifications=20000 -Dload.concurrency=128 \
+ *     -Dload.sanctions.hit-ratio=0.05 -Dload.document.p99-ms=800 -Dload.biometric.throttle-rate=0.1
+ * </pre>
+ *
+ * <p>The provider quota is lifted so the run measures the service rather than the 10/minute
+ * limit; pass {@code -Dload.rate-limit=true} to keep it.
+ */
+@EnabledIfSystemProperty(named = "load.run", matches = "true")
+class VerificationLoadTest {
+
+    @TempDir
+    Path workDir;
+
+    @Test
+    void reportsThroughputAndLatencyOfPerformVerification() throws Exception {
+        int verifications = Integer.getInteger("load.verifications", 1000);
+        int concurrency = Integer.getInteger("load.concurrency", 32);
+
+        Map<String, ProviderStubs.Profile> profiles = new LinkedHashMap<>();
+        profiles.put("document", ProviderStubs.Profile.of("document", new ProviderStubs.Profile(40, 200, 0.01, 0.01, 0)));
+        profiles.put("biometric", ProviderStubs.Profile.of("biometric", new ProviderStubs.Profile(60, 300, 0.01, 0.01, 0)));
+        profiles.put("address", ProviderStubs.Profile.of("address", new ProviderStubs.Profile(30, 150, 0.01, 0.01, 0)));
+        profiles.put("sanctions", ProviderStubs.Profile.of("sanctions", new ProviderStubs.Profile(20, 100, 0.01, 0.01, 0.02)));
+
+        try (ProviderStubs stubs = new ProviderStubs(profiles);
+             AnnotationConfigApplicationContext context = startService(stubs)) {
+            LoadDriver driver = new LoadDriver(context.getBean(KYCOrchestrationService.class));
+
+            // Warm-up: JIT, connection pools and the adaptive concurrency limits
+            driver.run("warmup", Math.min(verifications, 200), concurrency);
+            LoadDriver.Report report = driver.run("load", verifications, concurrency);
+
+            System.out.println("Provider profiles: " + profiles);
+            System.out.println("Load (" + concurrency + " in flight): " + report);
+
+            assertThat(report.decisions().values().stream().mapToInt(Integer::intValue).sum()).isEqualTo(verifications);
+            assertThat(report.decisions()).doesNotContainKey(null);
+            assertThat(report.decisions().getOrDefault(KYCDecision.APPROVED, 0)).isPositive();
+        }
+    }
+
+    private AnnotationConfigApplicationContext startService(ProviderStubs stubs) throws Exception {
+        Map<String, Object> overrides = new LinkedHashMap<>();
+        overrides.put("ekyc.document.service.url", stubs.url("document"));
+        overrides.put("ekyc.biometric.service.url", stubs.url("biometric"));
+        overrides.put("ekyc.address.service.url", stubs.url("address"));
+        overrides.put("ekyc.sanctions.service.url", stubs.url("sanctions"));
+        // The stubs only speak HTTP/1.1
+        overrides.put("ekyc.transport.http-version", "HTTP_1_1");
+        overrides.put("ekyc.journal.enabled", "true");
+        overrides.put("ekyc.journal.dir", workDir.resolve("journal").toString());
+        overrides.put("ekyc.journal.key", Base64.getEncoder().encodeToString(new byte[32]));
+        overrides.put("ekyc.blob.dir", workDir.resolve("blobs").toString());
+        overrides.put("ekyc.document-cache.dir", workDir.resolve("document-cache").toString());
+
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.getBeanFactory().setConversionService(new DefaultConversionService());
+        context.getEnvironment().getPropertySources()
+            .addFirst(new ResourcePropertySource("classpath:application.properties"));
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("load", overrides));
+
+        if (!Boolean.getBoolean("load.rate-limit")) {
+            overrides.put("ekyc.ratelimit.backend", "unlimited");
+            context.registerBean(RateLimitBackend.class, UnlimitedBackend::new);
+        }
+
+        context.scan("com.coding.interview.ekyc");
+        context.refresh();
+        return context;
+    }
+
+    private static final class UnlimitedBackend implements RateLimitBackend {
+        @Override
+        public boolean tryAcquire(String serviceName, VerificationPriority priority, boolean higherPriorityWaiting) {
+            return true;
+        }
+
+        @Override
+        public boolean release(String serviceName, VerificationPriority priority) {
+            return true;
+        }
+
+        @Override
+        public void reset(String serviceName) {
+        }
+
+        @Override
+        public void resetAll() {
+        }
+    }
+}
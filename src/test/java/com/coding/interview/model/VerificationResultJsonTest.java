@@ -0,0 +1,78 @@
+package com.coding.interview.model;
+
+import com.coding.interview.ekyc.config.EKYCConfiguration;
+import com.coding.interview.ekyc.model.VerificationResult;
+import com.coding.interview.ekyc.model.VerificationStatus;
+import com.coding.interview.ekyc.model.VerificationType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VerificationResultJsonTest {
+    private final ObjectMapper objectMapper = new EKYCConfiguration().objectMapper();
+
+    @Test
+    void absentScoresAreWrittenAsNull() throws Exception {
+        VerificationResult result = VerificationResult.builder()
+            .verificationType(VerificationType.ADDRESS)
+            .status(VerificationStatus.PASS)
+            .confidence(90)
+            .timestamp(Instant.parse("2024-01-15T10:00:00Z"))
+            .build();
+
+        assertThat(objectMapper.writeValueAsString(result)).isEqualTo(
+            "{\"verificationType\":\"ADDRESS\",\"status\":\"PASS\",\"confidence\":90,\"reasons\":[],"
+                + "\"timestamp\":\"2024-01-15T10:00:00Z\",\"similarityScore\":null,\"matchCount\":null}");
+    }
+
+    @Test
+    void absentConfidenceIsWrittenAsNull() throws Exception {
+        VerificationResult result = VerificationResult.builder()
+            .verificationType(VerificationType.ID_DOCUMENT)
+            .status(VerificationStatus.PASS)
+            .timestamp(Instant.parse("2024-01-15T10:00:00Z"))
+            .build();
+
+        String json = objectMapper.writeValueAsString(result);
+
+        assertThat(json).contains("\"confidence\":null");
+        assertThat(objectMapper.readValue(json, VerificationResult.class)).isEqualTo(result);
+    }
+
+    @Test
+    void roundTripsScoresAndInternsReasons() throws Exception {
+        VerificationResult result = VerificationResult.builder()
+            .verificationType(VerificationType.FACE_MATCH)
+            .status(VerificationStatus.PASS)
+            .confidence(92)
+            .similarityScore(92.5)
+            .matchCount(0)
+            .reasons(List.of("Liveness confirmed"))
+            .timestamp(Instant.now())
+            .build();
+        String json = objectMapper.writeValueAsString(result);
+
+        VerificationResult first = objectMapper.readValue(json, VerificationResult.class);
+        VerificationResult second = objectMapper.readValue(json, VerificationResult.class);
+
+        assertThat(first).isEqualTo(result);
+        assertThat(first.reasons().get(0)).isSameAs(second.reasons().get(0));
+    }
+
+    @Test
+    void readsNullsAsAbsent() throws Exception {
+        VerificationResult result = objectMapper.readValue(
+            "{\"verificationType\":\"ADDRESS\",\"status\":\"PASS\",\"confidence\":null,\"reasons\":null,"
+                + "\"similarityScore\":null,\"matchCount\":null}",
+            VerificationResult.class);
+
+        assertThat(result.hasConfidence()).isFalse();
+        assertThat(result.hasSimilarityScore()).isFalse();
+        assertThat(result.hasMatchCount()).isFalse();
+        assertThat(result.reasons()).isEmpty();
+    }
+}
@@ -0,0 +1,104 @@
+package com.coding.interview.plan;
+
+import com.coding.interview.ekyc.model.Customer;
+import com.coding.interview.ekyc.model.RiskTier;
+import com.coding.interview.ekyc.model.VerificationRequest;
+import com.coding.interview.ekyc.model.VerificationResult;
+import com.coding.interview.ekyc.model.VerificationStatus;
+import com.coding.interview.ekyc.model.VerificationType;
+import com.coding.interview.ekyc.plan.PlanStep;
+import com.coding.interview.ekyc.plan.VerificationPlan;
+import com.coding.interview.ekyc.plan.VerificationPlanCompiler;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VerificationPlanCompilerTest {
+    private final VerificationPlanCompiler compiler = new VerificationPlanCompiler();
+
+    VerificationPlanCompilerTest() {
+        ReflectionTestUtils.setField(compiler, "highRiskNationalities", Set.of("KP"));
+        ReflectionTestUtils.setField(compiler, "clock",
+            Clock.fixed(Instant.parse("2025-06-01T00:00:00Z"), ZoneOffset.UTC));
+    }
+
+    @Test
+    void lowRiskCustomerGetsFaceMatchOnlyAsStepUpAndNoAddressCheck() {
+        VerificationPlan plan = compiler.compile(customer("US", LocalDate.of(1980, 1, 1)), request(RiskTier.LOW), "test");
+
+        assertThat(plan.tier()).isEqualTo(RiskTier.LOW);
+        assertThat(plan.checks()).containsExactly(
+            VerificationType.ID_DOCUMENT, VerificationType.FACE_MATCH, VerificationType.SANCTIONS);
+        PlanStep faceMatch = plan.step(VerificationType.FACE_MATCH);
+        assertThat(faceMatch.isStepUp()).isTrue();
+        assertThat(faceMatch.dependsOn()).containsExactly(VerificationType.ID_DOCUMENT);
+
+        assertThat(faceMatch.stepUpNeeded(Map.of(VerificationType.ID_DOCUMENT,
+            result(VerificationType.ID_DOCUMENT, VerificationStatus.PASS, 97)))).isFalse();
+        assertThat(faceMatch.stepUpNeeded(Map.of(VerificationType.ID_DOCUMENT,
+            result(VerificationType.ID_DOCUMENT, VerificationStatus.PASS, 86)))).isTrue();
+        assertThat(faceMatch.stepUpNeeded(Map.of(VerificationType.ID_DOCUMENT,
+            result(VerificationType.ID_DOCUMENT, VerificationStatus.FAIL, 0)))).isTrue();
+    }
+
+    @Test
+    void youngCustomerAndHighRiskNationalityRaiseTheTier() {
+        VerificationPlan young = compiler.compile(customer("US", LocalDate.of(2004, 1, 1)), request(RiskTier.LOW), "test");
+        VerificationPlan highRisk = compiler.compile(customer("kp", LocalDate.of(1980, 1, 1)), request(RiskTier.LOW), "test");
+
+        assertThat(young.tier()).isEqualTo(RiskTier.STANDARD);
+        assertThat(young.includes(VerificationType.ADDRESS)).isTrue();
+        assertThat(young.step(VerificationType.FACE_MATCH).isStepUp()).isTrue();
+
+        assertThat(highRisk.tier()).isEqualTo(RiskTier.HIGH);
+        assertThat(highRisk.steps().values()).noneMatch(PlanStep::isStepUp);
+        assertThat(highRisk.step(VerificationType.FACE_MATCH).dependsOn()).containsExactly(VerificationType.SANCTIONS);
+    }
+
+    @Test
+    void requestedTypesAreRunAsListedAfterSanctions() {
+        VerificationRequest request = request(RiskTier.LOW);
+        request.setVerificationTypes(List.of(VerificationType.SANCTIONS, VerificationType.ADDRESS));
+
+        VerificationPlan plan = compiler.compile(customer("US", LocalDate.of(1980, 1, 1)), request, "test");
+
+        assertThat(plan.checks()).containsExactly(VerificationType.ADDRESS, VerificationType.SANCTIONS);
+        assertThat(plan.step(VerificationType.ADDRESS).dependsOn()).containsExactly(VerificationType.SANCTIONS);
+        assertThat(plan.step(VerificationType.SANCTIONS).dependsOn()).isEmpty();
+    }
+
+    private static Customer customer(String nationality, LocalDate dateOfBirth) {
+        return Customer.builder()
+            .customerId("CUST-001")
+            .fullName("John Doe")
+            .dateOfBirth(dateOfBirth)
+            .nationality(nationality)
+            .build();
+    }
+
+    private static VerificationRequest request(RiskTier tier) {
+        return VerificationRequest.builder()
+            .requestId("REQ-001")
+            .customerId("CUST-001")
+            .productRiskTier(tier)
+            .build();
+    }
+
+    private static VerificationResult result(VerificationType type, VerificationStatus status, int confidence) {
+        return VerificationResult.builder()
+            .verificationType(type)
+            .status(status)
+            .confidence(confidence)
+            .timestamp(Instant.now())
+            .build();
+    }
+}
@@ -0,0 +1,353 @@
+package com.coding.interview.provider;
+
+import com.coding.interview.ekyc.admission.Deadline;
+import com.coding.interview.ekyc.blob.BlobReferenceResolver;
+import com.coding.interview.ekyc.blob.BlobStore;
+import com.coding.interview.ekyc.bulkhead.BulkheadRegistry;
+import com.coding.interview.ekyc.client.AddressVerificationClient;
+import com.coding.interview.ekyc.client.DocumentVerificationClient;
+import com.coding.interview.ekyc.client.HttpClientWrapper;
+import com.coding.interview.ekyc.client.SanctionsScreeningClient;
+import com.coding.interview.ekyc.client.dto.AddressVerificationResponseDto;
+import com.coding.interview.ekyc.client.dto.SanctionsResponseDto;
+import com.coding.interview.ekyc.hedge.HedgedRequestExecutor;
+import com.coding.interview.ekyc.metrics.LatencyTracker;
+import com.coding.interview.ekyc.model.Customer;
+import com.coding.interview.ekyc.model.VerificationPriority;
+import com.coding.interview.ekyc.model.VerificationRequest;
+import com.coding.interview.ekyc.model.VerificationResult;
+import com.coding.interview.ekyc.model.VerificationStatus;
+import com.coding.interview.ekyc.model.VerificationType;
+import com.coding.interview.ekyc.provider.ProviderCall;
+import com.coding.interview.ekyc.provider.ProviderExecutor;
+import com.coding.interview.ekyc.provider.ProviderPolicies;
+import com.coding.interview.ekyc.provider.ProviderPolicy;
+import com.coding.interview.ekyc.provider.VerificationProvider;
+import com.coding.interview.ekyc.ratelimit.AdaptiveConcurrencyLimiter;
+import com.coding.interview.ekyc.ratelimit.RateLimiter;
+import com.coding.interview.ekyc.retry.RetryHandler;
+import com.coding.interview.ekyc.transport.ProviderTransport;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProviderExecutorTest {
+    private static final String SERVICE_NAME = "TestProvider";
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private final MockEnvironment environment = new MockEnvironment();
+    private final BulkheadRegistry bulkheads = new BulkheadRegistry(environment);
+    private final RateLimiter rateLimiter = new RateLimiter();
+    private volatile int responseStatus = 200;
+    private HttpServer stub;
+    private ProviderTransport transport;
+    private ProviderExecutor executor;
+
+    @BeforeEach
+    void startStub() throws Exception {
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        stub = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        stub.createContext("/verify", exchange -> {
+            requests.incrementAndGet();
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "{\"status\":\"PASS\",\"confidence\":90,\"reasons\":[\"Verified\"]}"
+                .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(responseStatus, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        stub.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        stub.start();
+
+        transport = new ProviderTransport(environment);
+        transport.registerEndpoints(SERVICE_NAME,
+            List.of("http://localhost:" + stub.getAddress().getPort() + "/verify"));
+    }
+
+    @AfterEach
+    void stopStub() {
+        transport.close();
+        stub.stop(0);
+    }
+
+    @Test
+    void concurrentCallsWithTheSameIdentityShareOneProviderCall() throws Exception {
+        TestProvider provider = new TestProvider();
+        executor = executor();
+
+        List<Future<VerificationResult>> results = new ArrayList<>();
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 5; i++) {
+                String correlationId = "c" + i;
+                results.add(callers.submit(() -> executor.execute(provider, call(correlationId))));
+            }
+        }
+
+        for (Future<VerificationResult> result : results) {
+            assertThat(result.get().status()).isEqualTo(VerificationStatus.PASS);
+        }
+        assertThat(requests).hasValue(1);
+        assertThat(provider.stored).hasValue(1);
+    }
+
+    @Test
+    void cachedResultAnswersWithoutCallingTheProvider() {
+        TestProvider provider = new TestProvider();
+        provider.cached = Optional.of(result(VerificationStatus.PASS));
+        executor = executor();
+
+        assertThat(executor.execute(provider, call("c1")).status()).isEqualTo(VerificationStatus.PASS);
+        assertThat(requests).hasValue(0);
+    }
+
+    @Test
+    void configuredPolicyOverridesTheProviderDefaults() {
+        environment.setProperty("ekyc.provider." + SERVICE_NAME + ".max-retries", "1");
+        responseStatus = 500;
+        executor = executor();
+
+        VerificationResult result = executor.execute(new TestProvider(), call("c1"));
+
+        assertThat(result.status()).isEqualTo(VerificationStatus.FAIL);
+        assertThat(result.reasons()).singleElement().asString().startsWith("Service unavailable");
+        assertThat(requests).hasValue(1);
+    }
+
+    @Test
+    void blobWithoutAMediaEndpointFailsBeforeTakingASlotOrRetrying() {
+        TestProvider provider = new TestProvider();
+        provider.image = "blob:sha256:" + "ab".repeat(32);
+        executor = executor();
+
+        VerificationResult result = executor.execute(provider, call("c1"));
+
+        assertThat(result.status()).isEqualTo(VerificationStatus.FAIL);
+        assertThat(bulkheads.forService(SERVICE_NAME).getAcceptedCount()).isZero();
+        assertThat(requests).hasValue(0);
+    }
+
+    @Test
+    void backgroundCallsWaitingForQuotaDoNotHoldTheSlotsAnInteractiveCallNeeds() throws Exception {
+        environment.setProperty("ekyc.bulkhead." + SERVICE_NAME + ".max-concurrent", "2");
+        environment.setProperty("ekyc.bulkhead." + SERVICE_NAME + ".max-wait-ms", "200");
+        executor = executor();
+        TestProvider provider = new TestProvider();
+        provider.identity = false;
+        while (rateLimiter.tryAcquire(SERVICE_NAME, VerificationPriority.BATCH)) {
+            // use up the batch lane and the shared pool, leaving the interactive reservation
+        }
+
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 3; i++) {
+                String correlationId = "batch" + i;
+                callers.submit(() -> executor.execute(provider,
+                    call(correlationId, VerificationPriority.BATCH, Duration.ofSeconds(1))));
+            }
+            Thread.sleep(100);
+
+            VerificationResult interactive = executor.execute(provider,
+                call("interactive", VerificationPriority.INTERACTIVE, Duration.ofSeconds(5)));
+
+            assertThat(interactive.status()).isEqualTo(VerificationStatus.PASS);
+            assertThat(requests).hasValue(1);
+        }
+    }
+
+    @Test
+    void cancelledCallGivesItsPermitBackOnlyIfNothingWasSent() throws Exception {
+        environment.setProperty("ekyc.bulkhead." + SERVICE_NAME + ".max-concurrent", "0");
+        environment.setProperty("ekyc.bulkhead." + SERVICE_NAME + ".max-wait-ms", "10000");
+        executor = executor();
+
+        // Holds a permit while queued in the bulkhead, nothing sent yet
+        Thread queued = Thread.ofVirtual().start(() -> executor.execute(new TestProvider(), call("c1")));
+        waitUntil(() -> bulkheads.forService(SERVICE_NAME).getQueuedCount() == 1);
+        queued.interrupt();
+        queued.join(5000);
+
+        assertThat(requests).hasValue(0);
+        assertThat(freePermits(rateLimiter)).isEqualTo(freePermits(new RateLimiter()));
+    }
+
+    @Test
+    void cancelledCallKeepsItsPermitSpentOnceTheRequestWentOut() throws Exception {
+        executor = executor();
+
+        Thread inFlight = Thread.ofVirtual().start(() -> executor.execute(new TestProvider(), call("c1")));
+        waitUntil(() -> requests.get() == 1);
+        inFlight.interrupt();
+        inFlight.join(5000);
+
+        assertThat(freePermits(rateLimiter)).isEqualTo(freePermits(new RateLimiter()) - 1);
+    }
+
+    @Test
+    void documentAndAddressCallsAreOnlySharedForIdenticalPayloads() {
+        DocumentVerificationClient document = new DocumentVerificationClient(null, null, null, null);
+        AddressVerificationClient address = new AddressVerificationClient(null, null, null, null);
+        ProviderCall call = payloadCall("CUST-001", "blob:sha256:aa");
+        ProviderCall sameInput = payloadCall("CUST-001", "blob:sha256:aa");
+        ProviderCall otherCustomer = payloadCall("CUST-002", "blob:sha256:aa");
+        ProviderCall otherImages = payloadCall("CUST-001", "blob:sha256:bb");
+
+        for (VerificationProvider<?, ?> provider : List.of(document, address)) {
+            assertThat(provider.identity(sameInput)).isEqualTo(provider.identity(call));
+            assertThat(provider.identity(otherCustomer)).isNotEqualTo(provider.identity(call));
+            assertThat(provider.identity(otherImages)).isNotEqualTo(provider.identity(call));
+        }
+    }
+
+    @Test
+    void scoresMissingFromTheResponseStayAbsent() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        AddressVerificationResponseDto address =
+            objectMapper.readValue("{\"status\":\"PASS\"}", AddressVerificationResponseDto.class);
+        SanctionsResponseDto sanctions =
+            objectMapper.readValue("{\"status\":\"CLEAR\"}", SanctionsResponseDto.class);
+
+        VerificationResult addressResult =
+            new AddressVerificationClient(null, null, null, null).toResult(address, call("c1"));
+        VerificationResult sanctionsResult = new SanctionsScreeningClient(null, null).toResult(sanctions, call("c1"));
+
+        assertThat(addressResult.hasConfidence()).isFalse();
+        assertThat(sanctionsResult.hasMatchCount()).isFalse();
+    }
+
+    private ProviderExecutor executor() {
+        HttpClientWrapper httpClient =
+            new HttpClientWrapper(transport, new ObjectMapper(), new AdaptiveConcurrencyLimiter());
+        return new ProviderExecutor(
+            httpClient,
+            rateLimiter,
+            new RetryHandler(),
+            bulkheads,
+            new BlobReferenceResolver(new BlobStore(), httpClient, environment),
+            new HedgedRequestExecutor(new LatencyTracker(), rateLimiter),
+            new ProviderPolicies(environment));
+    }
+
+    private static int freePermits(RateLimiter limiter) {
+        int free = 0;
+        while (limiter.tryAcquire(SERVICE_NAME, VerificationPriority.INTERACTIVE)) {
+            free++;
+        }
+        return free;
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met within 5s").isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    private static ProviderCall call(String correlationId) {
+        return call(correlationId, VerificationPriority.INTERACTIVE, Duration.ofSeconds(10));
+    }
+
+    private static ProviderCall call(String correlationId, VerificationPriority priority, Duration timeout) {
+        return new ProviderCall(
+            Customer.builder().customerId("CUST-001").build(),
+            VerificationRequest.builder().requestId(correlationId).priority(priority).build(),
+            Deadline.after(timeout),
+            correlationId);
+    }
+
+    private static ProviderCall payloadCall(String customerId, String image) {
+        return new ProviderCall(
+            Customer.builder().customerId(customerId).address("1 High St").build(),
+            VerificationRequest.builder()
+                .documentType("PASSPORT").documentNumber("AB123456").expiryDate("2031-06-30").documentImageUrl(image)
+                .proofType("UTILITY_BILL").proofDate("2030-11-01").proofUrl(image)
+                .build(),
+            Deadline.none(),
+            customerId);
+    }
+
+    private static VerificationResult result(VerificationStatus status) {
+        return VerificationResult.builder()
+            .verificationType(VerificationType.ADDRESS)
+            .status(status)
+            .confidence(90)
+            .timestamp(Instant.now())
+            .build();
+    }
+
+    private static class TestProvider implements VerificationProvider<Map<String, String>, AddressVerificationResponseDto> {
+        private final AtomicInteger stored = new AtomicInteger();
+        private Optional<VerificationResult> cached = Optional.empty();
+        private String image = "https://example.com/proof.jpg";
+        private boolean identity = true;
+
+        @Override
+        public String serviceName() {
+            return SERVICE_NAME;
+        }
+
+        @Override
+        public VerificationType type() {
+            return VerificationType.ADDRESS;
+        }
+
+        @Override
+        public ProviderPolicy defaultPolicy() {
+            return ProviderPolicy.of(Duration.ofSeconds(2), false);
+        }
+
+        @Override
+        public Class<AddressVerificationResponseDto> responseType() {
+            return AddressVerificationResponseDto.class;
+        }
+
+        @Override
+        public RequestBuilder<Map<String, String>> prepare(ProviderCall call) {
+            return uploads -> Map.of("customerId", call.customer().getCustomerId(), "proofUrl", uploads.upload(image));
+        }
+
+        @Override
+        public VerificationResult toResult(AddressVerificationResponseDto response, ProviderCall call) {
+            return result(VerificationStatus.valueOf(response.getStatus()));
+        }
+
+        @Override
+        public Optional<VerificationResult> cached(ProviderCall call) {
+            return cached;
+        }
+
+        @Override
+        public void store(ProviderCall call, VerificationResult result) {
+            stored.incrementAndGet();
+        }
+
+        @Override
+        public Optional<String> identity(ProviderCall call) {
+            return identity ? Optional.of(call.customer().getCustomerId()) : Optional.empty();
+        }
+    }
+}
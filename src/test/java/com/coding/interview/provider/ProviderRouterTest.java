@@ -0,0 +1,210 @@
+package com.coding.interview.provider;
+
+import com.coding.interview.ekyc.admission.Deadline;
+import com.coding.interview.ekyc.blob.BlobReferenceResolver;
+import com.coding.interview.ekyc.blob.BlobStore;
+import com.coding.interview.ekyc.bulkhead.BulkheadRegistry;
+import com.coding.interview.ekyc.client.HttpClientWrapper;
+import com.coding.interview.ekyc.client.dto.AddressVerificationResponseDto;
+import com.coding.interview.ekyc.hedge.HedgedRequestExecutor;
+import com.coding.interview.ekyc.metrics.LatencyTracker;
+import com.coding.interview.ekyc.model.Customer;
+import com.coding.interview.ekyc.model.VerificationRequest;
+import com.coding.interview.ekyc.model.VerificationResult;
+import com.coding.interview.ekyc.model.VerificationStatus;
+import com.coding.interview.ekyc.model.VerificationType;
+import com.coding.interview.ekyc.provider.ProviderCall;
+import com.coding.interview.ekyc.provider.ProviderExecutor;
+import com.coding.interview.ekyc.provider.ProviderPolicies;
+import com.coding.interview.ekyc.provider.ProviderPolicy;
+import com.coding.interview.ekyc.provider.ProviderRouter;
+import com.coding.interview.ekyc.provider.VerificationProvider;
+import com.coding.interview.ekyc.ratelimit.AdaptiveConcurrencyLimiter;
+import com.coding.interview.ekyc.ratelimit.RateLimiter;
+import com.coding.interview.ekyc.retry.RetryHandler;
+import com.coding.interview.ekyc.transport.ProviderTransport;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProviderRouterTest {
+    private static final String PRIMARY = "PrimaryAddressService";
+    private static final String SECONDARY = "SecondaryAddressService";
+
+    private final AtomicInteger primaryRequests = new AtomicInteger();
+    private final AtomicInteger secondaryRequests = new AtomicInteger();
+    private final MockEnvironment environment = new MockEnvironment();
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter = new AdaptiveConcurrencyLimiter();
+    private final RateLimiter rateLimiter = new RateLimiter();
+    private volatile int primaryStatus = 200;
+    private volatile long primaryDelayMillis = 0;
+    private HttpServer stub;
+    private ProviderTransport transport;
+
+    @BeforeEach
+    void startStub() throws Exception {
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        stub = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        stub.createContext("/primary", exchange -> {
+            primaryRequests.incrementAndGet();
+            respond(exchange, primaryStatus, primaryDelayMillis);
+        });
+        stub.createContext("/secondary", exchange -> {
+            secondaryRequests.incrementAndGet();
+            respond(exchange, 200, 0);
+        });
+        stub.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        stub.start();
+
+        String baseUrl = "http://localhost:" + stub.getAddress().getPort();
+        environment.setProperty("ekyc.routing.address.vendors", PRIMARY + "," + SECONDARY);
+        environment.setProperty("ekyc.vendor." + SECONDARY + ".url", baseUrl + "/secondary");
+        environment.setProperty("ekyc.provider." + PRIMARY + ".max-retries", "1");
+        transport = new ProviderTransport(environment);
+        transport.registerEndpoints(PRIMARY, List.of(baseUrl + "/primary"));
+    }
+
+    @AfterEach
+    void stopStub() {
+        transport.close();
+        stub.stop(0);
+    }
+
+    @Test
+    void unavailablePrimaryFailsOverToTheNextVendor() {
+        primaryStatus = 500;
+        ProviderRouter router = router();
+
+        VerificationResult result = router.execute(new TestProvider(), call("c1"));
+
+        assertThat(result.status()).isEqualTo(VerificationStatus.PASS);
+        assertThat(primaryRequests).hasValue(1);
+        assertThat(secondaryRequests).hasValue(1);
+        assertThat(router.getErrorRate(PRIMARY)).isGreaterThan(0);
+    }
+
+    @Test
+    void exhaustedPrimaryQuotaSendsCallsOnWithoutWaiting() {
+        ProviderRouter router = router();
+        while (rateLimiter.tryAcquire(PRIMARY)) {
+            // use up the primary vendor's window
+        }
+
+        long start = System.nanoTime();
+        VerificationResult result = router.execute(new TestProvider(), call("c1"));
+
+        assertThat(result.status()).isEqualTo(VerificationStatus.PASS);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+        assertThat(primaryRequests).hasValue(0);
+        assertThat(secondaryRequests).hasValue(1);
+        assertThat(router.getErrorRate(PRIMARY)).isZero();
+    }
+
+    @Test
+    void lowestLatencyStrategyPrefersTheFasterVendor() {
+        environment.setProperty("ekyc.routing.address.strategy", "lowest_latency");
+        primaryDelayMillis = 150;
+        ProviderRouter router = router();
+
+        // Both vendors are measured first, then the faster one takes the calls
+        for (int i = 0; i < 5; i++) {
+            assertThat(router.execute(new TestProvider(), call("c" + i)).status()).isEqualTo(VerificationStatus.PASS);
+        }
+
+        assertThat(primaryRequests).hasValue(1);
+        assertThat(secondaryRequests).hasValue(4);
+    }
+
+    private ProviderRouter router() {
+        HttpClientWrapper httpClient = new HttpClientWrapper(transport, new ObjectMapper(), concurrencyLimiter);
+        ProviderExecutor executor = new ProviderExecutor(
+            httpClient,
+            rateLimiter,
+            new RetryHandler(),
+            new BulkheadRegistry(environment),
+            new BlobReferenceResolver(new BlobStore(), httpClient, environment),
+            new HedgedRequestExecutor(new LatencyTracker(), rateLimiter),
+            new ProviderPolicies(environment));
+        ProviderRouter router = new ProviderRouter(executor, transport, concurrencyLimiter, environment);
+        ReflectionTestUtils.invokeMethod(router, "registerVendors");
+        return router;
+    }
+
+    private static void respond(HttpExchange exchange, int status, long delayMillis) throws IOException {
+        try {
+            Thread.sleep(delayMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        byte[] body = "{\"status\":\"PASS\",\"confidence\":90,\"reasons\":[\"Verified\"]}"
+            .getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        exchange.getResponseBody().write(body);
+        exchange.close();
+    }
+
+    private static ProviderCall call(String correlationId) {
+        return new ProviderCall(
+            Customer.builder().customerId("CUST-001").build(),
+            VerificationRequest.builder().requestId(correlationId).build(),
+            Deadline.after(Duration.ofSeconds(10)),
+            correlationId);
+    }
+
+    private static class TestProvider implements VerificationProvider<Map<String, String>, AddressVerificationResponseDto> {
+
+        @Override
+        public String serviceName() {
+            return PRIMARY;
+        }
+
+        @Override
+        public VerificationType type() {
+            return VerificationType.ADDRESS;
+        }
+
+        @Override
+        public ProviderPolicy defaultPolicy() {
+            return ProviderPolicy.of(Duration.ofSeconds(2), false);
+        }
+
+        @Override
+        public Class<AddressVerificationResponseDto> responseType() {
+            return AddressVerificationResponseDto.class;
+        }
+
+        @Override
+        public RequestBuilder<Map<String, String>> prepare(ProviderCall call) {
+            return uploads -> Map.of("customerId", call.customer().getCustomerId());
+        }
+
+        @Override
+        public VerificationResult toResult(AddressVerificationResponseDto response, ProviderCall call) {
+            return VerificationResult.builder()
+                .verificationType(VerificationType.ADDRESS)
+                .status(VerificationStatus.valueOf(response.getStatus()))
+                .confidence(response.getConfidence() != null
+                    ? response.getConfidence() : VerificationResult.NO_CONFIDENCE)
+                .timestamp(Instant.now())
+                .build();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.coding.interview.ratelimit;
+
+import com.coding.interview.ekyc.ratelimit.AdaptiveConcurrencyLimiter;
+import com.coding.interview.ekyc.ratelimit.ConcurrencyLimitExceededException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdaptiveConcurrencyLimiterTest {
+    private static final String SERVICE_NAME = "DocumentVerificationService";
+    private static final Duration LATENCY = Duration.ofMillis(50);
+
+    private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter();
+
+    @Test
+    void healthyResponsesGrowTheLimitByAboutOnePerRoundTrip() throws Exception {
+        assertThat(limiter.getLimit(SERVICE_NAME)).isEqualTo(4);
+
+        // Each healthy call adds 1/limit, so about a limit's worth of calls adds one
+        completeCalls(5);
+        assertThat(limiter.getLimit(SERVICE_NAME)).isEqualTo(5);
+        completeCalls(5);
+        assertThat(limiter.getLimit(SERVICE_NAME)).isEqualTo(6);
+        assertThat(limiter.getInFlight(SERVICE_NAME)).isZero();
+    }
+
+    @Test
+    void droppedAndSlowCallsCutTheLimit() throws Exception {
+        completeCalls(20);
+        int grown = limiter.getLimit(SERVICE_NAME);
+
+        limiter.acquire(SERVICE_NAME);
+        limiter.onDropped(SERVICE_NAME);
+        int afterDrop = limiter.getLimit(SERVICE_NAME);
+        assertThat(afterDrop).isLessThan(grown).isGreaterThanOrEqualTo((int) (grown * 0.7));
+
+        limiter.acquire(SERVICE_NAME);
+        limiter.onSuccess(SERVICE_NAME, LATENCY.multipliedBy(3));
+        assertThat(limiter.getLimit(SERVICE_NAME)).isLessThan(afterDrop);
+
+        for (int i = 0; i < 10; i++) {
+            limiter.acquire(SERVICE_NAME);
+            limiter.onDropped(SERVICE_NAME);
+        }
+        assertThat(limiter.getLimit(SERVICE_NAME)).isEqualTo(1);
+    }
+
+    @Test
+    void callsOverTheLimitTimeOutInTheQueue() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            limiter.acquire(SERVICE_NAME);
+        }
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> limiter.acquire(SERVICE_NAME))
+            .isInstanceOf(ConcurrencyLimitExceededException.class)
+            .hasMessageContaining("Timed out");
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofSeconds(2));
+        assertThat(limiter.getInFlight(SERVICE_NAME)).isEqualTo(4);
+    }
+
+    @Test
+    void resetKeepsTheCallsInFlight() throws Exception {
+        completeCalls(20);
+        limiter.acquire(SERVICE_NAME);
+        limiter.acquire(SERVICE_NAME);
+
+        limiter.reset(SERVICE_NAME);
+        assertThat(limiter.getLimit(SERVICE_NAME)).isEqualTo(4);
+        assertThat(limiter.getLatency(SERVICE_NAME)).isZero();
+        assertThat(limiter.getInFlight(SERVICE_NAME)).isEqualTo(2);
+
+        limiter.onIgnored(SERVICE_NAME);
+        limiter.onIgnored(SERVICE_NAME);
+        assertThat(limiter.getInFlight(SERVICE_NAME)).isZero();
+    }
+
+    private void completeCalls(int count) throws Exception {
+        for (int i = 0; i < count; i++) {
+            limiter.acquire(SERVICE_NAME);
+            limiter.onSuccess(SERVICE_NAME, LATENCY);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.coding.interview.ratelimit;
+
+import com.coding.interview.ekyc.model.VerificationPriority;
+import com.coding.interview.ekyc.ratelimit.JdbcRateLimitBackend;
+import com.coding.interview.ekyc.ratelimit.RateLimiter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs two "replicas" against one in-memory H2 database standing in for the shared store,
+ * through the constructor that skips the embedded-database check.
+ */
+class JdbcRateLimitBackendTest {
+    private static final String SERVICE_NAME = "SanctionsScreeningService";
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-01-01T10:00:30Z"), ZoneOffset.UTC);
+
+    private DriverManagerDataSource dataSource;
+    private RateLimiter replicaA;
+    private RateLimiter replicaB;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:ratelimit;DB_CLOSE_DELAY=-1", "sa", "");
+        replicaA = new RateLimiter(newBackend(2));
+        replicaB = new RateLimiter(newBackend(2));
+    }
+
+    @AfterEach
+    void tearDown() {
+        replicaA.resetAll();
+    }
+
+    @Test
+    void replicasShareOneProviderQuota() {
+        int granted = 0;
+        for (int i = 0; i < 20; i++) {
+            granted += replicaA.tryAcquire(SERVICE_NAME) ? 1 : 0;
+            granted += replicaB.tryAcquire(SERVICE_NAME) ? 1 : 0;
+        }
+
+        // Interactive may use its reservation plus the shared pool, never more than the provider quota
+        assertThat(granted).isEqualTo(8);
+    }
+
+    @Test
+    void batchOnOneReplicaCannotStarveInteractiveOnAnother() {
+        while (replicaA.tryAcquire(SERVICE_NAME, VerificationPriority.BATCH)) {
+            // drain batch quota
+        }
+
+        int interactive = 0;
+        while (replicaB.tryAcquire(SERVICE_NAME, VerificationPriority.INTERACTIVE)) {
+            interactive++;
+        }
+        assertThat(interactive).isGreaterThanOrEqualTo(3);
+    }
+
+    @Test
+    void concurrentAcquisitionsNeverExceedQuota() throws Exception {
+        List<RateLimiter> replicas = List.of(replicaA, replicaB, new RateLimiter(newBackend(3)));
+        AtomicInteger granted = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(12);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 60; i++) {
+                RateLimiter replica = replicas.get(i % replicas.size());
+                VerificationPriority priority = VerificationPriority.values()[i % VerificationPriority.values().length];
+                futures.add(executor.submit(() -> {
+                    if (replica.tryAcquire(SERVICE_NAME, priority)) {
+                        granted.incrementAndGet();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(granted.get()).isBetween(1, 10);
+    }
+
+    @Test
+    void leasedPermitsAreServedLocally() {
+        AtomicInteger statements = new AtomicInteger();
+        DriverManagerDataSource counting = new DriverManagerDataSource(
+            "jdbc:h2:mem:ratelimit;DB_CLOSE_DELAY=-1", "sa", "") {
+            @Override
+            public Connection getConnection() throws SQLException {
+                statements.incrementAndGet();
+                return super.getConnection();
+            }
+        };
+        JdbcRateLimitBackend backend = new JdbcRateLimitBackend(counting, 4, CLOCK);
+        backend.createTable();
+        RateLimiter limiter = new RateLimiter(backend);
+
+        limiter.tryAcquire(SERVICE_NAME);
+        int afterFirstLease = statements.get();
+        // The lease is capped by the interactive reservation of 3
+        for (int i = 0; i < 2; i++) {
+            assertThat(limiter.tryAcquire(SERVICE_NAME)).isTrue();
+        }
+
+        assertThat(statements.get()).isEqualTo(afterFirstLease);
+    }
+
+    @Test
+    void sharedPoolPermitsAreNotHandedOutLocallyWhileAHigherClassWaits() {
+        JdbcRateLimitBackend backend = newBackend(4);
+        VerificationPriority batch = VerificationPriority.BATCH;
+
+        // Batch's one reserved permit, then one from the shared pool
+        assertThat(backend.tryAcquire(SERVICE_NAME, batch, false)).isTrue();
+        assertThat(backend.tryAcquire(SERVICE_NAME, batch, false)).isTrue();
+        assertThat(backend.tryAcquire(SERVICE_NAME, batch, true)).isFalse();
+
+        backend.release(SERVICE_NAME, batch);
+        assertThat(backend.tryAcquire(SERVICE_NAME, batch, true)).isFalse();
+        assertThat(backend.tryAcquire(SERVICE_NAME, batch, false)).isTrue();
+    }
+
+    @Test
+    void refusesAnEmbeddedDatabaseWhenWiredBySpring() {
+        assertThatThrownBy(() -> new JdbcRateLimitBackend(dataSource, 2))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("spring.datasource.url");
+    }
+
+    private JdbcRateLimitBackend newBackend(int leaseSize) {
+        JdbcRateLimitBackend backend = new JdbcRateLimitBackend(dataSource, leaseSize, CLOCK);
+        backend.createTable();
+        return backend;
+    }
+}
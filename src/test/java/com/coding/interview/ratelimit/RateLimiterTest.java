@@ -0,0 +1,64 @@
+package com.coding.interview.ratelimit;
+
+import com.coding.interview.ekyc.model.VerificationPriority;
+import com.coding.interview.ekyc.ratelimit.RateLimiter;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTest {
+    private static final String SERVICE_NAME = "SanctionsScreeningService";
+
+    private final RateLimiter rateLimiter = new RateLimiter();
+
+    @Test
+    void batchCannotConsumeInteractiveReservation() {
+        assertThat(acquireAll(VerificationPriority.BATCH)).isEqualTo(6);
+
+        assertThat(acquireAll(VerificationPriority.INTERACTIVE)).isEqualTo(3);
+        assertThat(acquireAll(VerificationPriority.REVERIFICATION)).isEqualTo(1);
+    }
+
+    @Test
+    void interactiveKeepsBackgroundMinimumShares() {
+        assertThat(acquireAll(VerificationPriority.INTERACTIVE)).isEqualTo(8);
+
+        assertThat(acquireAll(VerificationPriority.REVERIFICATION)).isEqualTo(1);
+        assertThat(acquireAll(VerificationPriority.BATCH)).isEqualTo(1);
+    }
+
+    @Test
+    void waitingInteractiveCallerTakesSharedQuotaBeforeBatch() throws Exception {
+        assertThat(acquireAll(VerificationPriority.INTERACTIVE)).isEqualTo(8);
+        assertThat(acquireAll(VerificationPriority.BATCH)).isEqualTo(1);
+
+        Thread waiter = Thread.ofVirtual().start(() -> {
+            try {
+                rateLimiter.acquire(SERVICE_NAME, VerificationPriority.INTERACTIVE);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        Thread.sleep(200);
+
+        // A shared permit comes back while the interactive caller is queued
+        rateLimiter.release(SERVICE_NAME, VerificationPriority.INTERACTIVE);
+        assertThat(rateLimiter.tryAcquire(SERVICE_NAME, VerificationPriority.BATCH)).isFalse();
+
+        waiter.join(3000);
+        assertThat(waiter.isAlive()).isFalse();
+    }
+
+    @Test
+    void missingPriorityIsTreatedAsInteractive() {
+        assertThat(acquireAll(null)).isEqualTo(8);
+    }
+
+    private int acquireAll(VerificationPriority priority) {
+        int granted = 0;
+        while (rateLimiter.tryAcquire(SERVICE_NAME, priority)) {
+            granted++;
+        }
+        return granted;
+    }
+}
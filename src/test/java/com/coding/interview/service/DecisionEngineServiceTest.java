@@ -1 +1,88 @@
+package com.coding.interview.service;
 
+import com.coding.interview.ekyc.model.KYCDecision;
+import com.coding.interview.ekyc.model.VerificationResult;
+import com.coding.interview.ekyc.model.VerificationStatus;
+import com.coding.interview.ekyc.model.VerificationType;
+import com.coding.interview.ekyc.service.DecisionEngineService;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DecisionEngineServiceTest {
+
+    private final DecisionEngineService decisionEngine = new DecisionEngineService();
+
+    @Test
+    void expiredDocumentSettlesRejectionWhileOtherChecksPending() {
+        List<VerificationResult> results = List.of(
+            result(VerificationType.SANCTIONS, VerificationStatus.CLEAR, 100),
+            result(VerificationType.ID_DOCUMENT, VerificationStatus.FAIL, 0, "Document expired"));
+
+        Optional<KYCDecision> decision = decisionEngine.decideEarly(
+            results, EnumSet.of(VerificationType.FACE_MATCH, VerificationType.ADDRESS), "test");
+
+        assertThat(decision).contains(KYCDecision.REJECTED);
+    }
+
+    @Test
+    void expiredDocumentIsNotConclusiveWhileSanctionsPending() {
+        List<VerificationResult> results = List.of(
+            result(VerificationType.ID_DOCUMENT, VerificationStatus.FAIL, 0, "Document expired"));
+
+        Optional<KYCDecision> decision = decisionEngine.decideEarly(
+            results, EnumSet.of(VerificationType.SANCTIONS), "test");
+
+        assertThat(decision).isEmpty();
+    }
+
+    @Test
+    void manualReviewIsNotConclusiveWhileChecksPending() {
+        List<VerificationResult> results = List.of(
+            result(VerificationType.SANCTIONS, VerificationStatus.CLEAR, 100),
+            result(VerificationType.FACE_MATCH, VerificationStatus.PASS, 70));
+
+        Optional<KYCDecision> decision = decisionEngine.decideEarly(
+            results, EnumSet.of(VerificationType.ID_DOCUMENT), "test");
+
+        assertThat(decision).isEmpty();
+    }
+
+    @Test
+    void sanctionsHitIsConclusive() {
+        List<VerificationResult> results = List.of(
+            result(VerificationType.SANCTIONS, VerificationStatus.HIT, 100));
+
+        Optional<KYCDecision> decision = decisionEngine.decideEarly(
+            results, EnumSet.of(VerificationType.ID_DOCUMENT, VerificationType.FACE_MATCH), "test");
+
+        assertThat(decision).contains(KYCDecision.REJECTED);
+    }
+
+    @Test
+    void passesWithoutAConfidenceAreNotHeldToTheThresholds() {
+        List<VerificationResult> results = List.of(
+            result(VerificationType.SANCTIONS, VerificationStatus.CLEAR, 100),
+            result(VerificationType.ID_DOCUMENT, VerificationStatus.PASS, VerificationResult.NO_CONFIDENCE),
+            result(VerificationType.FACE_MATCH, VerificationStatus.PASS, VerificationResult.NO_CONFIDENCE),
+            result(VerificationType.ADDRESS, VerificationStatus.PASS, VerificationResult.NO_CONFIDENCE));
+
+        assertThat(decisionEngine.makeDecision(results, "test")).isEqualTo(KYCDecision.APPROVED);
+    }
+
+    private static VerificationResult result(
+            VerificationType type, VerificationStatus status, int confidence, String... reasons) {
+        return VerificationResult.builder()
+            .verificationType(type)
+            .status(status)
+            .confidence(confidence)
+            .reasons(List.of(reasons))
+            .timestamp(Instant.now())
+            .build();
+    }
+}
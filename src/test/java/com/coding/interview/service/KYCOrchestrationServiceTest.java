@@ -0,0 +1,350 @@
+package com.coding.interview.service;
+
+import com.coding.interview.ekyc.admission.AdmissionController;
+import com.coding.interview.ekyc.admission.Deadline;
+import com.coding.interview.ekyc.blob.BlobReferenceResolver;
+import com.coding.interview.ekyc.blob.BlobStore;
+import com.coding.interview.ekyc.bulkhead.BulkheadRegistry;
+import com.coding.interview.ekyc.client.AddressVerificationClient;
+import com.coding.interview.ekyc.client.BiometricVerificationClient;
+import com.coding.interview.ekyc.client.DocumentVerificationClient;
+import com.coding.interview.ekyc.client.HttpClientWrapper;
+import com.coding.interview.ekyc.client.SanctionsScreeningClient;
+import com.coding.interview.ekyc.client.dto.AddressVerificationResponseDto;
+import com.coding.interview.ekyc.hedge.HedgedRequestExecutor;
+import com.coding.interview.ekyc.journal.VerificationJournal;
+import com.coding.interview.ekyc.metrics.LatencyTracker;
+import com.coding.interview.ekyc.model.Customer;
+import com.coding.interview.ekyc.model.KYCDecision;
+import com.coding.interview.ekyc.model.KYCDecisionResult;
+import com.coding.interview.ekyc.model.Reasons;
+import com.coding.interview.ekyc.model.VerificationPriority;
+import com.coding.interview.ekyc.model.VerificationRequest;
+import com.coding.interview.ekyc.model.VerificationResult;
+import com.coding.interview.ekyc.model.VerificationStatus;
+import com.coding.interview.ekyc.model.VerificationType;
+import com.coding.interview.ekyc.plan.VerificationPlanCompiler;
+import com.coding.interview.ekyc.provider.ProviderCall;
+import com.coding.interview.ekyc.provider.ProviderExecutor;
+import com.coding.interview.ekyc.provider.ProviderPolicies;
+import com.coding.interview.ekyc.provider.ProviderPolicy;
+import com.coding.interview.ekyc.provider.VerificationProvider;
+import com.coding.interview.ekyc.ratelimit.AdaptiveConcurrencyLimiter;
+import com.coding.interview.ekyc.ratelimit.RateLimiter;
+import com.coding.interview.ekyc.retry.RetryHandler;
+import com.coding.interview.ekyc.service.DecisionEngineService;
+import com.coding.interview.ekyc.service.KYCOrchestrationService;
+import com.coding.interview.ekyc.transport.ProviderTransport;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KYCOrchestrationServiceTest {
+    private static final String BIOMETRIC = BiometricVerificationClient.SERVICE_NAME;
+    private static final String ADDRESS = AddressVerificationClient.SERVICE_NAME;
+
+    private final ExecutorService verificationExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final StubCheck sanctions = new StubCheck(VerificationType.SANCTIONS, VerificationStatus.CLEAR, 100);
+    private final StubCheck document = new StubCheck(VerificationType.ID_DOCUMENT, VerificationStatus.PASS, 95);
+    private final StubCheck biometric = new StubCheck(VerificationType.FACE_MATCH, VerificationStatus.PASS, 95);
+    private final StubCheck address = new StubCheck(VerificationType.ADDRESS, VerificationStatus.PASS, 95);
+    private final MockEnvironment environment = new MockEnvironment();
+    private final ProviderTransport transport = new ProviderTransport(environment);
+
+    @AfterEach
+    void shutdown() {
+        verificationExecutor.shutdownNow();
+        transport.close();
+    }
+
+    @Test
+    void sequentialFlowStopsOnASanctionsFailure() {
+        sanctions.status = VerificationStatus.FAIL;
+
+        KYCDecisionResult result = orchestrator(false).performVerification(customer(), request());
+
+        assertThat(result.decision()).isEqualTo(KYCDecision.MANUAL_REVIEW);
+        assertThat(result.verificationResults()).extracting(VerificationResult::verificationType)
+            .containsExactly(VerificationType.SANCTIONS);
+        assertThat(document.calls).hasValue(0);
+        assertThat(address.calls).hasValue(0);
+    }
+
+    @Test
+    void speculativeChecksRunAlongsideSanctionsAndAreKeptOnceItClears() {
+        sanctions.delay = Duration.ofMillis(300);
+
+        KYCDecisionResult result = orchestrator(true).performVerification(customer(), request());
+
+        assertThat(result.verificationResults()).extracting(VerificationResult::verificationType)
+            .containsExactlyInAnyOrder(VerificationType.SANCTIONS, VerificationType.ID_DOCUMENT,
+                VerificationType.ADDRESS);
+        // The other checks did not wait for the screening, but the decision did
+        assertThat(document.finishedNanos.get()).isLessThan(sanctions.finishedNanos.get());
+        assertThat(address.finishedNanos.get()).isLessThan(sanctions.finishedNanos.get());
+    }
+
+    @Test
+    void sanctionsHitClosesTheGateAndDiscardsSpeculativeResults() throws Exception {
+        sanctions.status = VerificationStatus.HIT;
+        sanctions.delay = Duration.ofMillis(200);
+        address.delay = Duration.ofSeconds(10);
+
+        long start = System.nanoTime();
+        KYCDecisionResult result = orchestrator(true).performVerification(customer(), request());
+
+        assertThat(result.decision()).isEqualTo(KYCDecision.REJECTED);
+        assertThat(result.verificationResults()).extracting(VerificationResult::verificationType)
+            .containsExactly(VerificationType.SANCTIONS);
+        assertThat(document.calls).hasValue(1);
+        assertThat(address.cancelled.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void sanctionsFailureDiscardsSpeculativeResultsLikeTheSequentialFlow() {
+        sanctions.status = VerificationStatus.FAIL;
+        sanctions.delay = Duration.ofMillis(200);
+
+        KYCDecisionResult speculative = orchestrator(true).performVerification(customer(), request());
+        KYCDecisionResult sequential = orchestrator(false).performVerification(customer(), request());
+
+        assertThat(speculative.decision()).isEqualTo(sequential.decision()).isEqualTo(KYCDecision.MANUAL_REVIEW);
+        assertThat(speculative.verificationResults()).extracting(VerificationResult::verificationType)
+            .containsExactly(VerificationType.SANCTIONS);
+        assertThat(document.calls).hasValue(1);
+    }
+
+    @Test
+    void checkThrowingUnexpectedlyIsReportedAsAVerificationError() {
+        address.failure = new IllegalStateException("mapping broke");
+
+        KYCDecisionResult result = orchestrator(false).performVerification(customer(), request());
+
+        assertThat(result.verificationResults())
+            .filteredOn(check -> check.verificationType() == VerificationType.ADDRESS)
+            .singleElement()
+            .satisfies(check -> {
+                assertThat(check.status()).isEqualTo(VerificationStatus.FAIL);
+                assertThat(check.reasons()).containsExactly(Reasons.VERIFICATION_ERROR + ": mapping broke");
+            });
+    }
+
+    @Test
+    void expiredDocumentAfterAClearScreeningCancelsTheOtherCallsAndReturnsTheirPermits() throws Exception {
+        // Both calls get a permit, then queue in a bulkhead with no slots: nothing is sent
+        for (String service : List.of(BIOMETRIC, ADDRESS)) {
+            environment.setProperty("ekyc.bulkhead." + service + ".max-concurrent", "0");
+            environment.setProperty("ekyc.bulkhead." + service + ".max-wait-ms", "10000");
+        }
+        RateLimiter rateLimiter = new RateLimiter();
+        BulkheadRegistry bulkheads = new BulkheadRegistry(environment);
+        ProviderExecutor providerExecutor = providerExecutor(rateLimiter, bulkheads);
+        biometric.delegate = () -> providerExecutor.execute(new QueuedProvider(BIOMETRIC, VerificationType.FACE_MATCH),
+            providerCall());
+        address.delegate = () -> providerExecutor.execute(new QueuedProvider(ADDRESS, VerificationType.ADDRESS),
+            providerCall());
+        document.status = VerificationStatus.FAIL;
+        document.reasons = List.of("Document expired");
+        document.delegate = () -> {
+            waitUntil(() -> bulkheads.forService(BIOMETRIC).getQueuedCount() == 1
+                && bulkheads.forService(ADDRESS).getQueuedCount() == 1);
+            return document.result();
+        };
+
+        KYCDecisionResult result = orchestrator(false).performVerification(customer(), VerificationRequest.builder()
+            .requestId("REQ-001")
+            .verificationTypes(List.of(VerificationType.SANCTIONS, VerificationType.ID_DOCUMENT,
+                VerificationType.FACE_MATCH, VerificationType.ADDRESS))
+            .build());
+
+        assertThat(result.decision()).isEqualTo(KYCDecision.REJECTED);
+        assertThat(result.verificationResults()).extracting(VerificationResult::verificationType)
+            .containsExactlyInAnyOrder(VerificationType.SANCTIONS, VerificationType.ID_DOCUMENT);
+        int fullQuota = freePermits(new RateLimiter(), BIOMETRIC);
+        waitUntil(() -> bulkheads.forService(BIOMETRIC).getQueuedCount() == 0
+            && bulkheads.forService(ADDRESS).getQueuedCount() == 0);
+        assertThat(freePermits(rateLimiter, BIOMETRIC)).isEqualTo(fullQuota);
+        assertThat(freePermits(rateLimiter, ADDRESS)).isEqualTo(fullQuota);
+    }
+
+    private KYCOrchestrationService orchestrator(boolean speculativeSanctions) {
+        KYCOrchestrationService orchestrator = new KYCOrchestrationService(
+            new DocumentVerificationClient(null, null, null, null) {
+                @Override
+                public VerificationResult verify(Customer customer, VerificationRequest request, Deadline deadline,
+                                                 String correlationId) {
+                    return document.answer();
+                }
+            },
+            new BiometricVerificationClient(null, null, null) {
+                @Override
+                public VerificationResult verify(Customer customer, VerificationRequest request, Deadline deadline,
+                                                 String correlationId) {
+                    return biometric.answer();
+                }
+            },
+            new AddressVerificationClient(null, null, null, null) {
+                @Override
+                public VerificationResult verify(Customer customer, VerificationRequest request, Deadline deadline,
+                                                 String correlationId) {
+                    return address.answer();
+                }
+            },
+            new SanctionsScreeningClient(null, null) {
+                @Override
+                public VerificationResult verify(Customer customer, VerificationRequest request, Deadline deadline,
+                                                 String correlationId) {
+                    return sanctions.answer();
+                }
+            },
+            new DecisionEngineService(),
+            verificationExecutor,
+            new VerificationJournal(new ObjectMapper()),
+            new VerificationPlanCompiler(),
+            new AdmissionController(new RateLimiter(), new AdaptiveConcurrencyLimiter()));
+        ReflectionTestUtils.setField(orchestrator, "speculativeSanctions", speculativeSanctions);
+        return orchestrator;
+    }
+
+    private ProviderExecutor providerExecutor(RateLimiter rateLimiter, BulkheadRegistry bulkheads) {
+        HttpClientWrapper httpClient =
+            new HttpClientWrapper(transport, new ObjectMapper(), new AdaptiveConcurrencyLimiter());
+        return new ProviderExecutor(
+            httpClient,
+            rateLimiter,
+            new RetryHandler(),
+            bulkheads,
+            new BlobReferenceResolver(new BlobStore(), httpClient, environment),
+            new HedgedRequestExecutor(new LatencyTracker(), rateLimiter),
+            new ProviderPolicies(environment));
+    }
+
+    private static ProviderCall providerCall() {
+        return new ProviderCall(customer(), VerificationRequest.builder().requestId("REQ-001").build(),
+            Deadline.after(Duration.ofSeconds(30)), "REQ-001");
+    }
+
+    private static int freePermits(RateLimiter rateLimiter, String service) {
+        int free = 0;
+        while (rateLimiter.tryAcquire(service, VerificationPriority.INTERACTIVE)) {
+            free++;
+        }
+        return free;
+    }
+
+    private static void waitUntil(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met within 5s").isLessThan(deadline);
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private static Customer customer() {
+        return Customer.builder().customerId("CUST-001").build();
+    }
+
+    private static VerificationRequest request() {
+        return VerificationRequest.builder()
+            .requestId("REQ-001")
+            .verificationTypes(List.of(VerificationType.SANCTIONS, VerificationType.ID_DOCUMENT,
+                VerificationType.ADDRESS))
+            .build();
+    }
+
+    /** A provider answering with a fixed result after a delay, recording how it was called. */
+    private static class StubCheck {
+        private final VerificationType type;
+        private final int confidence;
+        private final AtomicInteger calls = new AtomicInteger();
+        private final CountDownLatch cancelled = new CountDownLatch(1);
+        private final AtomicLong finishedNanos = new AtomicLong();
+        private volatile VerificationStatus status;
+        private volatile Duration delay = Duration.ZERO;
+        private volatile RuntimeException failure;
+        private volatile List<String> reasons = List.of();
+        private volatile Supplier<VerificationResult> delegate;
+
+        StubCheck(VerificationType type, VerificationStatus status, int confidence) {
+            this.type = type;
+            this.status = status;
+            this.confidence = confidence;
+        }
+
+        VerificationResult answer() {
+            calls.incrementAndGet();
+            if (failure != null) {
+                throw failure;
+            }
+            if (delegate != null) {
+                return delegate.get();
+            }
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                cancelled.countDown();
+                Thread.currentThread().interrupt();
+            }
+            finishedNanos.set(System.nanoTime());
+            return result();
+        }
+
+        VerificationResult result() {
+            return VerificationResult.builder()
+                .verificationType(type)
+                .status(status)
+                .confidence(confidence)
+                .reasons(reasons)
+                .timestamp(Instant.now())
+                .build();
+        }
+    }
+
+    /** A provider that gets as far as the bulkhead; the tests never let a request out. */
+    private record QueuedProvider(String serviceName, VerificationType type)
+            implements VerificationProvider<Map<String, String>, AddressVerificationResponseDto> {
+
+        @Override
+        public ProviderPolicy defaultPolicy() {
+            return ProviderPolicy.of(Duration.ofSeconds(2), false);
+        }
+
+        @Override
+        public Class<AddressVerificationResponseDto> responseType() {
+            return AddressVerificationResponseDto.class;
+        }
+
+        @Override
+        public RequestBuilder<Map<String, String>> prepare(ProviderCall call) {
+            return uploads -> Map.of();
+        }
+
+        @Override
+        public VerificationResult toResult(AddressVerificationResponseDto response, ProviderCall call) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
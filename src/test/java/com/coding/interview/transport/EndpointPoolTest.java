@@ -0,0 +1,69 @@
+package com.coding.interview.transport;
+
+import com.coding.interview.ekyc.transport.EndpointPool;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EndpointPoolTest {
+    private static final String SERVICE_NAME = "DocumentVerificationService";
+
+    @Test
+    void blankUrlsAreNotAnEndpoint() {
+        assertThatThrownBy(() -> new EndpointPool(SERVICE_NAME, List.of(" ", "")))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining(SERVICE_NAME);
+        assertThatThrownBy(() -> new EndpointPool(SERVICE_NAME, null))
+            .isInstanceOf(IllegalArgumentException.class);
+
+        EndpointPool pool = new EndpointPool(SERVICE_NAME, List.of(" http://a ", "", "http://b"));
+        assertThat(pool.getEndpoints()).extracting(EndpointPool.Endpoint::getUri)
+            .containsExactly(URI.create("http://a"), URI.create("http://b"));
+    }
+
+    @Test
+    void requestsGoRoundRobinOverTheEndpoints() {
+        EndpointPool pool = new EndpointPool(SERVICE_NAME, List.of("http://a", "http://b", "http://c"));
+
+        assertThat(selections(pool, 6))
+            .containsExactly("http://a", "http://b", "http://c", "http://a", "http://b", "http://c");
+    }
+
+    @Test
+    void anEndpointFailingThreeTimesInARowIsEjected() {
+        EndpointPool pool = new EndpointPool(SERVICE_NAME, List.of("http://a", "http://b"));
+        EndpointPool.Endpoint a = pool.getEndpoints().getFirst();
+
+        a.recordFailure();
+        a.recordFailure();
+        a.recordSuccess();
+        a.recordFailure();
+        assertThat(selections(pool, 2)).containsExactly("http://a", "http://b");
+
+        a.recordFailure();
+        a.recordFailure();
+        assertThat(a.isAvailable(System.nanoTime())).isFalse();
+        assertThat(selections(pool, 4)).containsOnly("http://b");
+    }
+
+    @Test
+    void aPoolWithEveryEndpointEjectedFailsOpenToTheOneDueBackFirst() {
+        EndpointPool pool = new EndpointPool(SERVICE_NAME, List.of("http://a", "http://b"));
+        for (EndpointPool.Endpoint endpoint : pool.getEndpoints()) {
+            for (int i = 0; i < 3; i++) {
+                endpoint.recordFailure();
+            }
+        }
+
+        assertThat(selections(pool, 3)).containsOnly("http://a");
+    }
+
+    private static List<String> selections(EndpointPool pool, int count) {
+        return IntStream.range(0, count).mapToObj(i -> pool.select().getUri().toString()).toList();
+    }
+}